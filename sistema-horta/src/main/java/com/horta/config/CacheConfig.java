@@ -0,0 +1,47 @@
+package com.horta.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuração dos caches de leitura (Caffeine).
+ * Tamanho, expiração e estatísticas são definidos em spring.cache.caffeine.spec;
+ * as métricas de hit/miss/eviction ficam disponíveis em /actuator/metrics/cache.*
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Planta por ID
+    public static final String PLANTAS = "plantas";
+
+    // Plantas por tipo
+    public static final String PLANTAS_POR_TIPO = "plantasPorTipo";
+
+    // Plantas por região (também usado nas sugestões por região)
+    public static final String PLANTAS_POR_REGIAO = "plantasPorRegiao";
+
+    // Resumo do dashboard (expiração própria, mais curta)
+    public static final String DASHBOARD = "dashboard";
+
+    /**
+     * Registra o cache do dashboard com TTL curto, separado da spec padrão
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> dashboardCacheCustomizer(
+            @Value("${horta.dashboard.cache-ttl-segundos:30}") long ttlSegundos) {
+        return cacheManager -> cacheManager.registerCustomCache(DASHBOARD,
+                Caffeine.newBuilder()
+                        .maximumSize(1)
+                        .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                        .recordStats()
+                        .build());
+    }
+}
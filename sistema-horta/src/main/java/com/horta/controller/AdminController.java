@@ -0,0 +1,136 @@
+package com.horta.controller;
+
+import com.horta.model.ArquivamentoCuidados;
+import com.horta.model.BloqueioAgendamento;
+import com.horta.model.NotificacaoFalha;
+import com.horta.service.ArquivamentoService;
+import com.horta.service.BuscaService;
+import com.horta.service.CoordenacaoCluster;
+import com.horta.service.EstatisticaService;
+import com.horta.service.NotificacaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller REST para tarefas administrativas
+ */
+@RestController
+@RequestMapping("/admin")
+@Tag(name = "Administração", description = "API para tarefas administrativas e de manutenção")
+@CrossOrigin(origins = "*")
+public class AdminController {
+
+    @Autowired
+    private EstatisticaService estatisticaService;
+
+    @Autowired
+    private BuscaService buscaService;
+
+    @Autowired
+    private NotificacaoService notificacaoService;
+
+    @Autowired
+    private CoordenacaoCluster coordenacaoCluster;
+
+    @Autowired
+    private ArquivamentoService arquivamentoService;
+
+    @Operation(summary = "Reconciliar estatísticas", description = "Reconstrói as estatísticas pré-agregadas a partir das plantas e cuidados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas reconciliadas com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/estatisticas/reconciliar")
+    public ResponseEntity<String> reconciliarEstatisticas() {
+        try {
+            int grupos = estatisticaService.reconciliar();
+            return ResponseEntity.ok("Estatísticas reconciliadas com sucesso! Grupos gravados: " + grupos);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Erro ao reconciliar estatísticas: " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Reindexar busca", description = "Reconstrói o índice da busca textual (somente no índice Lucene; no PostgreSQL o índice é mantido pelo banco)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Índice reconstruído com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/busca/reindexar")
+    public ResponseEntity<String> reindexarBusca() {
+        try {
+            long documentos = buscaService.reindexar();
+            return ResponseEntity.ok("Índice de busca reconstruído com sucesso! Documentos indexados: " + documentos);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Erro ao reindexar a busca: " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Listar notificações não entregues", description = "Retorna as 100 notificações mais recentes que esgotaram as tentativas de envio")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Falhas retornadas com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/notificacoes/falhas")
+    public ResponseEntity<List<NotificacaoFalha>> listarFalhasNotificacao() {
+        try {
+            return ResponseEntity.ok(notificacaoService.listarFalhas());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Listar bloqueios entre instâncias", description = "Retorna os bloqueios de tarefas agendadas, partições de alertas e heartbeats das instâncias")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bloqueios retornados com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/cluster/bloqueios")
+    public ResponseEntity<List<BloqueioAgendamento>> listarBloqueios() {
+        try {
+            return ResponseEntity.ok(coordenacaoCluster.listarBloqueios());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Arquivar cuidados antigos", description = "Move para o arquivo, em lotes, os cuidados anteriores à retenção configurada (retoma uma execução interrompida)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivamento concluído com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/cuidados/arquivar")
+    public ResponseEntity<ArquivamentoCuidados> arquivarCuidados() {
+        try {
+            return ResponseEntity.ok(arquivamentoService.arquivar());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Listar arquivamentos", description = "Retorna as 20 execuções mais recentes do arquivamento de cuidados, com o progresso de cada uma")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Execuções retornadas com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/cuidados/arquivamentos")
+    public ResponseEntity<List<ArquivamentoCuidados>> listarArquivamentos() {
+        try {
+            return ResponseEntity.ok(arquivamentoService.listarExecucoes());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -113,9 +113,9 @@ public class AlertaController {
                     📊 SISTEMA DE ALERTAS AUTOMÁTICOS
                     ═══════════════════════════════════
                     
-                    🚰 Verificação de Rega: Diariamente às 08:00
-                    ✂️ Verificação de Poda: Segundas-feiras às 09:00
-                    🌾 Verificação de Colheita: Diariamente às 18:00
+                    ⏳ Alertas pendentes: %d
+                    🔔 Alertas de Rega, Poda e Colheita: disparados no vencimento de cada planta
+                       (lembretes: rega e colheita diários, poda semanal)
                     📈 Relatório Semanal: Domingos às 20:00
                     🧹 Limpeza de Dados: Dia 1 de cada mês às 02:00
                     
@@ -127,7 +127,7 @@ public class AlertaController {
                     - POST /alertas/poda - Verifica plantas que precisam de poda
                     - POST /alertas/colheita - Verifica plantas prontas para colheita
                     - POST /alertas/relatorio - Gera relatório semanal
-                    """;
+                    """.formatted(alertaService.contarAlertasPendentes());
             
             return ResponseEntity.ok(status);
         } catch (Exception e) {
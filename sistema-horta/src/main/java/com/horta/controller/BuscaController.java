@@ -0,0 +1,48 @@
+package com.horta.controller;
+
+import com.horta.dto.ResultadoBuscaDTO;
+import com.horta.service.BuscaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller REST para a busca textual em plantas e cuidados
+ */
+@RestController
+@RequestMapping("/busca")
+@Tag(name = "Busca", description = "API de busca textual em plantas e cuidados")
+@CrossOrigin(origins = "*")
+public class BuscaController {
+
+    @Autowired
+    private BuscaService buscaService;
+
+    @Operation(summary = "Buscar", description = "Busca o termo no nome e na descrição das plantas e nas observações dos cuidados, ordenando por relevância")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultados retornados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Termo ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping
+    public ResponseEntity<List<ResultadoBuscaDTO>> buscar(
+            @Parameter(description = "Termo buscado") @RequestParam String q,
+            @Parameter(description = "Quantidade máxima de resultados (padrão 20, máximo 100)") @RequestParam(required = false) Integer limit) {
+        try {
+            List<ResultadoBuscaDTO> resultados = buscaService.buscar(q, limit);
+            return ResponseEntity.ok(resultados);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.horta.controller;
 
 import com.horta.dto.CuidadoDTO;
+import com.horta.dto.PaginaDTO;
+import com.horta.dto.ResultadoLoteDTO;
 import com.horta.model.Cuidado;
+import com.horta.repository.projecao.EstatisticaMes;
+import com.horta.repository.projecao.EstatisticaPlanta;
+import com.horta.repository.projecao.EstatisticaTipo;
 import com.horta.service.CuidadoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,12 +15,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,9 +43,21 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class CuidadoController {
 
+    // Bytes acumulados antes de cada envio da exportação
+    private static final int TAMANHO_BUFFER_EXPORTACAO = 64 * 1024;
+
     @Autowired
     private CuidadoService cuidadoService;
 
+    // Executor das requisições assíncronas do Spring MVC
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor exportacaoExecutor;
+
+    // Só a exportação tem um prazo longo; as demais requisições assíncronas seguem o padrão
+    @Value("${horta.exportacao.timeout-ms:3600000}")
+    private long exportacaoTimeoutMs;
+
     @Operation(summary = "Lista todos os cuidados", description = "Retorna uma lista com todos os cuidados registrados")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de cuidados retornada com sucesso"),
@@ -46,6 +73,50 @@ public class CuidadoController {
         }
     }
 
+    @Operation(summary = "Lista cuidados paginados", description = "Retorna uma página de cuidados ordenada por data do cuidado, usando o cursor da página anterior")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping(params = "limit")
+    public ResponseEntity<PaginaDTO<CuidadoDTO>> listarPagina(
+            @Parameter(description = "Cursor retornado em proximoCursor") @RequestParam(required = false) String after,
+            @Parameter(description = "Quantidade de itens por página (máximo 500)") @RequestParam Integer limit) {
+        try {
+            PaginaDTO<CuidadoDTO> pagina = cuidadoService.listarPagina(after, limit);
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Exporta histórico de cuidados", description = "Exporta todos os cuidados em NDJSON (um objeto JSON por linha), em streaming")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação iniciada com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> exportar() {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(exportacaoTimeoutMs);
+        exportacaoExecutor.execute(() -> {
+            // Com o prazo estourado ou o cliente desconectado, o envio falha e a leitura para
+            try (OutputStream saida = new BufferedOutputStream(new SaidaEmitter(emitter), TAMANHO_BUFFER_EXPORTACAO)) {
+                cuidadoService.exportarNdjson(saida);
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+                return;
+            }
+            emitter.complete();
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"cuidados.ndjson\"")
+                .body(emitter);
+    }
+
     @Operation(summary = "Registra novo cuidado", description = "Registra um novo cuidado para uma planta")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Cuidado registrado com sucesso"),
@@ -64,6 +135,24 @@ public class CuidadoController {
         }
     }
 
+    @Operation(summary = "Registra cuidados em lote", description = "Registra vários cuidados de uma vez (até " + CuidadoService.LIMITE_LOTE + " por requisição), retornando o resultado de cada item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado; verifique o resultado de cada item"),
+            @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do limite"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/lote")
+    public ResponseEntity<ResultadoLoteDTO> registrarLote(@RequestBody List<CuidadoDTO> cuidadosDTO) {
+        try {
+            ResultadoLoteDTO resultado = cuidadoService.registrarLote(cuidadosDTO);
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Operation(summary = "Busca cuidado por ID", description = "Retorna os detalhes de um cuidado específico")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cuidado encontrado"),
@@ -72,9 +161,11 @@ public class CuidadoController {
     })
     @GetMapping("/{id}")
     public ResponseEntity<CuidadoDTO> buscarPorId(
-            @Parameter(description = "ID do cuidado") @PathVariable Long id) {
+            @Parameter(description = "ID do cuidado") @PathVariable Long id,
+            @Parameter(description = "Data do cuidado, se conhecida (lê só a partição do mês)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
         try {
-            Optional<CuidadoDTO> cuidado = cuidadoService.buscarPorId(id);
+            Optional<CuidadoDTO> cuidado = cuidadoService.buscarPorId(id, data);
             return cuidado.map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
@@ -92,9 +183,11 @@ public class CuidadoController {
     @PutMapping("/{id}")
     public ResponseEntity<CuidadoDTO> atualizarCuidado(
             @Parameter(description = "ID do cuidado") @PathVariable Long id,
+            @Parameter(description = "Data atual do cuidado, se conhecida (lê só a partição do mês)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
             @Valid @RequestBody CuidadoDTO cuidadoDTO) {
         try {
-            CuidadoDTO cuidadoAtualizado = cuidadoService.atualizarCuidado(id, cuidadoDTO);
+            CuidadoDTO cuidadoAtualizado = cuidadoService.atualizarCuidado(id, data, cuidadoDTO);
             return ResponseEntity.ok(cuidadoAtualizado);
         } catch (RuntimeException e) {
             if (e.getMessage().contains("não encontrado")) {
@@ -114,9 +207,11 @@ public class CuidadoController {
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> removerCuidado(
-            @Parameter(description = "ID do cuidado") @PathVariable Long id) {
+            @Parameter(description = "ID do cuidado") @PathVariable Long id,
+            @Parameter(description = "Data do cuidado, se conhecida (lê só a partição do mês)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
         try {
-            cuidadoService.removerCuidado(id);
+            cuidadoService.removerCuidado(id, data);
             return ResponseEntity.noContent().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
@@ -271,28 +366,70 @@ public class CuidadoController {
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @GetMapping("/estatisticas/tipo")
-    public ResponseEntity<List<Object[]>> estatisticasPorTipo() {
+    public ResponseEntity<List<EstatisticaTipo>> estatisticasPorTipo() {
         try {
-            List<Object[]> estatisticas = cuidadoService.obterEstatisticasPorTipo();
+            List<EstatisticaTipo> estatisticas = cuidadoService.obterEstatisticasPorTipo();
             return ResponseEntity.ok(estatisticas);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    @Operation(summary = "Estatísticas por planta", description = "Retorna estatísticas de cuidados por planta")
+    @Operation(summary = "Estatísticas por planta", description = "Retorna o total de cuidados por planta, do maior para o menor")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Parâmetro top inválido"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @GetMapping("/estatisticas/planta")
-    public ResponseEntity<List<Object[]>> estatisticasPorPlanta() {
+    public ResponseEntity<List<EstatisticaPlanta>> estatisticasPorPlanta(
+            @Parameter(description = "Retorna apenas as N plantas com mais cuidados") @RequestParam(required = false) Integer top) {
         try {
-            List<Object[]> estatisticas = cuidadoService.obterEstatisticasPorPlanta();
+            List<EstatisticaPlanta> estatisticas = cuidadoService.obterEstatisticasPorPlanta(top);
             return ResponseEntity.ok(estatisticas);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
 
+    @Operation(summary = "Estatísticas por mês", description = "Retorna o total de cuidados por ano e mês, do mais recente para o mais antigo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/estatisticas/mes")
+    public ResponseEntity<List<EstatisticaMes>> estatisticasPorMes() {
+        try {
+            List<EstatisticaMes> estatisticas = cuidadoService.obterEstatisticasPorMes();
+            return ResponseEntity.ok(estatisticas);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Envia ao cliente, pelo emitter, cada bloco escrito na exportação
+     */
+    private static class SaidaEmitter extends OutputStream {
+
+        private final ResponseBodyEmitter emitter;
+
+        SaidaEmitter(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len > 0) {
+                emitter.send(Arrays.copyOfRange(b, off, off + len), MediaType.APPLICATION_NDJSON);
+            }
+        }
+    }
+}
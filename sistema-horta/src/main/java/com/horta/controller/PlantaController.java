@@ -1,6 +1,9 @@
 package com.horta.controller;
 
+import com.horta.dto.PaginaDTO;
 import com.horta.dto.PlantaDTO;
+import com.horta.repository.projecao.EstatisticaTipo;
+import com.horta.repository.projecao.PlantaNome;
 import com.horta.service.PlantaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -43,6 +46,26 @@ public class PlantaController {
         }
     }
 
+    @Operation(summary = "Lista plantas paginadas", description = "Retorna uma página de plantas ordenada por data de plantio, usando o cursor da página anterior")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping(params = "limit")
+    public ResponseEntity<PaginaDTO<PlantaDTO>> listarPagina(
+            @Parameter(description = "Cursor retornado em proximoCursor") @RequestParam(required = false) String after,
+            @Parameter(description = "Quantidade de itens por página (máximo 500)") @RequestParam Integer limit) {
+        try {
+            PaginaDTO<PlantaDTO> pagina = plantaService.listarPagina(after, limit);
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Operation(summary = "Cadastra nova planta", description = "Cadastra uma nova planta no sistema")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Planta cadastrada com sucesso"),
@@ -138,6 +161,26 @@ public class PlantaController {
         }
     }
 
+    @Operation(summary = "Autocomplete de plantas", description = "Sugere plantas (ID e nome) cujo nome, ou alguma palavra do nome, começa pelo prefixo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugestões retornadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Prefixo ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<PlantaNome>> autocompletar(
+            @Parameter(description = "Início do nome") @RequestParam String prefix,
+            @Parameter(description = "Quantidade máxima de sugestões (padrão 10, máximo 50)") @RequestParam(required = false) Integer limit) {
+        try {
+            List<PlantaNome> sugestoes = plantaService.autocompletar(prefix, limit);
+            return ResponseEntity.ok(sugestoes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Operation(summary = "Busca plantas por tipo", description = "Busca plantas de um tipo específico")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
@@ -253,9 +296,9 @@ public class PlantaController {
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @GetMapping("/estatisticas/tipo")
-    public ResponseEntity<List<Object[]>> estatisticasPorTipo() {
+    public ResponseEntity<List<EstatisticaTipo>> estatisticasPorTipo() {
         try {
-            List<Object[]> estatisticas = plantaService.obterEstatisticasPorTipo();
+            List<EstatisticaTipo> estatisticas = plantaService.obterEstatisticasPorTipo();
             return ResponseEntity.ok(estatisticas);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -2,8 +2,12 @@ package com.horta.controller;
 
 import com.horta.dto.CuidadoDTO;
 import com.horta.dto.PlantaDTO;
+import com.horta.dto.ResumoDashboardDTO;
 import com.horta.model.Cuidado;
+import com.horta.repository.projecao.EstatisticaTipo;
+import com.horta.service.ConsultasParalelas;
 import com.horta.service.CuidadoService;
+import com.horta.service.DashboardService;
 import com.horta.service.PlantaService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -14,6 +18,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller para páginas web com Thymeleaf
@@ -22,26 +27,34 @@ import java.util.Optional;
 @RequestMapping("/")
 public class WebController {
 
+    private static final String MENSAGEM_DADOS_PARCIAIS = "Alguns dados não puderam ser carregados a tempo";
+
     @Autowired
     private PlantaService plantaService;
 
     @Autowired
     private CuidadoService cuidadoService;
 
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ConsultasParalelas consultasParalelas;
+
     @GetMapping
     public String index(Model model) {
         try {
-            List<PlantaDTO> plantas = plantaService.listarTodas();
-            List<PlantaDTO> plantasRega = plantaService.buscarPlantasQueNecessitamRega();
-            List<PlantaDTO> plantasColheita = plantaService.buscarPlantasProntasParaColheita();
-            List<CuidadoDTO> cuidadosRecentes = cuidadoService.buscarCuidadosRecentes();
-
-            model.addAttribute("totalPlantas", plantas.size());
-            model.addAttribute("plantasRega", plantasRega.size());
-            model.addAttribute("plantasColheita", plantasColheita.size());
-            model.addAttribute("cuidadosRecentes", cuidadosRecentes.size());
-            model.addAttribute("plantas", plantas.subList(0, Math.min(5, plantas.size())));
-            model.addAttribute("cuidados", cuidadosRecentes.subList(0, Math.min(5, cuidadosRecentes.size())));
+            ResumoDashboardDTO resumo = dashboardService.obterResumo();
+
+            model.addAttribute("totalPlantas", resumo.getTotalPlantas());
+            model.addAttribute("plantasRega", resumo.getPlantasRega());
+            model.addAttribute("plantasColheita", resumo.getPlantasColheita());
+            model.addAttribute("cuidadosRecentes", resumo.getCuidadosRecentes());
+            model.addAttribute("plantas", resumo.getPlantas());
+            model.addAttribute("cuidados", resumo.getCuidados());
+            if (resumo.isParcial()) {
+                model.addAttribute("aviso", MENSAGEM_DADOS_PARCIAIS);
+            }
 
         } catch (Exception e) {
             model.addAttribute("erro", "Erro ao carregar dados: " + e.getMessage());
@@ -158,13 +171,19 @@ public class WebController {
     @GetMapping("/alertas")
     public String alertas(Model model) {
         try {
-            List<PlantaDTO> plantasRega = plantaService.buscarPlantasQueNecessitamRega();
-            List<PlantaDTO> plantasPoda = plantaService.buscarPlantasQueNecessitamPoda();
-            List<PlantaDTO> plantasColheita = plantaService.buscarPlantasProntasParaColheita();
-
-            model.addAttribute("plantasRega", plantasRega);
-            model.addAttribute("plantasPoda", plantasPoda);
-            model.addAttribute("plantasColheita", plantasColheita);
+            ConsultasParalelas.Composicao composicao = consultasParalelas.iniciar();
+            CompletableFuture<List<PlantaDTO>> plantasRega =
+                    composicao.executar(plantaService::buscarPlantasQueNecessitamRega);
+            CompletableFuture<List<PlantaDTO>> plantasPoda =
+                    composicao.executar(plantaService::buscarPlantasQueNecessitamPoda);
+            CompletableFuture<List<PlantaDTO>> plantasColheita =
+                    composicao.executar(plantaService::buscarPlantasProntasParaColheita);
+
+            model.addAttribute("plantasRega", composicao.aguardar("plantas para rega", plantasRega, List.of()));
+            model.addAttribute("plantasPoda", composicao.aguardar("plantas para poda", plantasPoda, List.of()));
+            model.addAttribute("plantasColheita",
+                    composicao.aguardar("plantas para colheita", plantasColheita, List.of()));
+            adicionarAvisoSeParcial(model, composicao);
         } catch (Exception e) {
             model.addAttribute("erro", "Erro ao carregar alertas: " + e.getMessage());
         }
@@ -174,19 +193,32 @@ public class WebController {
     @GetMapping("/relatorios")
     public String relatorios(Model model) {
         try {
-            List<PlantaDTO> todasPlantas = plantaService.listarTodas();
-            List<PlantaDTO> plantasRecentes = plantaService.buscarPlantasRecentes(30);
-            List<Object[]> estatisticasPlantas = plantaService.obterEstatisticasPorTipo();
-            List<Object[]> estatisticasCuidados = cuidadoService.obterEstatisticasPorTipo();
-
-            model.addAttribute("totalPlantas", todasPlantas.size());
-            model.addAttribute("plantasRecentes", plantasRecentes.size());
-            model.addAttribute("estatisticasPlantas", estatisticasPlantas);
-            model.addAttribute("estatisticasCuidados", estatisticasCuidados);
+            ConsultasParalelas.Composicao composicao = consultasParalelas.iniciar();
+            CompletableFuture<Long> totalPlantas = composicao.executar(plantaService::contarPlantas);
+            CompletableFuture<List<PlantaDTO>> plantasRecentes =
+                    composicao.executar(() -> plantaService.buscarPlantasRecentes(30));
+            CompletableFuture<List<EstatisticaTipo>> estatisticasPlantas =
+                    composicao.executar(plantaService::obterEstatisticasPorTipo);
+            CompletableFuture<List<EstatisticaTipo>> estatisticasCuidados =
+                    composicao.executar(cuidadoService::obterEstatisticasPorTipo);
+
+            model.addAttribute("totalPlantas", composicao.aguardar("total de plantas", totalPlantas, 0L));
+            model.addAttribute("plantasRecentes",
+                    composicao.aguardar("plantas recentes", plantasRecentes, List.<PlantaDTO>of()).size());
+            model.addAttribute("estatisticasPlantas",
+                    composicao.aguardar("estatísticas de plantas", estatisticasPlantas, List.of()));
+            model.addAttribute("estatisticasCuidados",
+                    composicao.aguardar("estatísticas de cuidados", estatisticasCuidados, List.of()));
+            adicionarAvisoSeParcial(model, composicao);
         } catch (Exception e) {
             model.addAttribute("erro", "Erro ao carregar relatórios: " + e.getMessage());
         }
         return "relatorios";
     }
-}
 
+    private void adicionarAvisoSeParcial(Model model, ConsultasParalelas.Composicao composicao) {
+        if (composicao.isParcial()) {
+            model.addAttribute("aviso", MENSAGEM_DADOS_PARCIAIS + " (" + String.join(", ", composicao.getFalhas()) + ")");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.horta.dto;
+
+import java.util.List;
+
+/**
+ * DTO para uma página de resultados paginados por cursor (keyset)
+ */
+public class PaginaDTO<T> {
+
+    private List<T> itens;
+    private int limite;
+
+    // Cursor opaco para a próxima página (nulo quando não há mais resultados)
+    private String proximoCursor;
+
+    // Construtores
+    public PaginaDTO() {}
+
+    public PaginaDTO(List<T> itens, int limite, String proximoCursor) {
+        this.itens = itens;
+        this.limite = limite;
+        this.proximoCursor = proximoCursor;
+    }
+
+    // Getters e Setters
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<T> itens) {
+        this.itens = itens;
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public void setLimite(int limite) {
+        this.limite = limite;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "PaginaDTO{" +
+                "itens=" + (itens != null ? itens.size() : 0) +
+                ", limite=" + limite +
+                ", proximoCursor='" + proximoCursor + '\'' +
+                '}';
+    }
+}
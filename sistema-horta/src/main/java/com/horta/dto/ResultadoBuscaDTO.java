@@ -0,0 +1,90 @@
+package com.horta.dto;
+
+/**
+ * DTO de um resultado da busca textual, que pode ser uma planta ou um cuidado
+ */
+public class ResultadoBuscaDTO {
+
+    public enum Origem {
+        PLANTA, CUIDADO
+    }
+
+    private Origem origem;
+    private Long id;
+    private Long plantaId;
+    private String plantaNome;
+    private String trecho;
+    private double relevancia;
+
+    // Construtores
+    public ResultadoBuscaDTO() {}
+
+    public ResultadoBuscaDTO(Origem origem, Long id, Long plantaId, String plantaNome, String trecho, double relevancia) {
+        this.origem = origem;
+        this.id = id;
+        this.plantaId = plantaId;
+        this.plantaNome = plantaNome;
+        this.trecho = trecho;
+        this.relevancia = relevancia;
+    }
+
+    // Getters e Setters
+    public Origem getOrigem() {
+        return origem;
+    }
+
+    public void setOrigem(Origem origem) {
+        this.origem = origem;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPlantaId() {
+        return plantaId;
+    }
+
+    public void setPlantaId(Long plantaId) {
+        this.plantaId = plantaId;
+    }
+
+    public String getPlantaNome() {
+        return plantaNome;
+    }
+
+    public void setPlantaNome(String plantaNome) {
+        this.plantaNome = plantaNome;
+    }
+
+    public String getTrecho() {
+        return trecho;
+    }
+
+    public void setTrecho(String trecho) {
+        this.trecho = trecho;
+    }
+
+    public double getRelevancia() {
+        return relevancia;
+    }
+
+    public void setRelevancia(double relevancia) {
+        this.relevancia = relevancia;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoBuscaDTO{" +
+                "origem=" + origem +
+                ", id=" + id +
+                ", plantaId=" + plantaId +
+                ", plantaNome='" + plantaNome + '\'' +
+                ", relevancia=" + relevancia +
+                '}';
+    }
+}
@@ -0,0 +1,128 @@
+package com.horta.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO com o resultado de um registro de cuidados em lote, item a item
+ */
+public class ResultadoLoteDTO {
+
+    private int totalRecebidos;
+    private int totalRegistrados;
+    private int totalRejeitados;
+    private List<ItemResultado> itens = new ArrayList<>();
+
+    // Construtores
+    public ResultadoLoteDTO() {}
+
+    public ResultadoLoteDTO(List<ItemResultado> itens) {
+        this.itens = itens;
+        this.totalRecebidos = itens.size();
+        this.totalRegistrados = (int) itens.stream().filter(ItemResultado::isRegistrado).count();
+        this.totalRejeitados = totalRecebidos - totalRegistrados;
+    }
+
+    // Getters e Setters
+    public int getTotalRecebidos() {
+        return totalRecebidos;
+    }
+
+    public void setTotalRecebidos(int totalRecebidos) {
+        this.totalRecebidos = totalRecebidos;
+    }
+
+    public int getTotalRegistrados() {
+        return totalRegistrados;
+    }
+
+    public void setTotalRegistrados(int totalRegistrados) {
+        this.totalRegistrados = totalRegistrados;
+    }
+
+    public int getTotalRejeitados() {
+        return totalRejeitados;
+    }
+
+    public void setTotalRejeitados(int totalRejeitados) {
+        this.totalRejeitados = totalRejeitados;
+    }
+
+    public List<ItemResultado> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<ItemResultado> itens) {
+        this.itens = itens;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoLoteDTO{" +
+                "totalRecebidos=" + totalRecebidos +
+                ", totalRegistrados=" + totalRegistrados +
+                ", totalRejeitados=" + totalRejeitados +
+                '}';
+    }
+
+    /**
+     * Resultado de um item do lote, na mesma posição em que foi enviado
+     */
+    public static class ItemResultado {
+
+        private int indice;
+        private boolean registrado;
+        private CuidadoDTO cuidado; // preenchido quando registrado
+        private String erro; // preenchido quando rejeitado
+
+        public ItemResultado() {}
+
+        public static ItemResultado registrado(int indice, CuidadoDTO cuidado) {
+            ItemResultado item = new ItemResultado();
+            item.indice = indice;
+            item.registrado = true;
+            item.cuidado = cuidado;
+            return item;
+        }
+
+        public static ItemResultado rejeitado(int indice, String erro) {
+            ItemResultado item = new ItemResultado();
+            item.indice = indice;
+            item.registrado = false;
+            item.erro = erro;
+            return item;
+        }
+
+        public int getIndice() {
+            return indice;
+        }
+
+        public void setIndice(int indice) {
+            this.indice = indice;
+        }
+
+        public boolean isRegistrado() {
+            return registrado;
+        }
+
+        public void setRegistrado(boolean registrado) {
+            this.registrado = registrado;
+        }
+
+        public CuidadoDTO getCuidado() {
+            return cuidado;
+        }
+
+        public void setCuidado(CuidadoDTO cuidado) {
+            this.cuidado = cuidado;
+        }
+
+        public String getErro() {
+            return erro;
+        }
+
+        public void setErro(String erro) {
+            this.erro = erro;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.horta.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO com os contadores e as listas resumidas exibidas no dashboard
+ */
+public class ResumoDashboardDTO {
+
+    private long totalPlantas;
+    private long plantasRega;
+    private long plantasColheita;
+    private long cuidadosRecentes;
+    private List<PlantaDTO> plantas = new ArrayList<>();
+    private List<CuidadoDTO> cuidados = new ArrayList<>();
+    private boolean parcial;
+
+    // Construtores
+    public ResumoDashboardDTO() {}
+
+    public ResumoDashboardDTO(long totalPlantas, long plantasRega, long plantasColheita, long cuidadosRecentes,
+                              List<PlantaDTO> plantas, List<CuidadoDTO> cuidados) {
+        this.totalPlantas = totalPlantas;
+        this.plantasRega = plantasRega;
+        this.plantasColheita = plantasColheita;
+        this.cuidadosRecentes = cuidadosRecentes;
+        this.plantas = plantas;
+        this.cuidados = cuidados;
+    }
+
+    // Getters e Setters
+    public long getTotalPlantas() {
+        return totalPlantas;
+    }
+
+    public void setTotalPlantas(long totalPlantas) {
+        this.totalPlantas = totalPlantas;
+    }
+
+    public long getPlantasRega() {
+        return plantasRega;
+    }
+
+    public void setPlantasRega(long plantasRega) {
+        this.plantasRega = plantasRega;
+    }
+
+    public long getPlantasColheita() {
+        return plantasColheita;
+    }
+
+    public void setPlantasColheita(long plantasColheita) {
+        this.plantasColheita = plantasColheita;
+    }
+
+    public long getCuidadosRecentes() {
+        return cuidadosRecentes;
+    }
+
+    public void setCuidadosRecentes(long cuidadosRecentes) {
+        this.cuidadosRecentes = cuidadosRecentes;
+    }
+
+    public List<PlantaDTO> getPlantas() {
+        return plantas;
+    }
+
+    public void setPlantas(List<PlantaDTO> plantas) {
+        this.plantas = plantas;
+    }
+
+    public List<CuidadoDTO> getCuidados() {
+        return cuidados;
+    }
+
+    public void setCuidados(List<CuidadoDTO> cuidados) {
+        this.cuidados = cuidados;
+    }
+
+    public boolean isParcial() {
+        return parcial;
+    }
+
+    public void setParcial(boolean parcial) {
+        this.parcial = parcial;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumoDashboardDTO{" +
+                "totalPlantas=" + totalPlantas +
+                ", plantasRega=" + plantasRega +
+                ", plantasColheita=" + plantasColheita +
+                ", cuidadosRecentes=" + cuidadosRecentes +
+                ", plantas=" + plantas.size() +
+                ", cuidados=" + cuidados.size() +
+                ", parcial=" + parcial +
+                '}';
+    }
+}
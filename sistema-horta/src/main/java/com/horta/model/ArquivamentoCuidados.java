@@ -0,0 +1,146 @@
+package com.horta.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Execução do arquivamento de cuidados antigos. O progresso é gravado na mesma transação
+ * de cada lote movido, de modo que uma execução interrompida é retomada com a mesma
+ * data limite e os totais corretos.
+ */
+@Entity
+@Table(name = "arquivamentos_cuidados")
+public class ArquivamentoCuidados {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "arquivamentos_cuidados_seq")
+    @SequenceGenerator(name = "arquivamentos_cuidados_seq", sequenceName = "arquivamentos_cuidados_seq", allocationSize = 1)
+    private Long id;
+
+    // Cuidados com data anterior a esta são arquivados
+    @Column(name = "data_limite", nullable = false)
+    private LocalDate dataLimite;
+
+    @Column(nullable = false)
+    private Integer lotes = 0;
+
+    @Column(nullable = false)
+    private Long arquivados = 0L;
+
+    @Column(name = "ultimo_cuidado_id")
+    private Long ultimoCuidadoId;
+
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    @Column(name = "data_conclusao")
+    private LocalDateTime dataConclusao;
+
+    // Construtores
+    public ArquivamentoCuidados() {}
+
+    public ArquivamentoCuidados(LocalDate dataLimite) {
+        this.dataLimite = dataLimite;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (dataCriacao == null) {
+            dataCriacao = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * Registra um lote movido para o arquivo
+     */
+    public void registrarLote(int quantidade, Long ultimoCuidadoId) {
+        this.lotes++;
+        this.arquivados += quantidade;
+        this.ultimoCuidadoId = ultimoCuidadoId;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    public void concluir() {
+        this.dataConclusao = LocalDateTime.now();
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDataLimite() {
+        return dataLimite;
+    }
+
+    public void setDataLimite(LocalDate dataLimite) {
+        this.dataLimite = dataLimite;
+    }
+
+    public Integer getLotes() {
+        return lotes;
+    }
+
+    public void setLotes(Integer lotes) {
+        this.lotes = lotes;
+    }
+
+    public Long getArquivados() {
+        return arquivados;
+    }
+
+    public void setArquivados(Long arquivados) {
+        this.arquivados = arquivados;
+    }
+
+    public Long getUltimoCuidadoId() {
+        return ultimoCuidadoId;
+    }
+
+    public void setUltimoCuidadoId(Long ultimoCuidadoId) {
+        this.ultimoCuidadoId = ultimoCuidadoId;
+    }
+
+    public LocalDateTime getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public void setDataCriacao(LocalDateTime dataCriacao) {
+        this.dataCriacao = dataCriacao;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+
+    public void setDataAtualizacao(LocalDateTime dataAtualizacao) {
+        this.dataAtualizacao = dataAtualizacao;
+    }
+
+    public LocalDateTime getDataConclusao() {
+        return dataConclusao;
+    }
+
+    public void setDataConclusao(LocalDateTime dataConclusao) {
+        this.dataConclusao = dataConclusao;
+    }
+
+    @Override
+    public String toString() {
+        return "ArquivamentoCuidados{" +
+                "id=" + id +
+                ", dataLimite=" + dataLimite +
+                ", lotes=" + lotes +
+                ", arquivados=" + arquivados +
+                ", dataConclusao=" + dataConclusao +
+                '}';
+    }
+}
@@ -0,0 +1,91 @@
+package com.horta.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Bloqueio (lease) de uma tarefa agendada ou de uma partição de alertas entre as
+ * instâncias da aplicação. Quem detém o bloqueio até {@code bloqueadoAte} é o único
+ * a executar a tarefa; vencido o prazo, qualquer instância pode assumi-lo.
+ */
+@Entity
+@Table(name = "bloqueios_agendamento")
+public class BloqueioAgendamento {
+
+    @Id
+    @Column(length = 100)
+    private String nome;
+
+    @Column(name = "bloqueado_ate", nullable = false)
+    private LocalDateTime bloqueadoAte;
+
+    @Column(name = "bloqueado_em", nullable = false)
+    private LocalDateTime bloqueadoEm;
+
+    @Column(name = "bloqueado_por", nullable = false, length = 255)
+    private String bloqueadoPor;
+
+    // Partições de alertas: instante até o qual os alertas vencidos já foram disparados
+    @Column(name = "disparado_ate")
+    private LocalDateTime disparadoAte;
+
+    // Construtores
+    public BloqueioAgendamento() {}
+
+    public BloqueioAgendamento(String nome, LocalDateTime bloqueadoAte, LocalDateTime bloqueadoEm, String bloqueadoPor) {
+        this.nome = nome;
+        this.bloqueadoAte = bloqueadoAte;
+        this.bloqueadoEm = bloqueadoEm;
+        this.bloqueadoPor = bloqueadoPor;
+    }
+
+    // Getters e Setters
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public LocalDateTime getBloqueadoAte() {
+        return bloqueadoAte;
+    }
+
+    public void setBloqueadoAte(LocalDateTime bloqueadoAte) {
+        this.bloqueadoAte = bloqueadoAte;
+    }
+
+    public LocalDateTime getBloqueadoEm() {
+        return bloqueadoEm;
+    }
+
+    public void setBloqueadoEm(LocalDateTime bloqueadoEm) {
+        this.bloqueadoEm = bloqueadoEm;
+    }
+
+    public String getBloqueadoPor() {
+        return bloqueadoPor;
+    }
+
+    public void setBloqueadoPor(String bloqueadoPor) {
+        this.bloqueadoPor = bloqueadoPor;
+    }
+
+    public LocalDateTime getDisparadoAte() {
+        return disparadoAte;
+    }
+
+    public void setDisparadoAte(LocalDateTime disparadoAte) {
+        this.disparadoAte = disparadoAte;
+    }
+
+    @Override
+    public String toString() {
+        return "BloqueioAgendamento{" +
+                "nome='" + nome + '\'' +
+                ", bloqueadoAte=" + bloqueadoAte +
+                ", bloqueadoPor='" + bloqueadoPor + '\'' +
+                '}';
+    }
+}
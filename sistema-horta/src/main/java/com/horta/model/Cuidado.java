@@ -1,8 +1,8 @@
 package com.horta.model;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.PartitionKey;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -10,11 +10,17 @@ import java.time.LocalDateTime;
  * Entidade que representa um cuidado realizado com uma planta
  */
 @Entity
-@Table(name = "cuidados")
+@Table(name = "cuidados", indexes = {
+        @Index(name = "idx_cuidados_data_id", columnList = "data, id"),
+        @Index(name = "idx_cuidados_planta_tipo_data", columnList = "planta_id, tipo, data DESC"),
+        @Index(name = "idx_cuidados_planta_data", columnList = "planta_id, data DESC"),
+        @Index(name = "idx_cuidados_data_criacao", columnList = "data_criacao")
+})
 public class Cuidado {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cuidados_seq")
+    @SequenceGenerator(name = "cuidados_seq", sequenceName = "cuidados_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -22,11 +28,14 @@ public class Cuidado {
     @NotNull(message = "Planta é obrigatória")
     private Planta planta;
 
+    // Chave de partição no PostgreSQL (V10): o UPDATE e o DELETE do cuidado filtram também
+    // pela data carregada e leem só a partição do mês
     @NotNull(message = "Data do cuidado é obrigatória")
+    @PartitionKey
     @Column(nullable = false)
     private LocalDate data;
 
-    @NotBlank(message = "Tipo de cuidado é obrigatório")
+    @NotNull(message = "Tipo de cuidado é obrigatório")
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private TipoCuidado tipo;
@@ -83,6 +92,10 @@ public class Cuidado {
     }
 
     public boolean isCuidadoRecente() {
+        return isRecente(data);
+    }
+
+    public static boolean isRecente(LocalDate data) {
         return data != null && data.isAfter(LocalDate.now().minusDays(7));
     }
 
@@ -0,0 +1,110 @@
+package com.horta.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Cuidado antigo movido da tabela cuidados pelo arquivamento mensal. Mantém o mesmo ID
+ * e os dados originais; a planta é referenciada só pelo ID, sem chave estrangeira.
+ * A tabela tem as mesmas colunas de cuidados, para que no PostgreSQL a partição de um
+ * mês inteiro passe de uma tabela para a outra ({@link com.horta.service.ParticoesCuidados}).
+ */
+@Entity
+@Table(name = "cuidados_arquivo", indexes = {
+        @Index(name = "idx_cuidados_arquivo_planta", columnList = "planta_id, data DESC")
+})
+public class CuidadoArquivo {
+
+    @Id
+    private Long id;
+
+    @Column(name = "planta_id", nullable = false)
+    private Long plantaId;
+
+    @Column(nullable = false)
+    private LocalDate data;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Cuidado.TipoCuidado tipo;
+
+    @Column(length = 1000)
+    private String observacoes;
+
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "usuario_responsavel", length = 100)
+    private String usuarioResponsavel;
+
+    // Construtores
+    public CuidadoArquivo() {}
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPlantaId() {
+        return plantaId;
+    }
+
+    public void setPlantaId(Long plantaId) {
+        this.plantaId = plantaId;
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public void setData(LocalDate data) {
+        this.data = data;
+    }
+
+    public Cuidado.TipoCuidado getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(Cuidado.TipoCuidado tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getObservacoes() {
+        return observacoes;
+    }
+
+    public void setObservacoes(String observacoes) {
+        this.observacoes = observacoes;
+    }
+
+    public LocalDateTime getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public void setDataCriacao(LocalDateTime dataCriacao) {
+        this.dataCriacao = dataCriacao;
+    }
+
+    public String getUsuarioResponsavel() {
+        return usuarioResponsavel;
+    }
+
+    public void setUsuarioResponsavel(String usuarioResponsavel) {
+        this.usuarioResponsavel = usuarioResponsavel;
+    }
+
+    @Override
+    public String toString() {
+        return "CuidadoArquivo{" +
+                "id=" + id +
+                ", plantaId=" + plantaId +
+                ", data=" + data +
+                ", tipo=" + tipo +
+                '}';
+    }
+}
@@ -0,0 +1,96 @@
+package com.horta.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Total de cuidados por ano e mês da data do cuidado, mantido a cada inclusão,
+ * alteração e remoção de cuidado
+ */
+@Entity
+@Table(name = "estatisticas_cuidados_mes")
+@IdClass(EstatisticaCuidadoMes.Chave.class)
+public class EstatisticaCuidadoMes {
+
+    @Id
+    private Integer ano;
+
+    @Id
+    private Integer mes;
+
+    @Column(nullable = false)
+    private Long total;
+
+    // Chave composta (ano, mes)
+    public static class Chave implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Integer ano;
+        private Integer mes;
+
+        public Chave() {}
+
+        public Chave(Integer ano, Integer mes) {
+            this.ano = ano;
+            this.mes = mes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Chave chave)) return false;
+            return Objects.equals(ano, chave.ano) && Objects.equals(mes, chave.mes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ano, mes);
+        }
+    }
+
+    // Construtores
+    public EstatisticaCuidadoMes() {}
+
+    public EstatisticaCuidadoMes(Integer ano, Integer mes, Long total) {
+        this.ano = ano;
+        this.mes = mes;
+        this.total = total;
+    }
+
+    // Getters e Setters
+    public Integer getAno() {
+        return ano;
+    }
+
+    public void setAno(Integer ano) {
+        this.ano = ano;
+    }
+
+    public Integer getMes() {
+        return mes;
+    }
+
+    public void setMes(Integer mes) {
+        this.mes = mes;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    @Override
+    public String toString() {
+        return "EstatisticaCuidadoMes{" +
+                "ano=" + ano +
+                ", mes=" + mes +
+                ", total=" + total +
+                '}';
+    }
+}
@@ -0,0 +1,51 @@
+package com.horta.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Total de cuidados por planta, mantido a cada inclusão e remoção de cuidado
+ */
+@Entity
+@Table(name = "estatisticas_cuidados_planta")
+public class EstatisticaCuidadoPlanta {
+
+    @Id
+    @Column(name = "planta_id")
+    private Long plantaId;
+
+    @Column(nullable = false)
+    private Long total;
+
+    // Construtores
+    public EstatisticaCuidadoPlanta() {}
+
+    public EstatisticaCuidadoPlanta(Long plantaId, Long total) {
+        this.plantaId = plantaId;
+        this.total = total;
+    }
+
+    // Getters e Setters
+    public Long getPlantaId() {
+        return plantaId;
+    }
+
+    public void setPlantaId(Long plantaId) {
+        this.plantaId = plantaId;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    @Override
+    public String toString() {
+        return "EstatisticaCuidadoPlanta{" +
+                "plantaId=" + plantaId +
+                ", total=" + total +
+                '}';
+    }
+}
@@ -0,0 +1,52 @@
+package com.horta.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Total de cuidados por tipo, mantido a cada inclusão, alteração e remoção de cuidado
+ */
+@Entity
+@Table(name = "estatisticas_cuidados_tipo")
+public class EstatisticaCuidadoTipo {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Cuidado.TipoCuidado tipo;
+
+    @Column(nullable = false)
+    private Long total;
+
+    // Construtores
+    public EstatisticaCuidadoTipo() {}
+
+    public EstatisticaCuidadoTipo(Cuidado.TipoCuidado tipo, Long total) {
+        this.tipo = tipo;
+        this.total = total;
+    }
+
+    // Getters e Setters
+    public Cuidado.TipoCuidado getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(Cuidado.TipoCuidado tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    @Override
+    public String toString() {
+        return "EstatisticaCuidadoTipo{" +
+                "tipo=" + tipo +
+                ", total=" + total +
+                '}';
+    }
+}
@@ -0,0 +1,51 @@
+package com.horta.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Total de plantas por tipo, mantido a cada inclusão, alteração e remoção de planta
+ */
+@Entity
+@Table(name = "estatisticas_plantas_tipo")
+public class EstatisticaPlantaTipo {
+
+    @Id
+    @Column(length = 50)
+    private String tipo;
+
+    @Column(nullable = false)
+    private Long total;
+
+    // Construtores
+    public EstatisticaPlantaTipo() {}
+
+    public EstatisticaPlantaTipo(String tipo, Long total) {
+        this.tipo = tipo;
+        this.total = total;
+    }
+
+    // Getters e Setters
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    @Override
+    public String toString() {
+        return "EstatisticaPlantaTipo{" +
+                "tipo='" + tipo + '\'' +
+                ", total=" + total +
+                '}';
+    }
+}
@@ -0,0 +1,166 @@
+package com.horta.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Evento de domínio gravado na mesma transação da alteração que o originou
+ * (transactional outbox) e publicado depois pelo OutboxRelay
+ */
+@Entity
+@Table(name = "outbox_eventos", indexes = {
+        @Index(name = "idx_outbox_eventos_disponivel_em", columnList = "disponivel_em, id"),
+        @Index(name = "idx_outbox_eventos_agregado", columnList = "agregado_id, id")
+})
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_eventos_seq")
+    @SequenceGenerator(name = "outbox_eventos_seq", sequenceName = "outbox_eventos_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private TipoEvento tipo;
+
+    @Column(name = "agregado_id", nullable = false)
+    private Long agregadoId;
+
+    // Estado do agregado (ou só os IDs, na remoção) serializado em JSON
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    // Antes deste instante o evento não é publicado (adiado após falha de algum listener)
+    @Column(name = "disponivel_em", nullable = false)
+    private LocalDateTime disponivelEm;
+
+    @Column(nullable = false)
+    private Integer tentativas = 0;
+
+    @Column(name = "ultimo_erro", length = 1000)
+    private String ultimoErro;
+
+    // Enum para tipos de evento
+    public enum TipoEvento {
+        PLANTA_CRIADA,
+        PLANTA_ATUALIZADA,
+        PLANTA_REMOVIDA,
+        CUIDADO_REGISTRADO,
+        CUIDADO_ATUALIZADO,
+        CUIDADO_REMOVIDO;
+
+        /**
+         * Tipo do agregado (PLANTA ou CUIDADO), prefixo do nome do evento
+         */
+        public String getAgregado() {
+            return name().substring(0, name().indexOf('_'));
+        }
+    }
+
+    // Construtores
+    public EventoOutbox() {}
+
+    public EventoOutbox(TipoEvento tipo, Long agregadoId, String payload) {
+        this.tipo = tipo;
+        this.agregadoId = agregadoId;
+        this.payload = payload;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (dataCriacao == null) {
+            dataCriacao = LocalDateTime.now();
+        }
+        if (disponivelEm == null) {
+            disponivelEm = dataCriacao;
+        }
+    }
+
+    /**
+     * Registra a falha de publicação e adia o evento até a próxima tentativa
+     */
+    public void registrarFalha(String erro, LocalDateTime proximaTentativa) {
+        this.tentativas++;
+        this.ultimoErro = erro != null && erro.length() > 1000 ? erro.substring(0, 1000) : erro;
+        this.disponivelEm = proximaTentativa;
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TipoEvento getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoEvento tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getAgregadoId() {
+        return agregadoId;
+    }
+
+    public void setAgregadoId(Long agregadoId) {
+        this.agregadoId = agregadoId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public LocalDateTime getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public void setDataCriacao(LocalDateTime dataCriacao) {
+        this.dataCriacao = dataCriacao;
+    }
+
+    public LocalDateTime getDisponivelEm() {
+        return disponivelEm;
+    }
+
+    public void setDisponivelEm(LocalDateTime disponivelEm) {
+        this.disponivelEm = disponivelEm;
+    }
+
+    public Integer getTentativas() {
+        return tentativas;
+    }
+
+    public void setTentativas(Integer tentativas) {
+        this.tentativas = tentativas;
+    }
+
+    public String getUltimoErro() {
+        return ultimoErro;
+    }
+
+    public void setUltimoErro(String ultimoErro) {
+        this.ultimoErro = ultimoErro;
+    }
+
+    @Override
+    public String toString() {
+        return "EventoOutbox{" +
+                "id=" + id +
+                ", tipo=" + tipo +
+                ", agregadoId=" + agregadoId +
+                ", tentativas=" + tentativas +
+                ", disponivelEm=" + disponivelEm +
+                '}';
+    }
+}
@@ -0,0 +1,138 @@
+package com.horta.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Notificação que não pôde ser entregue por um canal (dead letter), guardada para
+ * consulta e reenvio manual
+ */
+@Entity
+@Table(name = "notificacoes_falhas", indexes = {
+        @Index(name = "idx_notificacoes_falhas_data_criacao", columnList = "data_criacao")
+})
+public class NotificacaoFalha {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notificacoes_falhas_seq")
+    @SequenceGenerator(name = "notificacoes_falhas_seq", sequenceName = "notificacoes_falhas_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String canal;
+
+    @Column(nullable = false, length = 150)
+    private String destinatario;
+
+    @Column(nullable = false, length = 200)
+    private String assunto;
+
+    @Column(nullable = false, length = 4000)
+    private String mensagem;
+
+    @Column(length = 1000)
+    private String erro;
+
+    @Column(nullable = false)
+    private Integer tentativas;
+
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    // Construtores
+    public NotificacaoFalha() {}
+
+    public NotificacaoFalha(String canal, String destinatario, String assunto, String mensagem,
+                            String erro, Integer tentativas) {
+        this.canal = canal;
+        this.destinatario = destinatario;
+        this.assunto = assunto;
+        this.mensagem = mensagem;
+        this.erro = erro;
+        this.tentativas = tentativas;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (dataCriacao == null) {
+            dataCriacao = LocalDateTime.now();
+        }
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCanal() {
+        return canal;
+    }
+
+    public void setCanal(String canal) {
+        this.canal = canal;
+    }
+
+    public String getDestinatario() {
+        return destinatario;
+    }
+
+    public void setDestinatario(String destinatario) {
+        this.destinatario = destinatario;
+    }
+
+    public String getAssunto() {
+        return assunto;
+    }
+
+    public void setAssunto(String assunto) {
+        this.assunto = assunto;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public void setErro(String erro) {
+        this.erro = erro;
+    }
+
+    public Integer getTentativas() {
+        return tentativas;
+    }
+
+    public void setTentativas(Integer tentativas) {
+        this.tentativas = tentativas;
+    }
+
+    public LocalDateTime getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public void setDataCriacao(LocalDateTime dataCriacao) {
+        this.dataCriacao = dataCriacao;
+    }
+
+    @Override
+    public String toString() {
+        return "NotificacaoFalha{" +
+                "id=" + id +
+                ", canal='" + canal + '\'' +
+                ", destinatario='" + destinatario + '\'' +
+                ", assunto='" + assunto + '\'' +
+                ", tentativas=" + tentativas +
+                ", dataCriacao=" + dataCriacao +
+                '}';
+    }
+}
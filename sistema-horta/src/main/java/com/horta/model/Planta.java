@@ -12,11 +12,17 @@ import java.util.List;
  * Entidade que representa uma planta no sistema de gerenciamento de horta
  */
 @Entity
-@Table(name = "plantas")
+@Table(name = "plantas", indexes = {
+        @Index(name = "idx_plantas_data_plantio_id", columnList = "data_plantio, id"),
+        @Index(name = "idx_plantas_proxima_rega", columnList = "proxima_rega"),
+        @Index(name = "idx_plantas_proxima_poda", columnList = "proxima_poda"),
+        @Index(name = "idx_plantas_data_colheita", columnList = "data_colheita")
+})
 public class Planta {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "plantas_seq")
+    @SequenceGenerator(name = "plantas_seq", sequenceName = "plantas_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Nome da planta é obrigatório")
@@ -47,6 +53,23 @@ public class Planta {
     @Column(name = "dias_entre_podas")
     private Integer diasEntrePodas = 30; // padrão: podar a cada 30 dias
 
+    // Datas previstas persistidas para que os alertas sejam atendidos por índice
+    @Column(name = "proxima_rega")
+    private LocalDate proximaRega;
+
+    @Column(name = "proxima_poda")
+    private LocalDate proximaPoda;
+
+    @Column(name = "data_colheita")
+    private LocalDate dataColheita;
+
+    // Resumo dos últimos cuidados, mantido pelo CuidadoService na mesma transação
+    @Column(name = "ultima_rega")
+    private LocalDate ultimaRega;
+
+    @Column(name = "ultima_poda")
+    private LocalDate ultimaPoda;
+
     @OneToMany(mappedBy = "planta", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Cuidado> cuidados = new ArrayList<>();
 
@@ -70,19 +93,74 @@ public class Planta {
     }
 
     public LocalDate calcularProximaRega() {
-        if (dataPlantio != null) {
-            return dataPlantio.plusDays(diasEntreRegas);
+        LocalDate base = ultimaRega != null ? ultimaRega : dataPlantio;
+        if (base != null && diasEntreRegas != null) {
+            return base.plusDays(diasEntreRegas);
         }
         return null;
     }
 
     public LocalDate calcularProximaPoda() {
-        if (dataPlantio != null) {
-            return dataPlantio.plusDays(diasEntrePodas);
+        LocalDate base = ultimaPoda != null ? ultimaPoda : dataPlantio;
+        if (base != null && diasEntrePodas != null) {
+            return base.plusDays(diasEntrePodas);
         }
         return null;
     }
 
+    /**
+     * Indica se o tipo de cuidado faz parte do resumo de últimos cuidados da planta
+     */
+    public static boolean isCuidadoResumido(Cuidado.TipoCuidado tipo) {
+        return tipo == Cuidado.TipoCuidado.REGA || tipo == Cuidado.TipoCuidado.PODA;
+    }
+
+    /**
+     * Retorna a data do último cuidado do tipo informado registrada no resumo
+     */
+    public LocalDate getUltimoCuidado(Cuidado.TipoCuidado tipo) {
+        if (tipo == Cuidado.TipoCuidado.REGA) {
+            return ultimaRega;
+        }
+        if (tipo == Cuidado.TipoCuidado.PODA) {
+            return ultimaPoda;
+        }
+        return null;
+    }
+
+    /**
+     * Registra um novo cuidado no resumo, avançando a data apenas se for mais recente
+     */
+    public void registrarUltimoCuidado(Cuidado.TipoCuidado tipo, LocalDate data) {
+        LocalDate atual = getUltimoCuidado(tipo);
+        if (isCuidadoResumido(tipo) && data != null && (atual == null || data.isAfter(atual))) {
+            definirUltimoCuidado(tipo, data);
+        }
+    }
+
+    /**
+     * Substitui a data do último cuidado do tipo informado e recalcula as datas previstas
+     */
+    public void definirUltimoCuidado(Cuidado.TipoCuidado tipo, LocalDate data) {
+        if (tipo == Cuidado.TipoCuidado.REGA) {
+            this.ultimaRega = data;
+        } else if (tipo == Cuidado.TipoCuidado.PODA) {
+            this.ultimaPoda = data;
+        }
+        atualizarDatasPrevistas();
+    }
+
+    /**
+     * Recalcula as datas previstas de rega, poda e colheita antes de gravar a planta
+     */
+    @PrePersist
+    @PreUpdate
+    public void atualizarDatasPrevistas() {
+        this.proximaRega = calcularProximaRega();
+        this.proximaPoda = calcularProximaPoda();
+        this.dataColheita = calcularDataColheita();
+    }
+
     public boolean isTempoColheita() {
         LocalDate dataColheita = calcularDataColheita();
         return dataColheita != null && !LocalDate.now().isBefore(dataColheita);
@@ -161,6 +239,26 @@ public class Planta {
         this.diasEntrePodas = diasEntrePodas;
     }
 
+    public LocalDate getProximaRega() {
+        return proximaRega;
+    }
+
+    public LocalDate getProximaPoda() {
+        return proximaPoda;
+    }
+
+    public LocalDate getDataColheita() {
+        return dataColheita;
+    }
+
+    public LocalDate getUltimaRega() {
+        return ultimaRega;
+    }
+
+    public LocalDate getUltimaPoda() {
+        return ultimaPoda;
+    }
+
     public List<Cuidado> getCuidados() {
         return cuidados;
     }
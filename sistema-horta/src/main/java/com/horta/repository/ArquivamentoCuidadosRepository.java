@@ -0,0 +1,37 @@
+package com.horta.repository;
+
+import com.horta.model.ArquivamentoCuidados;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório das execuções do arquivamento de cuidados
+ */
+@Repository
+public interface ArquivamentoCuidadosRepository extends JpaRepository<ArquivamentoCuidados, Long> {
+
+    /**
+     * Busca a execução bloqueando a linha até o fim da transação, para que execuções
+     * concorrentes gravem o progresso de um lote por vez
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM ArquivamentoCuidados a WHERE a.id = :id")
+    Optional<ArquivamentoCuidados> bloquear(@Param("id") Long id);
+
+    /**
+     * Execução interrompida mais recente, a ser retomada
+     */
+    Optional<ArquivamentoCuidados> findFirstByDataConclusaoIsNullOrderByIdDesc();
+
+    /**
+     * Execuções mais recentes
+     */
+    List<ArquivamentoCuidados> findTop20ByOrderByIdDesc();
+}
@@ -0,0 +1,74 @@
+package com.horta.repository;
+
+import com.horta.model.BloqueioAgendamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório dos bloqueios de agendamento entre instâncias
+ */
+@Repository
+public interface BloqueioAgendamentoRepository extends JpaRepository<BloqueioAgendamento, String> {
+
+    /**
+     * Assume o bloqueio se estiver vencido ou já pertencer à instância (renovação).
+     * O UPDATE condicional é atômico: entre instâncias concorrentes, só uma altera a linha.
+     *
+     * @return 1 se o bloqueio foi obtido, 0 caso contrário (ou se a linha ainda não existe)
+     */
+    @Modifying
+    @Query("UPDATE BloqueioAgendamento b SET b.bloqueadoAte = :ate, b.bloqueadoEm = :agora, b.bloqueadoPor = :instancia " +
+           "WHERE b.nome = :nome AND (b.bloqueadoAte <= :agora OR b.bloqueadoPor = :instancia)")
+    int assumir(@Param("nome") String nome, @Param("instancia") String instancia,
+                @Param("agora") LocalDateTime agora, @Param("ate") LocalDateTime ate);
+
+    /**
+     * Cria o bloqueio já obtido; falha com violação de chave se outra instância criou antes
+     */
+    @Modifying
+    @Query(value = "INSERT INTO bloqueios_agendamento (nome, bloqueado_ate, bloqueado_em, bloqueado_por) " +
+                   "VALUES (:nome, :ate, :agora, :instancia)", nativeQuery = true)
+    int criar(@Param("nome") String nome, @Param("instancia") String instancia,
+              @Param("agora") LocalDateTime agora, @Param("ate") LocalDateTime ate);
+
+    /**
+     * Encerra o bloqueio da instância em {@code ate}
+     */
+    @Modifying
+    @Query("UPDATE BloqueioAgendamento b SET b.bloqueadoAte = :ate WHERE b.nome = :nome AND b.bloqueadoPor = :instancia")
+    int liberar(@Param("nome") String nome, @Param("instancia") String instancia, @Param("ate") LocalDateTime ate);
+
+    /**
+     * Registra até quando a instância disparou os alertas das partições que ainda detém
+     */
+    @Modifying
+    @Query("UPDATE BloqueioAgendamento b SET b.disparadoAte = :ate " +
+           "WHERE b.nome IN :nomes AND b.bloqueadoPor = :instancia AND b.bloqueadoAte > :ate")
+    int registrarDisparo(@Param("nomes") Collection<String> nomes, @Param("instancia") String instancia,
+                         @Param("ate") LocalDateTime ate);
+
+    /**
+     * Conta os bloqueios com o prefixo ainda válidos (ex.: heartbeats das instâncias ativas)
+     */
+    @Query("SELECT COUNT(b) FROM BloqueioAgendamento b WHERE b.nome LIKE CONCAT(:prefixo, '%') AND b.bloqueadoAte > :agora")
+    long contarAtivos(@Param("prefixo") String prefixo, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Remove os bloqueios com o prefixo vencidos antes do limite (heartbeats de instâncias encerradas)
+     */
+    @Modifying
+    @Query("DELETE FROM BloqueioAgendamento b WHERE b.nome LIKE CONCAT(:prefixo, '%') AND b.bloqueadoAte < :limite")
+    int removerVencidos(@Param("prefixo") String prefixo, @Param("limite") LocalDateTime limite);
+
+    /**
+     * Lista os bloqueios em ordem de nome
+     */
+    List<BloqueioAgendamento> findAllByOrderByNomeAsc();
+}
@@ -0,0 +1,69 @@
+package com.horta.repository;
+
+import com.horta.model.CuidadoArquivo;
+import com.horta.repository.projecao.EstatisticaMes;
+import com.horta.repository.projecao.EstatisticaTipo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório dos cuidados arquivados
+ */
+@Repository
+public interface CuidadoArquivoRepository extends JpaRepository<CuidadoArquivo, Long> {
+
+    /**
+     * Copia os cuidados para o arquivo em um único INSERT ... SELECT
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cuidados_arquivo (id, planta_id, data, tipo, observacoes, data_criacao, " +
+                   "usuario_responsavel) " +
+                   "SELECT id, planta_id, data, tipo, observacoes, data_criacao, usuario_responsavel " +
+                   "FROM cuidados WHERE id IN (:ids)", nativeQuery = true)
+    int copiarDeCuidados(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Remove os cuidados arquivados de uma planta
+     */
+    @Modifying
+    @Query("DELETE FROM CuidadoArquivo c WHERE c.plantaId = :plantaId")
+    int removerPorPlantaId(@Param("plantaId") Long plantaId);
+
+    /**
+     * Conta cuidados arquivados por tipo
+     */
+    @Query("SELECT new com.horta.repository.projecao.EstatisticaTipo(c.tipo, COUNT(c)) FROM CuidadoArquivo c GROUP BY c.tipo")
+    List<EstatisticaTipo> countPorTipo();
+
+    /**
+     * Conta cuidados arquivados por planta (ID da planta, total)
+     */
+    @Query("SELECT c.plantaId, COUNT(c) FROM CuidadoArquivo c GROUP BY c.plantaId")
+    List<Object[]> countPorPlantaId();
+
+    /**
+     * Conta cuidados arquivados por ano e mês
+     */
+    @Query("SELECT new com.horta.repository.projecao.EstatisticaMes(YEAR(c.data), MONTH(c.data), COUNT(c)) " +
+           "FROM CuidadoArquivo c GROUP BY YEAR(c.data), MONTH(c.data)")
+    List<EstatisticaMes> countPorMes();
+
+    /**
+     * Conta os cuidados arquivados de uma planta por tipo
+     */
+    @Query("SELECT c.tipo, COUNT(c) FROM CuidadoArquivo c WHERE c.plantaId = :plantaId GROUP BY c.tipo")
+    List<Object[]> countPorTipoDaPlanta(@Param("plantaId") Long plantaId);
+
+    /**
+     * Conta os cuidados arquivados de uma planta por ano e mês
+     */
+    @Query("SELECT YEAR(c.data), MONTH(c.data), COUNT(c) FROM CuidadoArquivo c WHERE c.plantaId = :plantaId " +
+           "GROUP BY YEAR(c.data), MONTH(c.data)")
+    List<Object[]> countPorMesDaPlanta(@Param("plantaId") Long plantaId);
+}
@@ -2,14 +2,26 @@ package com.horta.repository;
 
 import com.horta.model.Cuidado;
 import com.horta.model.Planta;
+import com.horta.repository.projecao.CuidadoResumo;
+import com.horta.repository.projecao.EstatisticaMes;
+import com.horta.repository.projecao.EstatisticaTipo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório para operações com a entidade Cuidado
@@ -17,6 +29,31 @@ import java.util.List;
 @Repository
 public interface CuidadoRepository extends JpaRepository<Cuidado, Long> {
 
+    /**
+     * Quantidade de linhas trazidas por ida ao banco nas consultas em streaming
+     */
+    String TAMANHO_LOTE_STREAMING = "1000";
+
+    /**
+     * Seleção base das projeções de cuidado com os dados da planta (JOIN único)
+     */
+    String SELECT_RESUMO = "SELECT new com.horta.repository.projecao.CuidadoResumo(c.id, p.id, p.nome, c.data, " +
+            "c.tipo, c.observacoes, c.dataCriacao, c.usuarioResponsavel) FROM Cuidado c JOIN c.planta p ";
+
+    /**
+     * Busca cuidado por ID já com a planta carregada
+     */
+    @Override
+    @EntityGraph(attributePaths = "planta")
+    Optional<Cuidado> findById(Long id);
+
+    /**
+     * Busca cuidado por ID e data, já com a planta carregada; no PostgreSQL lê só a
+     * partição do mês, enquanto a busca só pelo ID consulta todas as partições
+     */
+    @EntityGraph(attributePaths = "planta")
+    Optional<Cuidado> findByIdAndData(Long id, LocalDate data);
+
     /**
      * Busca todos os cuidados de uma planta específica
      */
@@ -25,11 +62,13 @@ public interface CuidadoRepository extends JpaRepository<Cuidado, Long> {
     /**
      * Busca cuidados de uma planta por ID
      */
+    @EntityGraph(attributePaths = "planta")
     List<Cuidado> findByPlantaIdOrderByDataDesc(Long plantaId);
 
     /**
      * Busca cuidados por tipo
      */
+    @EntityGraph(attributePaths = "planta")
     List<Cuidado> findByTipo(Cuidado.TipoCuidado tipo);
 
     /**
@@ -40,6 +79,7 @@ public interface CuidadoRepository extends JpaRepository<Cuidado, Long> {
     /**
      * Busca cuidados realizados em um período específico
      */
+    @EntityGraph(attributePaths = "planta")
     List<Cuidado> findByDataBetweenOrderByDataDesc(LocalDate dataInicio, LocalDate dataFim);
 
     /**
@@ -53,28 +93,56 @@ public interface CuidadoRepository extends JpaRepository<Cuidado, Long> {
     @Query("SELECT c FROM Cuidado c WHERE c.planta = :planta AND c.tipo = :tipo ORDER BY c.data DESC LIMIT 1")
     Cuidado findUltimoCuidadoPorTipo(@Param("planta") Planta planta, @Param("tipo") Cuidado.TipoCuidado tipo);
 
+    /**
+     * Busca resumo do último cuidado de um tipo específico para uma planta (por ID)
+     */
+    @Query(SELECT_RESUMO + "WHERE p.id = :plantaId AND c.tipo = :tipo ORDER BY c.data DESC, c.id DESC LIMIT 1")
+    Optional<CuidadoResumo> findUltimoResumoPorTipo(@Param("plantaId") Long plantaId, @Param("tipo") Cuidado.TipoCuidado tipo);
+
+    /**
+     * Busca a data do último cuidado de um tipo específico para uma planta
+     */
+    @Query("SELECT MAX(c.data) FROM Cuidado c WHERE c.planta.id = :plantaId AND c.tipo = :tipo")
+    LocalDate findUltimaDataPorTipo(@Param("plantaId") Long plantaId, @Param("tipo") Cuidado.TipoCuidado tipo);
+
     /**
      * Busca cuidados realizados por um usuário específico
      */
+    @EntityGraph(attributePaths = "planta")
     List<Cuidado> findByUsuarioResponsavelOrderByDataDesc(String usuarioResponsavel);
 
     /**
      * Busca cuidados recentes (últimos 7 dias)
      */
+    @EntityGraph(attributePaths = "planta")
     @Query("SELECT c FROM Cuidado c WHERE c.data >= :dataLimite ORDER BY c.data DESC")
     List<Cuidado> findCuidadosRecentes(@Param("dataLimite") LocalDate dataLimite);
 
     /**
      * Conta cuidados por tipo
      */
-    @Query("SELECT c.tipo, COUNT(c) FROM Cuidado c GROUP BY c.tipo")
-    List<Object[]> countCuidadosPorTipo();
+    @Query("SELECT new com.horta.repository.projecao.EstatisticaTipo(c.tipo, COUNT(c)) FROM Cuidado c GROUP BY c.tipo")
+    List<EstatisticaTipo> countCuidadosPorTipo();
 
     /**
-     * Conta cuidados por planta
+     * Conta cuidados por planta (ID da planta, total), agrupando pela coluna
+     * indexada planta_id, sem junção com plantas
      */
-    @Query("SELECT c.planta.nome, COUNT(c) FROM Cuidado c GROUP BY c.planta.nome ORDER BY COUNT(c) DESC")
-    List<Object[]> countCuidadosPorPlanta();
+    @Query("SELECT c.planta.id, COUNT(c) FROM Cuidado c GROUP BY c.planta.id")
+    List<Object[]> countCuidadosPorPlantaId();
+
+    /**
+     * Conta os cuidados de uma planta por tipo
+     */
+    @Query("SELECT c.tipo, COUNT(c) FROM Cuidado c WHERE c.planta.id = :plantaId GROUP BY c.tipo")
+    List<Object[]> countCuidadosPorTipoDaPlanta(@Param("plantaId") Long plantaId);
+
+    /**
+     * Conta os cuidados de uma planta por ano e mês
+     */
+    @Query("SELECT YEAR(c.data), MONTH(c.data), COUNT(c) FROM Cuidado c WHERE c.planta.id = :plantaId " +
+           "GROUP BY YEAR(c.data), MONTH(c.data)")
+    List<Object[]> countCuidadosPorMesDaPlanta(@Param("plantaId") Long plantaId);
 
     /**
      * Busca cuidados com observações contendo texto específico
@@ -86,6 +154,11 @@ public interface CuidadoRepository extends JpaRepository<Cuidado, Long> {
      */
     boolean existsByPlantaAndTipoAndData(Planta planta, Cuidado.TipoCuidado tipo, LocalDate data);
 
+    /**
+     * Verifica se existe cuidado de um tipo específico para uma planta (por ID) em uma data
+     */
+    boolean existsByPlantaIdAndTipoAndData(Long plantaId, Cuidado.TipoCuidado tipo, LocalDate data);
+
     /**
      * Busca cuidados criados em um período específico
      */
@@ -94,25 +167,115 @@ public interface CuidadoRepository extends JpaRepository<Cuidado, Long> {
     /**
      * Busca todos os cuidados ordenados por data de criação
      */
+    @EntityGraph(attributePaths = "planta")
     List<Cuidado> findAllByOrderByDataCriacaoDesc();
 
     /**
      * Busca cuidados de hoje
      */
+    @EntityGraph(attributePaths = "planta")
     @Query("SELECT c FROM Cuidado c WHERE c.data = :hoje ORDER BY c.dataCriacao DESC")
     List<Cuidado> findCuidadosDeHoje(@Param("hoje") LocalDate hoje);
 
     /**
      * Busca estatísticas de cuidados por mês
      */
-    @Query("SELECT YEAR(c.data), MONTH(c.data), COUNT(c) FROM Cuidado c " +
-           "GROUP BY YEAR(c.data), MONTH(c.data) ORDER BY YEAR(c.data) DESC, MONTH(c.data) DESC")
-    List<Object[]> findEstatisticasCuidadosPorMes();
+    @Query("SELECT new com.horta.repository.projecao.EstatisticaMes(YEAR(c.data), MONTH(c.data), COUNT(c)) " +
+           "FROM Cuidado c GROUP BY YEAR(c.data), MONTH(c.data) ORDER BY YEAR(c.data) DESC, MONTH(c.data) DESC")
+    List<EstatisticaMes> findEstatisticasCuidadosPorMes();
 
     /**
-     * Remove cuidados antigos (mais de 1 ano)
+     * Bloqueia o próximo lote de cuidados anteriores à data limite, dos mais antigos
+     * para os mais novos (índice data, id). Linhas bloqueadas por outra execução são
+     * puladas. Deve ser chamado dentro de uma transação.
      */
-    @Query("DELETE FROM Cuidado c WHERE c.data < :dataLimite")
-    void deleteCuidadosAntigos(@Param("dataLimite") LocalDate dataLimite);
-}
+    @Query(value = "SELECT id FROM cuidados WHERE data < :dataLimite ORDER BY data, id " +
+                   "LIMIT :limite FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> bloquearAnterioresA(@Param("dataLimite") LocalDate dataLimite, @Param("limite") int limite);
+
+    /**
+     * Remove os cuidados pelos IDs, em um único DELETE
+     */
+    @Modifying
+    @Query("DELETE FROM Cuidado c WHERE c.id IN :ids")
+    int removerPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lista resumos de todos os cuidados
+     */
+    @Query(SELECT_RESUMO)
+    List<CuidadoResumo> findAllResumos();
 
+    /**
+     * Busca resumos dos cuidados de uma planta por ID
+     */
+    @Query(SELECT_RESUMO + "WHERE p.id = :plantaId ORDER BY c.data DESC")
+    List<CuidadoResumo> findResumosByPlantaId(@Param("plantaId") Long plantaId);
+
+    /**
+     * Busca resumos de cuidados por tipo
+     */
+    @Query(SELECT_RESUMO + "WHERE c.tipo = :tipo")
+    List<CuidadoResumo> findResumosByTipo(@Param("tipo") Cuidado.TipoCuidado tipo);
+
+    /**
+     * Busca resumos de cuidados realizados em um período específico
+     */
+    @Query(SELECT_RESUMO + "WHERE c.data BETWEEN :dataInicio AND :dataFim ORDER BY c.data DESC")
+    List<CuidadoResumo> findResumosByDataBetween(@Param("dataInicio") LocalDate dataInicio,
+                                                 @Param("dataFim") LocalDate dataFim);
+
+    /**
+     * Busca resumos de cuidados recentes
+     */
+    @Query(SELECT_RESUMO + "WHERE c.data >= :dataLimite ORDER BY c.data DESC")
+    List<CuidadoResumo> findResumosRecentes(@Param("dataLimite") LocalDate dataLimite);
+
+    /**
+     * Busca resumos dos cuidados recentes mais novos (limitado pelo Pageable)
+     */
+    @Query(SELECT_RESUMO + "WHERE c.data >= :dataLimite ORDER BY c.data DESC, c.id DESC")
+    List<CuidadoResumo> findUltimosResumosRecentes(@Param("dataLimite") LocalDate dataLimite, Pageable pageable);
+
+    /**
+     * Conta cuidados realizados a partir de uma data
+     */
+    long countByDataGreaterThanEqual(LocalDate dataLimite);
+
+    /**
+     * Busca resumos dos cuidados de hoje
+     */
+    @Query(SELECT_RESUMO + "WHERE c.data = :hoje ORDER BY c.dataCriacao DESC")
+    List<CuidadoResumo> findResumosDeHoje(@Param("hoje") LocalDate hoje);
+
+    /**
+     * Busca resumos de cuidados realizados por um usuário específico
+     */
+    @Query(SELECT_RESUMO + "WHERE c.usuarioResponsavel = :usuarioResponsavel ORDER BY c.data DESC")
+    List<CuidadoResumo> findResumosByUsuarioResponsavel(@Param("usuarioResponsavel") String usuarioResponsavel);
+
+    /**
+     * Primeira página da listagem keyset ordenada por (data, id)
+     */
+    @Query(SELECT_RESUMO + "ORDER BY c.data, c.id")
+    List<CuidadoResumo> findPrimeiraPaginaResumos(Pageable pageable);
+
+    /**
+     * Página seguinte ao cursor (data, id); o predicado com ">=" inicial permite a busca por índice
+     */
+    @Query(SELECT_RESUMO + "WHERE c.data >= :data AND (c.data > :data OR c.id > :id) ORDER BY c.data, c.id")
+    List<CuidadoResumo> findPaginaAposResumos(@Param("data") LocalDate data,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    /**
+     * Percorre todos os cuidados (com a planta) em ordem de ID usando cursor JDBC.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANHO_LOTE_STREAMING),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Cuidado c JOIN FETCH c.planta ORDER BY c.id")
+    Stream<Cuidado> streamTodosOrdenadosPorId();
+}
@@ -0,0 +1,40 @@
+package com.horta.repository;
+
+import com.horta.model.EstatisticaCuidadoMes;
+import com.horta.repository.projecao.EstatisticaMes;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório do total de cuidados por ano e mês
+ */
+@Repository
+public interface EstatisticaCuidadoMesRepository extends JpaRepository<EstatisticaCuidadoMes, EstatisticaCuidadoMes.Chave> {
+
+    /**
+     * Cria a linha do mês com total zero, se ainda não existir
+     */
+    @Modifying
+    @Query(value = "INSERT INTO estatisticas_cuidados_mes (ano, mes, total) VALUES (:ano, :mes, 0) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    void criarSeAusente(@Param("ano") int ano, @Param("mes") int mes);
+
+    /**
+     * Soma o delta ao total do mês
+     */
+    @Modifying
+    @Query("UPDATE EstatisticaCuidadoMes e SET e.total = e.total + :delta WHERE e.ano = :ano AND e.mes = :mes")
+    void somar(@Param("ano") int ano, @Param("mes") int mes, @Param("delta") long delta);
+
+    /**
+     * Lista (ano, mês, total) do mais recente para o mais antigo
+     */
+    @Query("SELECT new com.horta.repository.projecao.EstatisticaMes(e.ano, e.mes, e.total) " +
+           "FROM EstatisticaCuidadoMes e WHERE e.total > 0 ORDER BY e.ano DESC, e.mes DESC")
+    List<EstatisticaMes> findTotais();
+}
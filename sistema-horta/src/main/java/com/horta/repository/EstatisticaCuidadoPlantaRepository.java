@@ -0,0 +1,47 @@
+package com.horta.repository;
+
+import com.horta.model.EstatisticaCuidadoPlanta;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório do total de cuidados por planta
+ */
+@Repository
+public interface EstatisticaCuidadoPlantaRepository extends JpaRepository<EstatisticaCuidadoPlanta, Long> {
+
+    /**
+     * Cria a linha da planta com total zero, se ainda não existir
+     */
+    @Modifying
+    @Query(value = "INSERT INTO estatisticas_cuidados_planta (planta_id, total) VALUES (:plantaId, 0) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    void criarSeAusente(@Param("plantaId") Long plantaId);
+
+    /**
+     * Soma o delta ao total da planta
+     */
+    @Modifying
+    @Query("UPDATE EstatisticaCuidadoPlanta e SET e.total = e.total + :delta WHERE e.plantaId = :plantaId")
+    void somar(@Param("plantaId") Long plantaId, @Param("delta") long delta);
+
+    /**
+     * Remove a linha da planta (planta removida)
+     */
+    @Modifying
+    @Query("DELETE FROM EstatisticaCuidadoPlanta e WHERE e.plantaId = :plantaId")
+    void removerPorPlantaId(@Param("plantaId") Long plantaId);
+
+    /**
+     * Lista os totais por planta, do maior para o menor. Com um Pageable limitado
+     * vira ORDER BY ... LIMIT, e o banco mantém apenas os N maiores (top-N)
+     */
+    @Query("SELECT e FROM EstatisticaCuidadoPlanta e WHERE e.total > 0 ORDER BY e.total DESC, e.plantaId")
+    List<EstatisticaCuidadoPlanta> findMaioresTotais(Pageable pageable);
+}
@@ -0,0 +1,41 @@
+package com.horta.repository;
+
+import com.horta.model.Cuidado;
+import com.horta.model.EstatisticaCuidadoTipo;
+import com.horta.repository.projecao.EstatisticaTipo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório do total de cuidados por tipo
+ */
+@Repository
+public interface EstatisticaCuidadoTipoRepository extends JpaRepository<EstatisticaCuidadoTipo, Cuidado.TipoCuidado> {
+
+    /**
+     * Cria a linha do tipo com total zero, se ainda não existir
+     */
+    @Modifying
+    @Query(value = "INSERT INTO estatisticas_cuidados_tipo (tipo, total) VALUES (:tipo, 0) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    void criarSeAusente(@Param("tipo") String tipo);
+
+    /**
+     * Soma o delta ao total do tipo
+     */
+    @Modifying
+    @Query("UPDATE EstatisticaCuidadoTipo e SET e.total = e.total + :delta WHERE e.tipo = :tipo")
+    void somar(@Param("tipo") Cuidado.TipoCuidado tipo, @Param("delta") long delta);
+
+    /**
+     * Lista (tipo, total) dos tipos com cuidados
+     */
+    @Query("SELECT new com.horta.repository.projecao.EstatisticaTipo(e.tipo, e.total) " +
+           "FROM EstatisticaCuidadoTipo e WHERE e.total > 0")
+    List<EstatisticaTipo> findTotais();
+}
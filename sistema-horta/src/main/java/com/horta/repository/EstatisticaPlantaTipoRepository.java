@@ -0,0 +1,40 @@
+package com.horta.repository;
+
+import com.horta.model.EstatisticaPlantaTipo;
+import com.horta.repository.projecao.EstatisticaTipo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório do total de plantas por tipo
+ */
+@Repository
+public interface EstatisticaPlantaTipoRepository extends JpaRepository<EstatisticaPlantaTipo, String> {
+
+    /**
+     * Cria a linha do tipo com total zero, se ainda não existir
+     */
+    @Modifying
+    @Query(value = "INSERT INTO estatisticas_plantas_tipo (tipo, total) VALUES (:tipo, 0) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    void criarSeAusente(@Param("tipo") String tipo);
+
+    /**
+     * Soma o delta ao total do tipo
+     */
+    @Modifying
+    @Query("UPDATE EstatisticaPlantaTipo e SET e.total = e.total + :delta WHERE e.tipo = :tipo")
+    void somar(@Param("tipo") String tipo, @Param("delta") long delta);
+
+    /**
+     * Lista (tipo, total) dos tipos com plantas
+     */
+    @Query("SELECT new com.horta.repository.projecao.EstatisticaTipo(e.tipo, e.total) " +
+           "FROM EstatisticaPlantaTipo e WHERE e.total > 0")
+    List<EstatisticaTipo> findTotais();
+}
@@ -0,0 +1,32 @@
+package com.horta.repository;
+
+import com.horta.model.EventoOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositório dos eventos pendentes de publicação (transactional outbox)
+ */
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Bloqueia o próximo lote de eventos disponíveis, em ordem de gravação. Linhas já
+     * bloqueadas por outra instância do relay são puladas (SKIP LOCKED), de modo que
+     * várias réplicas podem publicar em paralelo sem entregar o mesmo evento duas vezes.
+     * Só o evento mais antigo ainda não publicado de cada agregado (o prefixo do tipo,
+     * PLANTA ou CUIDADO, e o ID) entra no lote: enquanto ele estiver bloqueado por outra
+     * réplica ou adiado após falha, os seguintes do agregado esperam, e o agregado é
+     * publicado em ordem. Deve ser chamado dentro de uma transação; os bloqueios valem até o commit.
+     */
+    @Query(value = "SELECT * FROM outbox_eventos o WHERE o.disponivel_em <= :agora " +
+                   "AND NOT EXISTS (SELECT 1 FROM outbox_eventos a WHERE a.agregado_id = o.agregado_id AND a.id < o.id " +
+                   "  AND SUBSTRING(a.tipo, 1, POSITION('_' IN a.tipo)) = SUBSTRING(o.tipo, 1, POSITION('_' IN o.tipo))) " +
+                   "ORDER BY o.id LIMIT :limite FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EventoOutbox> bloquearDisponiveis(@Param("agora") LocalDateTime agora, @Param("limite") int limite);
+}
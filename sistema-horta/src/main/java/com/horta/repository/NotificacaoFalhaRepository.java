@@ -0,0 +1,19 @@
+package com.horta.repository;
+
+import com.horta.model.NotificacaoFalha;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório das notificações não entregues (dead letter)
+ */
+@Repository
+public interface NotificacaoFalhaRepository extends JpaRepository<NotificacaoFalha, Long> {
+
+    /**
+     * Busca as falhas mais recentes
+     */
+    List<NotificacaoFalha> findTop100ByOrderByDataCriacaoDesc();
+}
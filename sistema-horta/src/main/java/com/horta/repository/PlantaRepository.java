@@ -1,14 +1,27 @@
 package com.horta.repository;
 
 import com.horta.model.Planta;
+import com.horta.repository.projecao.EstatisticaTipo;
+import com.horta.repository.projecao.PlantaAlerta;
+import com.horta.repository.projecao.PlantaComTotalCuidados;
+import com.horta.repository.projecao.PlantaIdentificacao;
+import com.horta.repository.projecao.PlantaNome;
+import com.horta.repository.projecao.PlantaVencimentos;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório para operações com a entidade Planta
@@ -16,6 +29,23 @@ import java.util.Optional;
 @Repository
 public interface PlantaRepository extends JpaRepository<Planta, Long> {
 
+    /**
+     * Seleção base das projeções com total de cuidados (COUNT correlacionado, uma única consulta)
+     */
+    String SELECT_COM_TOTAL_CUIDADOS = "SELECT new com.horta.repository.projecao.PlantaComTotalCuidados(p, " +
+            "(SELECT COUNT(c) FROM Cuidado c WHERE c.planta = p)) FROM Planta p ";
+
+    /**
+     * Seleção base das datas previstas de rega, poda e colheita
+     */
+    String SELECT_VENCIMENTOS = "SELECT new com.horta.repository.projecao.PlantaVencimentos(p.id, p.nome, " +
+            "p.regiao, p.proximaRega, p.proximaPoda, p.dataColheita) FROM Planta p ";
+
+    /**
+     * Seleção base das plantas com alerta vencido; a data prevista é completada por cada consulta
+     */
+    String SELECT_ALERTA = "SELECT new com.horta.repository.projecao.PlantaAlerta(p.id, p.nome, p.regiao, ";
+
     /**
      * Busca plantas por nome (case insensitive)
      */
@@ -39,24 +69,68 @@ public interface PlantaRepository extends JpaRepository<Planta, Long> {
     /**
      * Busca plantas que estão prontas para colheita
      */
-    @Query("SELECT p FROM Planta p WHERE p.dataPlantio IS NOT NULL AND p.cicloDias IS NOT NULL " +
-           "AND FUNCTION('DATE_ADD', p.dataPlantio, INTERVAL p.cicloDias DAY) <= :dataAtual")
+    @Query("SELECT p FROM Planta p WHERE p.dataColheita <= :dataAtual")
     List<Planta> findPlantasProntasParaColheita(@Param("dataAtual") LocalDate dataAtual);
 
     /**
      * Busca plantas que precisam de rega
      */
-    @Query("SELECT p FROM Planta p WHERE p.dataPlantio IS NOT NULL AND p.diasEntreRegas IS NOT NULL " +
-           "AND FUNCTION('DATE_ADD', p.dataPlantio, INTERVAL p.diasEntreRegas DAY) <= :dataAtual")
+    @Query("SELECT p FROM Planta p WHERE p.proximaRega <= :dataAtual")
     List<Planta> findPlantasQueNecessitamRega(@Param("dataAtual") LocalDate dataAtual);
 
     /**
      * Busca plantas que precisam de poda
      */
-    @Query("SELECT p FROM Planta p WHERE p.dataPlantio IS NOT NULL AND p.diasEntrePodas IS NOT NULL " +
-           "AND FUNCTION('DATE_ADD', p.dataPlantio, INTERVAL p.diasEntrePodas DAY) <= :dataAtual")
+    @Query("SELECT p FROM Planta p WHERE p.proximaPoda <= :dataAtual")
     List<Planta> findPlantasQueNecessitamPoda(@Param("dataAtual") LocalDate dataAtual);
 
+    /**
+     * Percorre todas as plantas em ordem de ID usando cursor JDBC.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = CuidadoRepository.TAMANHO_LOTE_STREAMING),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Planta p ORDER BY p.id")
+    Stream<Planta> streamTodasOrdenadasPorId();
+
+    /**
+     * Percorre as plantas que precisam de rega agrupadas por região, usando cursor JDBC.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = CuidadoRepository.TAMANHO_LOTE_STREAMING),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_ALERTA + "p.proximaRega) FROM Planta p WHERE p.proximaRega <= :dataAtual " +
+           "ORDER BY LOWER(TRIM(p.regiao)), p.proximaRega, p.id")
+    Stream<PlantaAlerta> streamPlantasQueNecessitamRega(@Param("dataAtual") LocalDate dataAtual);
+
+    /**
+     * Percorre as plantas que precisam de poda agrupadas por região, usando cursor JDBC.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = CuidadoRepository.TAMANHO_LOTE_STREAMING),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_ALERTA + "p.proximaPoda) FROM Planta p WHERE p.proximaPoda <= :dataAtual " +
+           "ORDER BY LOWER(TRIM(p.regiao)), p.proximaPoda, p.id")
+    Stream<PlantaAlerta> streamPlantasQueNecessitamPoda(@Param("dataAtual") LocalDate dataAtual);
+
+    /**
+     * Percorre as plantas prontas para colheita agrupadas por região, usando cursor JDBC.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = CuidadoRepository.TAMANHO_LOTE_STREAMING),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_ALERTA + "p.dataColheita) FROM Planta p WHERE p.dataColheita <= :dataAtual " +
+           "ORDER BY LOWER(TRIM(p.regiao)), p.dataColheita, p.id")
+    Stream<PlantaAlerta> streamPlantasProntasParaColheita(@Param("dataAtual") LocalDate dataAtual);
+
     /**
      * Busca plantas por tipo e região
      */
@@ -65,8 +139,8 @@ public interface PlantaRepository extends JpaRepository<Planta, Long> {
     /**
      * Conta plantas por tipo
      */
-    @Query("SELECT p.tipo, COUNT(p) FROM Planta p GROUP BY p.tipo")
-    List<Object[]> countPlantasPorTipo();
+    @Query("SELECT new com.horta.repository.projecao.EstatisticaTipo(p.tipo, COUNT(p)) FROM Planta p GROUP BY p.tipo")
+    List<EstatisticaTipo> countPlantasPorTipo();
 
     /**
      * Busca plantas plantadas recentemente (últimos 30 dias)
@@ -93,5 +167,171 @@ public interface PlantaRepository extends JpaRepository<Planta, Long> {
      * Busca plantas com descrição contendo texto específico
      */
     List<Planta> findByDescricaoContainingIgnoreCase(String texto);
-}
 
+    /**
+     * Conta os cuidados de uma planta sem carregar a coleção
+     */
+    @Query("SELECT COUNT(c) FROM Cuidado c WHERE c.planta.id = :plantaId")
+    long countCuidadosDaPlanta(@Param("plantaId") Long plantaId);
+
+    /**
+     * Lista todas as plantas com o total de cuidados
+     */
+    @Query(SELECT_COM_TOTAL_CUIDADOS)
+    List<PlantaComTotalCuidados> findAllComTotalCuidados();
+
+    /**
+     * Busca planta por ID com o total de cuidados
+     */
+    @Query(SELECT_COM_TOTAL_CUIDADOS + "WHERE p.id = :id")
+    Optional<PlantaComTotalCuidados> findByIdComTotalCuidados(@Param("id") Long id);
+
+    /**
+     * Busca plantas por nome (case insensitive) com o total de cuidados
+     */
+    @Query(SELECT_COM_TOTAL_CUIDADOS + "WHERE LOWER(p.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
+    List<PlantaComTotalCuidados> findByNomeComTotalCuidados(@Param("nome") String nome);
+
+    /**
+     * Busca plantas por tipo com o total de cuidados
+     */
+    @Query(SELECT_COM_TOTAL_CUIDADOS + "WHERE LOWER(p.tipo) = LOWER(:tipo)")
+    List<PlantaComTotalCuidados> findByTipoComTotalCuidados(@Param("tipo") String tipo);
+
+    /**
+     * Busca plantas por região com o total de cuidados
+     */
+    @Query(SELECT_COM_TOTAL_CUIDADOS + "WHERE LOWER(p.regiao) = LOWER(:regiao)")
+    List<PlantaComTotalCuidados> findByRegiaoComTotalCuidados(@Param("regiao") String regiao);
+
+    /**
+     * Busca plantas prontas para colheita com o total de cuidados
+     */
+    @Query(SELECT_COM_TOTAL_CUIDADOS + "WHERE p.dataColheita <= :dataAtual")
+    List<PlantaComTotalCuidados> findPlantasProntasParaColheitaComTotalCuidados(@Param("dataAtual") LocalDate dataAtual);
+
+    /**
+     * Busca plantas que precisam de rega com o total de cuidados
+     */
+    @Query(SELECT_COM_TOTAL_CUIDADOS + "WHERE p.proximaRega <= :dataAtual")
+    List<PlantaComTotalCuidados> findPlantasQueNecessitamRegaComTotalCuidados(@Param("dataAtual") LocalDate dataAtual);
+
+    /**
+     * Busca plantas que precisam de poda com o total de cuidados
+     */
+    @Query(SELECT_COM_TOTAL_CUIDADOS + "WHERE p.proximaPoda <= :dataAtual")
+    List<PlantaComTotalCuidados> findPlantasQueNecessitamPodaComTotalCuidados(@Param("dataAtual") LocalDate dataAtual);
+
+    /**
+     * Busca plantas plantadas recentemente com o total de cuidados
+     */
+    @Query(SELECT_COM_TOTAL_CUIDADOS + "WHERE p.dataPlantio >= :dataLimite ORDER BY p.dataPlantio DESC")
+    List<PlantaComTotalCuidados> findPlantasRecentementePlantadasComTotalCuidados(@Param("dataLimite") LocalDate dataLimite);
+
+    /**
+     * Primeira página da listagem keyset ordenada por (dataPlantio, id)
+     */
+    @Query(SELECT_COM_TOTAL_CUIDADOS + "ORDER BY p.dataPlantio, p.id")
+    List<PlantaComTotalCuidados> findPrimeiraPaginaComTotalCuidados(Pageable pageable);
+
+    /**
+     * Página seguinte ao cursor (dataPlantio, id); o predicado com ">=" inicial permite a busca por índice
+     */
+    @Query(SELECT_COM_TOTAL_CUIDADOS + "WHERE p.dataPlantio >= :data " +
+           "AND (p.dataPlantio > :data OR p.id > :id) ORDER BY p.dataPlantio, p.id")
+    List<PlantaComTotalCuidados> findPaginaAposComTotalCuidados(@Param("data") LocalDate data,
+                                                                @Param("id") Long id,
+                                                                Pageable pageable);
+
+    /**
+     * Busca as plantas plantadas mais recentemente com o total de cuidados (limitado pelo Pageable)
+     */
+    @Query(SELECT_COM_TOTAL_CUIDADOS + "ORDER BY p.dataPlantio DESC, p.id DESC")
+    List<PlantaComTotalCuidados> findMaisRecentesComTotalCuidados(Pageable pageable);
+
+    /**
+     * Conta plantas que precisam de rega
+     */
+    long countByProximaRegaLessThanEqual(LocalDate dataAtual);
+
+    /**
+     * Conta plantas prontas para colheita
+     */
+    long countByDataColheitaLessThanEqual(LocalDate dataAtual);
+
+    /**
+     * Busca os dados de identificação de uma planta (verificação de existência sem carregar a entidade)
+     */
+    @Query("SELECT new com.horta.repository.projecao.PlantaIdentificacao(p.id, p.nome, p.tipo, p.regiao) " +
+           "FROM Planta p WHERE p.id = :id")
+    Optional<PlantaIdentificacao> findIdentificacaoById(@Param("id") Long id);
+
+    /**
+     * Lista ID e nome de todas as plantas (carga do autocomplete)
+     */
+    @Query("SELECT new com.horta.repository.projecao.PlantaNome(p.id, p.nome) FROM Planta p")
+    List<PlantaNome> findAllNomes();
+
+    /**
+     * Lista as datas previstas de todas as plantas (carga da agenda de alertas)
+     */
+    @Query(SELECT_VENCIMENTOS)
+    List<PlantaVencimentos> findAllVencimentos();
+
+    /**
+     * Busca as datas previstas de uma planta
+     */
+    @Query(SELECT_VENCIMENTOS + "WHERE p.id = :id")
+    Optional<PlantaVencimentos> findVencimentosById(@Param("id") Long id);
+
+    /**
+     * Busca as datas previstas de um conjunto de plantas
+     */
+    @Query(SELECT_VENCIMENTOS + "WHERE p.id IN :ids")
+    List<PlantaVencimentos> findVencimentosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca as datas previstas das plantas das partições ({@code id % total}) com algum
+     * alerta vencido até o limite
+     */
+    @Query(SELECT_VENCIMENTOS + "WHERE MOD(p.id, :total) IN :particoes " +
+           "AND (p.proximaRega <= :limite OR p.proximaPoda <= :limite OR p.dataColheita <= :limite)")
+    List<PlantaVencimentos> findVencimentosPorParticoes(@Param("particoes") Collection<Integer> particoes,
+                                                        @Param("total") int total,
+                                                        @Param("limite") LocalDate limite);
+
+    /**
+     * Busca os dados de identificação de um conjunto de plantas
+     */
+    @Query("SELECT new com.horta.repository.projecao.PlantaIdentificacao(p.id, p.nome, p.tipo, p.regiao) " +
+           "FROM Planta p WHERE p.id IN :ids")
+    List<PlantaIdentificacao> findIdentificacoesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Registra uma rega no resumo da planta direto no banco, avançando a última rega
+     * (e a próxima rega) apenas se a data for mais recente
+     *
+     * @return quantidade de plantas encontradas (0 quando a planta não existe)
+     */
+    @Modifying
+    @Query("UPDATE Planta p SET " +
+           "p.proximaRega = CASE WHEN p.ultimaRega IS NULL OR p.ultimaRega < :data " +
+           "THEN CAST(:data AS LocalDate) + (p.diasEntreRegas) day ELSE p.proximaRega END, " +
+           "p.ultimaRega = CASE WHEN p.ultimaRega IS NULL OR p.ultimaRega < :data THEN :data ELSE p.ultimaRega END " +
+           "WHERE p.id = :id")
+    int registrarUltimaRega(@Param("id") Long id, @Param("data") LocalDate data);
+
+    /**
+     * Registra uma poda no resumo da planta direto no banco, avançando a última poda
+     * (e a próxima poda) apenas se a data for mais recente
+     *
+     * @return quantidade de plantas encontradas (0 quando a planta não existe)
+     */
+    @Modifying
+    @Query("UPDATE Planta p SET " +
+           "p.proximaPoda = CASE WHEN p.ultimaPoda IS NULL OR p.ultimaPoda < :data " +
+           "THEN CAST(:data AS LocalDate) + (p.diasEntrePodas) day ELSE p.proximaPoda END, " +
+           "p.ultimaPoda = CASE WHEN p.ultimaPoda IS NULL OR p.ultimaPoda < :data THEN :data ELSE p.ultimaPoda END " +
+           "WHERE p.id = :id")
+    int registrarUltimaPoda(@Param("id") Long id, @Param("data") LocalDate data);
+}
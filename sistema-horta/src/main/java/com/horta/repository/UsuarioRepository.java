@@ -57,6 +57,18 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     @Query("SELECT u FROM Usuario u WHERE u.tipo = 'ADMIN' AND u.ativo = true")
     List<Usuario> findAdministradoresAtivos();
 
+    /**
+     * Emails dos administradores ativos
+     */
+    @Query("SELECT u.email FROM Usuario u WHERE u.tipo = 'ADMIN' AND u.ativo = true ORDER BY u.email")
+    List<String> findEmailsAdministradoresAtivos();
+
+    /**
+     * Emails dos usuários ativos de uma região (sem distinção de maiúsculas e espaços nas pontas)
+     */
+    @Query("SELECT u.email FROM Usuario u WHERE u.ativo = true AND LOWER(TRIM(u.regiao)) = LOWER(TRIM(:regiao)) ORDER BY u.email")
+    List<String> findEmailsAtivosPorRegiao(@Param("regiao") String regiao);
+
     /**
      * Verifica se existe usuário com email específico
      */
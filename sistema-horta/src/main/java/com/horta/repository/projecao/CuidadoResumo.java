@@ -0,0 +1,20 @@
+package com.horta.repository.projecao;
+
+import com.horta.model.Cuidado;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de um cuidado que já traz o ID e o nome da planta,
+ * evitando a inicialização do proxy LAZY de {@link Cuidado#getPlanta()}
+ */
+public record CuidadoResumo(Long id,
+                            Long plantaId,
+                            String plantaNome,
+                            LocalDate data,
+                            Cuidado.TipoCuidado tipo,
+                            String observacoes,
+                            LocalDateTime dataCriacao,
+                            String usuarioResponsavel) {
+}
@@ -0,0 +1,8 @@
+package com.horta.repository.projecao;
+
+/**
+ * Total de cuidados de um ano e mês, montado diretamente pela expressão
+ * construtora da consulta JPQL
+ */
+public record EstatisticaMes(Integer ano, Integer mes, Long total) {
+}
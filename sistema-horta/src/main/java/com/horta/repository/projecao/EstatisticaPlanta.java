@@ -0,0 +1,8 @@
+package com.horta.repository.projecao;
+
+/**
+ * Total de cuidados de uma planta, identificada pelo ID (plantas com o mesmo
+ * nome continuam em grupos separados)
+ */
+public record EstatisticaPlanta(Long plantaId, String planta, Long total) {
+}
@@ -0,0 +1,14 @@
+package com.horta.repository.projecao;
+
+import com.horta.model.Cuidado;
+
+/**
+ * Total de registros por tipo (de planta ou de cuidado), montado diretamente
+ * pela expressão construtora da consulta JPQL
+ */
+public record EstatisticaTipo(String tipo, Long total) {
+
+    public EstatisticaTipo(Cuidado.TipoCuidado tipo, Long total) {
+        this(tipo.name(), total);
+    }
+}
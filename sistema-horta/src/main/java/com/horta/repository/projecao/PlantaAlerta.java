@@ -0,0 +1,9 @@
+package com.horta.repository.projecao;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção de uma planta com alerta vencido (data prevista do cuidado e região dos destinatários)
+ */
+public record PlantaAlerta(Long id, String nome, String regiao, LocalDate data) {
+}
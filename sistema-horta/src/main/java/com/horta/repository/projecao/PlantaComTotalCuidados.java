@@ -0,0 +1,10 @@
+package com.horta.repository.projecao;
+
+import com.horta.model.Planta;
+
+/**
+ * Projeção de uma planta com o total de cuidados contado pelo próprio banco,
+ * sem inicializar a coleção {@link Planta#getCuidados()}
+ */
+public record PlantaComTotalCuidados(Planta planta, Long totalCuidados) {
+}
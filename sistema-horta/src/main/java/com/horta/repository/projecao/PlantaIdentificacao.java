@@ -0,0 +1,8 @@
+package com.horta.repository.projecao;
+
+/**
+ * Projeção com os dados de identificação de uma planta (nome e chaves de cache),
+ * usada quando não é necessário carregar a entidade completa
+ */
+public record PlantaIdentificacao(Long id, String nome, String tipo, String regiao) {
+}
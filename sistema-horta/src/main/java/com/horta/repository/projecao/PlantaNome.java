@@ -0,0 +1,7 @@
+package com.horta.repository.projecao;
+
+/**
+ * Projeção mínima de uma planta (ID e nome), usada no autocomplete
+ */
+public record PlantaNome(Long id, String nome) {
+}
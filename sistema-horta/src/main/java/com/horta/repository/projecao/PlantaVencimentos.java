@@ -0,0 +1,11 @@
+package com.horta.repository.projecao;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção das datas previstas de uma planta (rega, poda e colheita), usada na agenda de alertas;
+ * a região define os destinatários do alerta
+ */
+public record PlantaVencimentos(Long id, String nome, String regiao, LocalDate proximaRega, LocalDate proximaPoda,
+                                LocalDate dataColheita) {
+}
@@ -0,0 +1,322 @@
+package com.horta.service;
+
+import com.horta.repository.PlantaRepository;
+import com.horta.repository.projecao.PlantaVencimentos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agenda dos alertas de rega, poda e colheita, ordenada pela data de vencimento.
+ * Cada planta tem no máximo um alerta pendente por tipo em uma {@link DelayQueue};
+ * a agenda é carregada na inicialização e cada escrita de planta ou cuidado reagenda
+ * somente a planta alterada (O(log n)), sem varreduras periódicas da tabela.
+ * <p>
+ * Reagendar não remove o alerta anterior da fila (a remoção na DelayQueue é O(n)):
+ * ele é descartado ao vencer, por não ser mais o alerta atual da planta.
+ * <p>
+ * Com várias instâncias, cada agenda só recebe as escritas da própria instância: as
+ * demais são trazidas por {@link #sincronizar} e conferidas em {@link #confirmar}.
+ * Os alertas vencidos de partições de outras instâncias viram lembretes sem disparo; ao
+ * assumir uma partição, {@link #recuperar} devolve os vencidos hoje que o dono anterior
+ * não disparou.
+ */
+@Component
+public class AgendaAlertas {
+
+    private static final Logger logger = LoggerFactory.getLogger(AgendaAlertas.class);
+
+    /**
+     * Tipos de alerta, com o intervalo de repetição enquanto a data prevista não mudar
+     */
+    public enum TipoAlerta {
+        REGA(1),
+        PODA(7),
+        COLHEITA(1);
+
+        private final int diasEntreLembretes;
+
+        TipoAlerta(int diasEntreLembretes) {
+            this.diasEntreLembretes = diasEntreLembretes;
+        }
+
+        public int getDiasEntreLembretes() {
+            return diasEntreLembretes;
+        }
+    }
+
+    /**
+     * Alerta vencido de uma planta
+     */
+    public record Vencimento(Long plantaId, String plantaNome, String regiao, TipoAlerta tipo, LocalDate data) {
+    }
+
+    private record Chave(Long plantaId, TipoAlerta tipo) {
+    }
+
+    private final DelayQueue<AlertaAgendado> fila = new DelayQueue<>();
+
+    // Alerta atual de cada planta e tipo; os demais itens da fila estão obsoletos
+    private final Map<Chave, AlertaAgendado> atuais = new ConcurrentHashMap<>();
+
+    @Autowired
+    private PlantaRepository plantaRepository;
+
+    // Horário do dia em que os alertas vencidos na data são disparados
+    @Value("${horta.alertas.horario:08:00}")
+    private String horario;
+
+    private Clock relogio = Clock.systemDefaultZone();
+
+    /**
+     * Carrega as datas previstas de todas as plantas
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        List<PlantaVencimentos> plantas = plantaRepository.findAllVencimentos();
+        fila.clear();
+        atuais.clear();
+        plantas.forEach(this::agendar);
+        logger.info("Agenda de alertas carregada: {} plantas, {} alertas pendentes", plantas.size(), atuais.size());
+    }
+
+    /**
+     * Reagenda os alertas da planta com as datas gravadas (após o commit)
+     */
+    public void reagendar(Long plantaId) {
+        aposCommit(() -> plantaRepository.findVencimentosById(plantaId)
+                .ifPresentOrElse(this::agendar, () -> cancelar(plantaId)));
+    }
+
+    /**
+     * Remove os alertas da planta (após o commit)
+     */
+    public void remover(Long plantaId) {
+        aposCommit(() -> cancelar(plantaId));
+    }
+
+    /**
+     * Atualiza a agenda com as datas das partições, lidas do banco, das plantas com
+     * alerta vencido até amanhã. Com várias instâncias, traz para a agenda local as
+     * escritas feitas nas demais; alertas sem mudança continuam como estão.
+     */
+    public void sincronizar(Collection<Integer> particoes, int totalParticoes) {
+        if (particoes.isEmpty()) {
+            return;
+        }
+        List<PlantaVencimentos> plantas = plantaRepository.findVencimentosPorParticoes(
+                particoes, totalParticoes, LocalDate.now(relogio).plusDays(1));
+        plantas.forEach(this::agendar);
+        logger.debug("Agenda sincronizada com {} plantas das partições {}", plantas.size(), particoes);
+    }
+
+    /**
+     * Recarrega do banco as plantas das partições assumidas e retorna os alertas vencidos
+     * hoje ainda não disparados: os da partição sem disparo registrado desde o horário de
+     * hoje. Todos os vencidos passam a lembretes, como em um disparo.
+     *
+     * @param disparadoAte até quando o dono anterior disparou os alertas de cada partição
+     */
+    public List<Vencimento> recuperar(Collection<Integer> particoes, int totalParticoes,
+                                      Map<Integer, LocalDateTime> disparadoAte) {
+        if (particoes.isEmpty()) {
+            return List.of();
+        }
+        LocalDate hoje = LocalDate.now(relogio);
+        LocalDateTime disparoDeHoje = hoje.atTime(LocalTime.parse(horario));
+        boolean horarioPassou = !LocalDateTime.now(relogio).isBefore(disparoDeHoje);
+        List<Vencimento> recuperados = new ArrayList<>();
+        for (PlantaVencimentos planta : plantaRepository.findVencimentosPorParticoes(particoes, totalParticoes, hoje)) {
+            LocalDateTime disparado = disparadoAte.get((int) Math.floorMod(planta.id(), (long) totalParticoes));
+            boolean pendente = disparado == null || disparado.isBefore(disparoDeHoje);
+            for (Vencimento vencimento : vencimentos(planta)) {
+                if (!horarioPassou || vencimento.data() == null || vencimento.data().isAfter(hoje)) {
+                    agendar(vencimento);
+                    continue;
+                }
+                AlertaAgendado lembrete = new AlertaAgendado(vencimento,
+                        instante(hoje.plusDays(vencimento.tipo().getDiasEntreLembretes())));
+                atuais.put(new Chave(vencimento.plantaId(), vencimento.tipo()), lembrete);
+                fila.add(lembrete);
+                if (pendente) {
+                    recuperados.add(vencimento);
+                }
+            }
+        }
+        logger.debug("Partições {} recuperadas: {} alertas vencidos a disparar", particoes, recuperados.size());
+        return recuperados;
+    }
+
+    /**
+     * Confere os vencimentos com as datas gravadas no banco, que podem ter sido alteradas
+     * por outra instância: retorna os que continuam vencidos e reagenda os demais
+     */
+    public List<Vencimento> confirmar(List<Vencimento> vencimentos) {
+        if (vencimentos.isEmpty()) {
+            return vencimentos;
+        }
+        Map<Long, PlantaVencimentos> plantas = new HashMap<>();
+        plantaRepository.findVencimentosByIdIn(vencimentos.stream().map(Vencimento::plantaId).distinct().toList())
+                .forEach(planta -> plantas.put(planta.id(), planta));
+
+        LocalDate hoje = LocalDate.now(relogio);
+        List<Vencimento> confirmados = new ArrayList<>(vencimentos.size());
+        for (Vencimento vencimento : vencimentos) {
+            PlantaVencimentos planta = plantas.get(vencimento.plantaId());
+            if (planta == null) {
+                cancelar(vencimento.plantaId());
+                continue;
+            }
+            Vencimento atual = vencimentos(planta).stream()
+                    .filter(v -> v.tipo() == vencimento.tipo())
+                    .findFirst()
+                    .orElseThrow();
+            if (atual.data() == null || atual.data().isAfter(hoje)) {
+                agendar(atual);
+            } else {
+                confirmados.add(atual);
+            }
+        }
+        return confirmados;
+    }
+
+    /**
+     * Aguarda o próximo alerta vencer e retorna todos os que já venceram.
+     * Cada alerta retornado é reagendado como lembrete, até a planta ser reagendada.
+     */
+    public List<Vencimento> aguardarVencidos() throws InterruptedException {
+        List<AlertaAgendado> vencidos = new ArrayList<>();
+        vencidos.add(fila.take());
+        fila.drainTo(vencidos);
+        return disparar(vencidos);
+    }
+
+    /**
+     * Retorna os alertas já vencidos, sem aguardar
+     */
+    public List<Vencimento> retirarVencidos() {
+        List<AlertaAgendado> vencidos = new ArrayList<>();
+        fila.drainTo(vencidos);
+        return disparar(vencidos);
+    }
+
+    /**
+     * Quantidade de alertas pendentes (um por planta e tipo)
+     */
+    public int getPendentes() {
+        return atuais.size();
+    }
+
+    private void agendar(PlantaVencimentos planta) {
+        vencimentos(planta).forEach(this::agendar);
+    }
+
+    private static List<Vencimento> vencimentos(PlantaVencimentos planta) {
+        return List.of(
+                new Vencimento(planta.id(), planta.nome(), planta.regiao(), TipoAlerta.REGA, planta.proximaRega()),
+                new Vencimento(planta.id(), planta.nome(), planta.regiao(), TipoAlerta.PODA, planta.proximaPoda()),
+                new Vencimento(planta.id(), planta.nome(), planta.regiao(), TipoAlerta.COLHEITA, planta.dataColheita()));
+    }
+
+    private void agendar(Vencimento vencimento) {
+        Chave chave = new Chave(vencimento.plantaId(), vencimento.tipo());
+        if (vencimento.data() == null) {
+            atuais.remove(chave);
+            return;
+        }
+        atuais.compute(chave, (k, atual) -> {
+            // Mesma data, nome e região: o alerta pendente continua valendo
+            if (atual != null && atual.vencimento.equals(vencimento)) {
+                return atual;
+            }
+            AlertaAgendado novo = new AlertaAgendado(vencimento, instante(vencimento.data()));
+            fila.add(novo);
+            return novo;
+        });
+    }
+
+    private void cancelar(Long plantaId) {
+        for (TipoAlerta tipo : TipoAlerta.values()) {
+            atuais.remove(new Chave(plantaId, tipo));
+        }
+    }
+
+    private List<Vencimento> disparar(List<AlertaAgendado> vencidos) {
+        List<Vencimento> disparados = new ArrayList<>(vencidos.size());
+        for (AlertaAgendado alerta : vencidos) {
+            Vencimento vencimento = alerta.vencimento;
+            Chave chave = new Chave(vencimento.plantaId(), vencimento.tipo());
+            AlertaAgendado lembrete = new AlertaAgendado(vencimento,
+                    instante(LocalDate.now(relogio).plusDays(vencimento.tipo().getDiasEntreLembretes())));
+            // Só dispara e repete o alerta que ainda é o atual da planta
+            if (atuais.replace(chave, alerta, lembrete)) {
+                fila.add(lembrete);
+                disparados.add(vencimento);
+            }
+        }
+        return disparados;
+    }
+
+    /**
+     * Instante do disparo: o horário configurado na data prevista (ou hoje, se já passou)
+     */
+    private long instante(LocalDate data) {
+        LocalDate hoje = LocalDate.now(relogio);
+        LocalDate dia = data.isBefore(hoje) ? hoje : data;
+        return dia.atTime(LocalTime.parse(horario)).atZone(relogio.getZone()).toInstant().toEpochMilli();
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    private class AlertaAgendado implements Delayed {
+
+        private final Vencimento vencimento;
+        private final long instante;
+
+        AlertaAgendado(Vencimento vencimento, long instante) {
+            this.vencimento = vencimento;
+            this.instante = instante;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(instante - relogio.millis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed outro) {
+            return Long.compare(instante, ((AlertaAgendado) outro).instante);
+        }
+    }
+}
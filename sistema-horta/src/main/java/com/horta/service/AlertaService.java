@@ -1,120 +1,229 @@
 package com.horta.service;
 
 import com.horta.dto.PlantaDTO;
+import com.horta.model.ArquivamentoCuidados;
+import com.horta.repository.PlantaRepository;
+import com.horta.repository.projecao.EstatisticaTipo;
+import com.horta.repository.projecao.PlantaAlerta;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * Service para gerenciamento de alertas automáticos
+ * Service para gerenciamento de alertas automáticos.
+ * Os alertas de rega, poda e colheita são disparados por uma thread que aguarda os
+ * vencimentos da {@link AgendaAlertas}; as verificações completas abaixo ficam apenas
+ * para execução manual (POST /alertas/...). Em ambos os casos as notificações saem
+ * como um resumo por destinatário ({@link DigestAlertas}) e o log registra só os totais.
+ * <p>
+ * Com várias instâncias ({@link CoordenacaoCluster}), cada uma notifica apenas os alertas
+ * das partições que detém e as tarefas semanais e mensais rodam em uma instância só. Quem
+ * assume uma partição dispara na hora os alertas vencidos que o dono anterior não disparou
+ * (ex.: partição sem dono no horário dos alertas) e cada disparo fica registrado no bloqueio
+ * da partição, para que o próximo dono não os repita.
  */
 @Service
-public class AlertaService {
+public class AlertaService implements DisposableBean {
 
     private static final Logger logger = LoggerFactory.getLogger(AlertaService.class);
 
     @Autowired
     private PlantaService plantaService;
 
+    @Autowired
+    private AgendaAlertas agendaAlertas;
+
+    @Autowired
+    private DigestAlertas digestAlertas;
+
+    @Autowired
+    private PlantaRepository plantaRepository;
+
+    @Autowired
+    private CoordenacaoCluster coordenacaoCluster;
+
+    @Autowired
+    private ArquivamentoService arquivamentoService;
+
+    private Thread disparador;
+
     /**
-     * Verifica plantas que precisam de rega (executa diariamente às 8h)
+     * Inicia a thread que dispara os alertas à medida que vencem
      */
-    @Scheduled(cron = "0 0 8 * * *")
-    public void verificarPlantasQueNecessitamRega() {
-        logger.info("Iniciando verificação de plantas que necessitam rega...");
-        
-        try {
-            List<PlantaDTO> plantas = plantaService.buscarPlantasQueNecessitamRega();
-            
-            if (!plantas.isEmpty()) {
-                logger.warn("🚰 ALERTA: {} plantas precisam ser regadas hoje!", plantas.size());
-                
-                for (PlantaDTO planta : plantas) {
-                    logger.warn("- {} (ID: {}) - Plantada em: {}", 
-                            planta.getNome(), 
-                            planta.getId(), 
-                            planta.getDataPlantio().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciarDisparador() {
+        disparador = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    notificarVencimentos(agendaAlertas.aguardarVencidos());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    logger.error("Erro ao disparar alertas: {}", e.getMessage(), e);
                 }
-                
-                // Aqui você pode implementar envio de email, notificação push, etc.
-                enviarNotificacaoRega(plantas);
-            } else {
-                logger.info("✅ Nenhuma planta precisa ser regada hoje.");
             }
-        } catch (Exception e) {
-            logger.error("Erro ao verificar plantas que necessitam rega: {}", e.getMessage(), e);
+        }, "alertas-disparador");
+        disparador.setDaemon(true);
+        disparador.start();
+    }
+
+    @Override
+    public void destroy() {
+        if (disparador != null) {
+            disparador.interrupt();
         }
     }
 
     /**
-     * Verifica plantas que precisam de poda (executa semanalmente às segundas-feiras às 9h)
+     * Notifica os alertas vencidos em um resumo por destinatário. Com coordenação entre
+     * instâncias, descarta os alertas de partições de outras instâncias e confere os
+     * demais com o banco antes de notificar.
      */
-    @Scheduled(cron = "0 0 9 * * MON")
-    public void verificarPlantasQueNecessitamPoda() {
-        logger.info("Iniciando verificação de plantas que necessitam poda...");
-        
+    public synchronized void notificarVencimentos(List<AgendaAlertas.Vencimento> vencimentos) {
+        if (coordenacaoCluster.isHabilitado()) {
+            vencimentos = agendaAlertas.confirmar(vencimentos.stream()
+                    .filter(v -> coordenacaoCluster.possui(v.plantaId()))
+                    .toList());
+        }
+        if (vencimentos.isEmpty()) {
+            return;
+        }
+        gerarResumos(vencimentos);
+        if (coordenacaoCluster.isHabilitado()) {
+            coordenacaoCluster.registrarDisparo(vencimentos.stream()
+                    .map(v -> coordenacaoCluster.particao(v.plantaId()))
+                    .collect(Collectors.toSet()));
+        }
+    }
+
+    /**
+     * Ao assumir partições, dispara os alertas vencidos que o dono anterior não disparou
+     */
+    @EventListener
+    public void aoAssumirParticoes(CoordenacaoCluster.ParticoesAssumidas evento) {
+        recuperarParticoes();
+    }
+
+    /**
+     * Dispara os alertas vencidos não disparados das partições assumidas e ainda não
+     * recuperadas; uma falha é repetida na próxima sincronização
+     */
+    public synchronized void recuperarParticoes() {
+        Set<Integer> particoes = coordenacaoCluster.getParticoesARecuperar();
+        if (particoes.isEmpty()) {
+            return;
+        }
         try {
-            List<PlantaDTO> plantas = plantaService.buscarPlantasQueNecessitamPoda();
-            
-            if (!plantas.isEmpty()) {
-                logger.warn("✂️ ALERTA: {} plantas precisam ser podadas esta semana!", plantas.size());
-                
-                for (PlantaDTO planta : plantas) {
-                    logger.warn("- {} (ID: {}) - Plantada em: {}", 
-                            planta.getNome(), 
-                            planta.getId(), 
-                            planta.getDataPlantio().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
-                }
-                
-                enviarNotificacaoPoda(plantas);
-            } else {
-                logger.info("✅ Nenhuma planta precisa ser podada esta semana.");
+            List<AgendaAlertas.Vencimento> vencimentos = agendaAlertas.recuperar(particoes,
+                    coordenacaoCluster.getTotalParticoes(), coordenacaoCluster.getDisparadoAte(particoes));
+            if (!vencimentos.isEmpty()) {
+                gerarResumos(vencimentos);
             }
+            coordenacaoCluster.concluirRecuperacao(particoes);
         } catch (Exception e) {
-            logger.error("Erro ao verificar plantas que necessitam poda: {}", e.getMessage(), e);
+            logger.error("Erro ao recuperar os alertas das partições {}: {}", particoes, e.getMessage(), e);
         }
     }
 
+    private void gerarResumos(List<AgendaAlertas.Vencimento> vencimentos) {
+        DigestAlertas.ResumoDigest resumo = digestAlertas.gerar(vencimentos.stream().sorted(DigestAlertas.ORDEM));
+        logger.info("🔔 {} alertas vencidos: {} notificações enfileiradas para {} regiões ({} sem destinatário na região)",
+                resumo.plantas(), resumo.notificacoes(), resumo.regioes(), resumo.semDestinatario());
+    }
+
     /**
-     * Verifica plantas prontas para colheita (executa diariamente às 18h)
+     * Traz para a agenda local os alertas das partições desta instância alterados por
+     * outras instâncias (somente com coordenação habilitada)
      */
-    @Scheduled(cron = "0 0 18 * * *")
-    public void verificarPlantasProntasParaColheita() {
-        logger.info("Iniciando verificação de plantas prontas para colheita...");
-        
+    @Scheduled(fixedDelayString = "${horta.cluster.sincronizacao-ms:300000}", initialDelayString = "${horta.cluster.renovacao-ms:20000}")
+    public void sincronizarParticoes() {
+        if (!coordenacaoCluster.isHabilitado()) {
+            return;
+        }
         try {
-            List<PlantaDTO> plantas = plantaService.buscarPlantasProntasParaColheita();
-            
-            if (!plantas.isEmpty()) {
-                logger.info("🌾 ÓTIMA NOTÍCIA: {} plantas estão prontas para colheita!", plantas.size());
-                
-                for (PlantaDTO planta : plantas) {
-                    logger.info("- {} (ID: {}) - Plantada em: {} - Ciclo: {} dias", 
-                            planta.getNome(), 
-                            planta.getId(), 
-                            planta.getDataPlantio().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")),
-                            planta.getCicloDias());
-                }
-                
-                enviarNotificacaoColheita(plantas);
-            } else {
-                logger.info("📅 Nenhuma planta está pronta para colheita hoje.");
-            }
+            agendaAlertas.sincronizar(coordenacaoCluster.getParticoes(), coordenacaoCluster.getTotalParticoes());
         } catch (Exception e) {
-            logger.error("Erro ao verificar plantas prontas para colheita: {}", e.getMessage(), e);
+            logger.error("Erro ao sincronizar a agenda de alertas: {}", e.getMessage(), e);
         }
+        recuperarParticoes();
     }
 
     /**
-     * Relatório semanal (executa aos domingos às 20h)
+     * Quantidade de alertas aguardando o vencimento
+     */
+    public int contarAlertasPendentes() {
+        return agendaAlertas.getPendentes();
+    }
+
+    /**
+     * Verifica todas as plantas que precisam de rega (execução manual)
+     */
+    @Transactional(readOnly = true)
+    public void verificarPlantasQueNecessitamRega() {
+        verificar(AgendaAlertas.TipoAlerta.REGA);
+    }
+
+    /**
+     * Verifica todas as plantas que precisam de poda (execução manual)
+     */
+    @Transactional(readOnly = true)
+    public void verificarPlantasQueNecessitamPoda() {
+        verificar(AgendaAlertas.TipoAlerta.PODA);
+    }
+
+    /**
+     * Verifica todas as plantas prontas para colheita (execução manual)
+     */
+    @Transactional(readOnly = true)
+    public void verificarPlantasProntasParaColheita() {
+        verificar(AgendaAlertas.TipoAlerta.COLHEITA);
+    }
+
+    /**
+     * Percorre as plantas vencidas do tipo pelo cursor do banco, já ordenadas por região,
+     * e gera os resumos sem carregar a lista inteira
+     */
+    private void verificar(AgendaAlertas.TipoAlerta tipo) {
+        logger.info("Iniciando verificação de alertas de {}...", tipo);
+
+        LocalDate hoje = LocalDate.now();
+        try (Stream<PlantaAlerta> plantas = switch (tipo) {
+            case REGA -> plantaRepository.streamPlantasQueNecessitamRega(hoje);
+            case PODA -> plantaRepository.streamPlantasQueNecessitamPoda(hoje);
+            case COLHEITA -> plantaRepository.streamPlantasProntasParaColheita(hoje);
+        }) {
+            DigestAlertas.ResumoDigest resumo = digestAlertas.gerar(plantas
+                    .map(p -> new AgendaAlertas.Vencimento(p.id(), p.nome(), p.regiao(), tipo, p.data())));
+            logger.info("🔔 Alertas de {}: {} plantas, {} notificações enfileiradas para {} regiões ({} sem destinatário na região)",
+                    tipo, resumo.plantas(), resumo.notificacoes(), resumo.regioes(), resumo.semDestinatario());
+        } catch (Exception e) {
+            logger.error("Erro ao verificar alertas de {}: {}", tipo, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Relatório semanal agendado (domingos às 20h), em uma única instância
      */
     @Scheduled(cron = "0 0 20 * * SUN")
+    public void relatorioSemanalAgendado() {
+        coordenacaoCluster.executarUmaVez("relatorio-semanal", this::gerarRelatorioSemanal);
+    }
+
+    /**
+     * Relatório semanal
+     */
     public void gerarRelatorioSemanal() {
         logger.info("Gerando relatório semanal da horta...");
         
@@ -130,8 +239,8 @@ public class AlertaService {
             // Estatísticas por tipo
             var estatisticas = plantaService.obterEstatisticasPorTipo();
             logger.info("📈 Plantas por tipo:");
-            for (Object[] stat : estatisticas) {
-                logger.info("   - {}: {} plantas", stat[0], stat[1]);
+            for (EstatisticaTipo stat : estatisticas) {
+                logger.info("   - {}: {} plantas", stat.tipo(), stat.total());
             }
             
             logger.info("═══════════════════════════════");
@@ -142,43 +251,30 @@ public class AlertaService {
     }
 
     /**
-     * Limpeza de dados antigos (executa mensalmente no dia 1 às 2h)
+     * Limpeza de dados antigos (executa mensalmente no dia 1 às 2h): arquiva os cuidados
+     * anteriores à retenção (horta.arquivamento.retencao-meses)
      */
     @Scheduled(cron = "0 0 2 1 * *")
     public void limpezaDadosAntigos() {
-        logger.info("Iniciando limpeza de dados antigos...");
-        
-        try {
-            // Aqui você pode implementar lógica para arquivar ou remover dados muito antigos
-            logger.info("🧹 Limpeza de dados concluída.");
-        } catch (Exception e) {
-            logger.error("Erro na limpeza de dados antigos: {}", e.getMessage(), e);
-        }
-    }
-
-    // Métodos auxiliares para envio de notificações
-
-    private void enviarNotificacaoRega(List<PlantaDTO> plantas) {
-        // Implementar envio de email, SMS, push notification, etc.
-        logger.info("📧 Enviando notificação de rega para {} plantas", plantas.size());
-        
-        // Exemplo de implementação futura:
-        // emailService.enviarAlertaRega(plantas);
-        // smsService.enviarAlertaRega(plantas);
-        // pushNotificationService.enviarAlertaRega(plantas);
-    }
+        coordenacaoCluster.executarUmaVez("limpeza-dados-antigos", () -> {
+            logger.info("Iniciando limpeza de dados antigos...");
 
-    private void enviarNotificacaoPoda(List<PlantaDTO> plantas) {
-        logger.info("📧 Enviando notificação de poda para {} plantas", plantas.size());
-    }
-
-    private void enviarNotificacaoColheita(List<PlantaDTO> plantas) {
-        logger.info("📧 Enviando notificação de colheita para {} plantas", plantas.size());
+            try {
+                ArquivamentoCuidados execucao = arquivamentoService.arquivar();
+                logger.info("🧹 Limpeza de dados concluída: {} cuidados arquivados.", execucao.getArquivados());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Limpeza de dados antigos interrompida; será retomada na próxima execução");
+            } catch (Exception e) {
+                logger.error("Erro na limpeza de dados antigos: {}", e.getMessage(), e);
+            }
+        });
     }
 
     /**
      * Método para testar alertas manualmente
      */
+    @Transactional(readOnly = true)
     public void testarAlertas() {
         logger.info("🧪 Executando teste manual de alertas...");
         verificarPlantasQueNecessitamRega();
@@ -0,0 +1,147 @@
+package com.horta.service;
+
+import com.horta.model.ArquivamentoCuidados;
+import com.horta.repository.ArquivamentoCuidadosRepository;
+import com.horta.repository.CuidadoArquivoRepository;
+import com.horta.repository.CuidadoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Arquivamento dos cuidados mais antigos que a retenção configurada: as linhas são
+ * movidas de cuidados para cuidados_arquivo em lotes, cada lote em uma transação curta
+ * (INSERT ... SELECT e DELETE pelos IDs), para que a tabela quente continue pequena sem
+ * um DELETE único que bloquearia a tabela inteira.
+ * <p>
+ * O progresso ({@link ArquivamentoCuidados}) é gravado junto com cada lote; uma execução
+ * interrompida é retomada pela próxima com a mesma data limite. Os lotes são bloqueados
+ * com SKIP LOCKED, de modo que execuções concorrentes não movem a mesma linha.
+ * <p>
+ * Com cuidados particionada por mês no PostgreSQL ({@link ParticoesCuidados}), a data
+ * limite é alinhada ao primeiro dia do mês e os meses inteiramente expirados passam para
+ * o arquivo com a partição, sem mover linhas; os lotes só tratam o que sobrar na partição
+ * padrão.
+ * <p>
+ * As estatísticas pré-agregadas não mudam: os cuidados arquivados continuam contando
+ * nos totais por tipo, planta e mês.
+ */
+@Service
+public class ArquivamentoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArquivamentoService.class);
+
+    @Value("${horta.arquivamento.retencao-meses:12}")
+    private int retencaoMeses;
+
+    @Value("${horta.arquivamento.tamanho-lote:5000}")
+    private int tamanhoLote;
+
+    // Pausa entre lotes, para não disputar o banco com as escritas da aplicação
+    @Value("${horta.arquivamento.pausa-ms:100}")
+    private long pausaMs;
+
+    @Autowired
+    private CuidadoRepository cuidadoRepository;
+
+    @Autowired
+    private CuidadoArquivoRepository cuidadoArquivoRepository;
+
+    @Autowired
+    private ArquivamentoCuidadosRepository arquivamentoRepository;
+
+    @Autowired
+    private BuscaService buscaService;
+
+    @Autowired
+    private ParticoesCuidados particoesCuidados;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Clock relogio = Clock.systemDefaultZone();
+
+    /**
+     * Arquiva os cuidados anteriores à retenção, retomando a execução interrompida se houver
+     *
+     * @return a execução concluída, com os totais arquivados
+     */
+    public ArquivamentoCuidados arquivar() throws InterruptedException {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        boolean particionado = particoesCuidados.isAtivo();
+        LocalDate dataLimite = LocalDate.now(relogio).minusMonths(retencaoMeses);
+        LocalDate limite = particionado ? dataLimite.withDayOfMonth(1) : dataLimite;
+        ArquivamentoCuidados execucao = transacao.execute(status -> arquivamentoRepository
+                .findFirstByDataConclusaoIsNullOrderByIdDesc()
+                .orElseGet(() -> arquivamentoRepository.save(new ArquivamentoCuidados(limite))));
+        if (execucao.getLotes() > 0) {
+            logger.info("Retomando o arquivamento {} (cuidados anteriores a {}): {} já arquivados em {} lotes",
+                    execucao.getId(), execucao.getDataLimite(), execucao.getArquivados(), execucao.getLotes());
+        }
+
+        Long id = execucao.getId();
+        if (particionado) {
+            // Cada mês em transações curtas próprias, registrado depois como um lote
+            for (YearMonth mes : particoesCuidados.listarExpiradas(execucao.getDataLimite())) {
+                particoesCuidados.arquivar(mes).ifPresent(quantidade -> transacao.executeWithoutResult(status ->
+                        arquivamentoRepository.bloquear(id).orElseThrow().registrarLote(quantidade, null)));
+            }
+        }
+
+        Integer movidos;
+        do {
+            movidos = transacao.execute(status -> arquivarLote(id));
+            if (movidos != null && movidos == tamanhoLote && pausaMs > 0) {
+                Thread.sleep(pausaMs);
+            }
+        } while (movidos != null && movidos == tamanhoLote);
+
+        execucao = transacao.execute(status -> {
+            ArquivamentoCuidados concluida = arquivamentoRepository.findById(id).orElseThrow();
+            concluida.concluir();
+            return concluida;
+        });
+        logger.info("🗄️ Arquivamento {} concluído: {} cuidados anteriores a {} movidos em {} lotes",
+                id, execucao.getArquivados(), execucao.getDataLimite(), execucao.getLotes());
+        return execucao;
+    }
+
+    /**
+     * Lista as execuções mais recentes
+     */
+    public List<ArquivamentoCuidados> listarExecucoes() {
+        return arquivamentoRepository.findTop20ByOrderByIdDesc();
+    }
+
+    /**
+     * Move um lote para o arquivo e grava o progresso na mesma transação
+     *
+     * @return quantidade de cuidados movidos
+     */
+    private int arquivarLote(Long execucaoId) {
+        ArquivamentoCuidados execucao = arquivamentoRepository.bloquear(execucaoId).orElseThrow();
+        List<Long> ids = cuidadoRepository.bloquearAnterioresA(execucao.getDataLimite(), tamanhoLote);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int copiados = cuidadoArquivoRepository.copiarDeCuidados(ids);
+        int removidos = cuidadoRepository.removerPorIds(ids);
+        if (copiados != ids.size() || removidos != ids.size()) {
+            throw new IllegalStateException("Lote de arquivamento inconsistente: %d bloqueados, %d copiados, %d removidos"
+                    .formatted(ids.size(), copiados, removidos));
+        }
+        execucao.registrarLote(ids.size(), ids.get(ids.size() - 1));
+        buscaService.removerCuidados(ids);
+        logger.debug("Arquivamento {}: lote {} com {} cuidados", execucaoId, execucao.getLotes(), ids.size());
+        return ids.size();
+    }
+}
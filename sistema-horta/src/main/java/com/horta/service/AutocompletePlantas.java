@@ -0,0 +1,187 @@
+package com.horta.service;
+
+import com.horta.repository.PlantaRepository;
+import com.horta.repository.projecao.PlantaNome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice em memória dos nomes de plantas para o autocomplete.
+ * Cada palavra do nome (e o restante do nome a partir dela) é guardada normalizada,
+ * sem acentos e em minúsculas, em um mapa ordenado; um prefixo vira uma faixa do
+ * mapa, lida em O(log n + limite) sem acesso ao banco. O índice é carregado na
+ * inicialização e atualizado após o commit de cada escrita de planta.
+ * <p>
+ * Com várias instâncias ({@code horta.cluster.habilitado=true}), cada índice só recebe as
+ * escritas da própria instância: o índice é reconstruído periodicamente a partir do banco
+ * ({@code horta.autocomplete.recarga-ms}) e trocado de uma vez, sem interromper as sugestões.
+ */
+@Component
+public class AutocompletePlantas {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompletePlantas.class);
+
+    // Separa o termo do ID na chave, ordenando antes de qualquer caractere do nome
+    private static final char SEPARADOR = '\u0000';
+
+    // Chave do termo normalizado (+ separador + ID) -> planta
+    private volatile ConcurrentSkipListMap<String, PlantaNome> entradas = new ConcurrentSkipListMap<>();
+
+    // Chaves de cada planta, para remover as entradas antigas ao renomear ou remover
+    private volatile Map<Long, List<String>> chavesPorPlanta = new ConcurrentHashMap<>();
+
+    @Autowired
+    private PlantaRepository plantaRepository;
+
+    @Value("${horta.cluster.habilitado:false}")
+    private boolean cluster;
+
+    /**
+     * Carrega os nomes de todas as plantas
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        logger.info("Autocomplete de plantas carregado: {} plantas", reconstruir());
+    }
+
+    /**
+     * Com várias instâncias, reconstrói o índice para trazer as escritas feitas nas demais
+     */
+    @Scheduled(fixedDelayString = "${horta.autocomplete.recarga-ms:60000}",
+            initialDelayString = "${horta.autocomplete.recarga-ms:60000}")
+    public void recarregarAgendado() {
+        if (!cluster) {
+            return;
+        }
+        try {
+            logger.debug("Autocomplete de plantas recarregado: {} plantas", reconstruir());
+        } catch (Exception e) {
+            logger.error("Erro ao recarregar o autocomplete de plantas: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sugere plantas cujo nome, ou alguma palavra do nome, começa pelo prefixo
+     */
+    public List<PlantaNome> sugerir(String prefixo, int limite) {
+        String inicio = normalizar(prefixo);
+        if (inicio.isEmpty()) {
+            return List.of();
+        }
+
+        // Uma planta pode casar por mais de uma palavra; mantém a primeira ocorrência
+        Map<Long, PlantaNome> sugestoes = new LinkedHashMap<>();
+        for (PlantaNome planta : entradas.subMap(inicio, inicio + Character.MAX_VALUE).values()) {
+            sugestoes.putIfAbsent(planta.id(), planta);
+            if (sugestoes.size() == limite) {
+                break;
+            }
+        }
+        return new ArrayList<>(sugestoes.values());
+    }
+
+    /**
+     * Inclui ou renomeia a planta (após o commit)
+     */
+    public void registrar(Long id, String nome) {
+        aposCommit(() -> {
+            synchronized (this) {
+                excluir(id);
+                incluir(new PlantaNome(id, nome));
+            }
+        });
+    }
+
+    /**
+     * Remove a planta (após o commit)
+     */
+    public void remover(Long id) {
+        aposCommit(() -> {
+            synchronized (this) {
+                excluir(id);
+            }
+        });
+    }
+
+    /**
+     * Monta o índice em novos mapas e os publica de uma vez; as escritas locais feitas
+     * durante a leitura do banco chegam na próxima recarga
+     */
+    private int reconstruir() {
+        List<PlantaNome> plantas = plantaRepository.findAllNomes();
+        ConcurrentSkipListMap<String, PlantaNome> novasEntradas = new ConcurrentSkipListMap<>();
+        Map<Long, List<String>> novasChaves = new ConcurrentHashMap<>();
+        plantas.forEach(planta -> incluir(planta, novasEntradas, novasChaves));
+        synchronized (this) {
+            entradas = novasEntradas;
+            chavesPorPlanta = novasChaves;
+        }
+        return plantas.size();
+    }
+
+    private void incluir(PlantaNome planta) {
+        incluir(planta, entradas, chavesPorPlanta);
+    }
+
+    private static void incluir(PlantaNome planta, Map<String, PlantaNome> entradas,
+                                Map<Long, List<String>> chavesPorPlanta) {
+        String nome = normalizar(planta.nome());
+        List<String> chaves = new ArrayList<>();
+        for (int i = 0; i < nome.length(); i++) {
+            if (i == 0 || (nome.charAt(i - 1) == ' ' && nome.charAt(i) != ' ')) {
+                String chave = nome.substring(i) + SEPARADOR + planta.id();
+                entradas.put(chave, planta);
+                chaves.add(chave);
+            }
+        }
+        chavesPorPlanta.put(planta.id(), chaves);
+    }
+
+    private void excluir(Long id) {
+        List<String> chaves = chavesPorPlanta.remove(id);
+        if (chaves != null) {
+            chaves.forEach(entradas::remove);
+        }
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        return Normalizer.normalize(texto, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .trim()
+                .replaceAll("\\s+", " ");
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.horta.service;
+
+import com.horta.dto.ResultadoBuscaDTO;
+import com.horta.model.Cuidado;
+import com.horta.model.Planta;
+import com.horta.repository.CuidadoRepository;
+import com.horta.repository.PlantaRepository;
+import com.horta.repository.projecao.PlantaIdentificacao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service da busca textual sobre plantas e cuidados (GET /busca).
+ * As escritas de plantas e cuidados são repassadas ao índice somente após o commit,
+ * para que uma transação desfeita não deixe documentos no índice.
+ */
+@Service
+public class BuscaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuscaService.class);
+
+    // Quantidade de resultados quando o limite não é informado
+    public static final int LIMITE_PADRAO = 20;
+
+    // Quantidade máxima de resultados por busca
+    public static final int LIMITE_MAXIMO = 100;
+
+    // Intervalo (em linhas) para limpar o contexto de persistência durante a reindexação
+    private static final int LOTE_LIMPEZA_REINDEXACAO = Integer.parseInt(CuidadoRepository.TAMANHO_LOTE_STREAMING);
+
+    @Autowired
+    private IndiceBusca indice;
+
+    @Autowired
+    private PlantaRepository plantaRepository;
+
+    @Autowired
+    private CuidadoRepository cuidadoRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Busca plantas e cuidados pelo termo, ordenados por relevância
+     */
+    @Transactional(readOnly = true)
+    public List<ResultadoBuscaDTO> buscar(String termo, Integer limite) {
+        if (termo == null || termo.isBlank()) {
+            throw new IllegalArgumentException("Termo de busca é obrigatório");
+        }
+        if (limite != null && limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser positivo");
+        }
+        int limiteNormalizado = limite == null ? LIMITE_PADRAO : Math.min(limite, LIMITE_MAXIMO);
+
+        List<ResultadoBuscaDTO> resultados = indice.buscar(termo.trim(), limiteNormalizado);
+        if (resultados.isEmpty()) {
+            return resultados;
+        }
+
+        // Os nomes são resolvidos só para as plantas encontradas, sempre com o valor atual
+        List<Long> plantaIds = resultados.stream().map(ResultadoBuscaDTO::getPlantaId).distinct().toList();
+        Map<Long, String> nomes = plantaRepository.findIdentificacoesByIdIn(plantaIds).stream()
+                .collect(Collectors.toMap(PlantaIdentificacao::id, PlantaIdentificacao::nome));
+        resultados.forEach(resultado -> resultado.setPlantaNome(nomes.get(resultado.getPlantaId())));
+        return resultados;
+    }
+
+    /**
+     * Inclui ou atualiza a planta no índice
+     */
+    public void indexarPlanta(Long id, String nome, String descricao) {
+        aposCommit(() -> indice.indexarPlanta(id, nome, descricao));
+    }
+
+    /**
+     * Inclui ou atualiza o cuidado no índice
+     */
+    public void indexarCuidado(Long id, Long plantaId, String observacoes) {
+        aposCommit(() -> indice.indexarCuidado(id, plantaId, observacoes));
+    }
+
+    /**
+     * Remove a planta e seus cuidados do índice
+     */
+    public void removerPlanta(Long id) {
+        aposCommit(() -> indice.removerPlanta(id));
+    }
+
+    /**
+     * Remove o cuidado do índice
+     */
+    public void removerCuidado(Long id) {
+        aposCommit(() -> indice.removerCuidado(id));
+    }
+
+    /**
+     * Remove um lote de cuidados do índice, com um único registro após o commit
+     */
+    public void removerCuidados(Collection<Long> ids) {
+        aposCommit(() -> ids.forEach(indice::removerCuidado));
+    }
+
+    /**
+     * Indica se o índice ativo precisa receber as alterações (falso com a busca no próprio banco)
+     */
+    public boolean requerIndexacao() {
+        return indice.requerIndexacao();
+    }
+
+    /**
+     * Reconstrói o índice a partir das tabelas de plantas e cuidados, percorridas com cursor
+     * JDBC e limpando o contexto de persistência a cada lote
+     *
+     * @return quantidade de documentos indexados
+     */
+    @Transactional(readOnly = true)
+    public long reindexar() {
+        if (!indice.requerIndexacao()) {
+            return 0;
+        }
+        indice.limpar();
+
+        long total = 0;
+        try (Stream<Planta> plantas = plantaRepository.streamTodasOrdenadasPorId()) {
+            Iterator<Planta> iterator = plantas.iterator();
+            while (iterator.hasNext()) {
+                Planta planta = iterator.next();
+                indice.indexarPlanta(planta.getId(), planta.getNome(), planta.getDescricao());
+                if (++total % LOTE_LIMPEZA_REINDEXACAO == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        entityManager.clear();
+
+        try (Stream<Cuidado> cuidados = cuidadoRepository.streamTodosOrdenadosPorId()) {
+            Iterator<Cuidado> iterator = cuidados.iterator();
+            while (iterator.hasNext()) {
+                Cuidado cuidado = iterator.next();
+                indice.indexarCuidado(cuidado.getId(), cuidado.getPlanta().getId(), cuidado.getObservacoes());
+                if (++total % LOTE_LIMPEZA_REINDEXACAO == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+
+        logger.info("Índice de busca reconstruído: {} documentos", total);
+        return total;
+    }
+
+    /**
+     * O índice embutido começa vazio a cada inicialização
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void indexarAoIniciar() {
+        reindexar();
+    }
+
+    /**
+     * Executa a alteração do índice depois do commit da transação corrente (ou já,
+     * se não houver transação). Uma falha no índice não desfaz a escrita: o documento
+     * fica desatualizado até a próxima reindexação.
+     */
+    private void aposCommit(Runnable alteracao) {
+        if (!indice.requerIndexacao()) {
+            return;
+        }
+        Runnable alteracaoSegura = () -> {
+            try {
+                alteracao.run();
+            } catch (RuntimeException e) {
+                logger.error("Erro ao atualizar o índice de busca: {}", e.getMessage(), e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    alteracaoSegura.run();
+                }
+            });
+        } else {
+            alteracaoSegura.run();
+        }
+    }
+}
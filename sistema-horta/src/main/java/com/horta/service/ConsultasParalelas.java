@@ -0,0 +1,199 @@
+package com.horta.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Composição de consultas independentes executadas em paralelo (dashboard, alertas e relatórios).
+ * O pool é limitado para não esgotar o pool de conexões do banco; com a fila cheia,
+ * a consulta roda na própria thread da requisição.
+ * Cada página abre uma {@link Composicao}, dispara as consultas e depois aguarda os
+ * resultados com um prazo único (horta.consultas.timeout-ms); uma consulta que falha ou
+ * estoura o prazo devolve o valor padrão informado e marca a composição como parcial.
+ * Cada consulta roda em uma transação somente leitura cujo timeout é o restante do prazo,
+ * aplicado pelo Hibernate a cada comando como Statement.setQueryTimeout (em segundos, arredondado
+ * para cima): o banco cancela a consulta que estourou o prazo, e a thread dela é interrompida.
+ */
+@Component
+public class ConsultasParalelas {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsultasParalelas.class);
+
+    @Value("${horta.consultas.timeout-ms:2000}")
+    private long timeoutMs;
+
+    @Value("${horta.consultas.threads:4}")
+    private int threads;
+
+    @Value("${horta.consultas.threads-max:8}")
+    private int threadsMax;
+
+    @Value("${horta.consultas.fila:100}")
+    private int fila;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void inicializar() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threadsMax);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("consultas-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void finalizar() {
+        executor.shutdown();
+    }
+
+    /**
+     * Inicia uma nova composição; o prazo começa a contar a partir daqui
+     */
+    public Composicao iniciar() {
+        return new Composicao(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+    }
+
+    /**
+     * Conjunto de consultas de uma mesma página, com prazo compartilhado
+     */
+    public class Composicao {
+
+        private final long prazoNanos;
+        private final List<String> falhas = Collections.synchronizedList(new ArrayList<>());
+
+        private Composicao(long prazoNanos) {
+            this.prazoNanos = prazoNanos;
+        }
+
+        /**
+         * Dispara a consulta no executor
+         */
+        public <T> CompletableFuture<T> executar(Supplier<T> consulta) {
+            Consulta<T> futuro = new Consulta<>(consulta, prazoNanos);
+            executor.execute(futuro);
+            return futuro;
+        }
+
+        /**
+         * Aguarda o resultado até o prazo da composição; em caso de falha ou
+         * estouro do prazo devolve o valor padrão
+         */
+        public <T> T aguardar(String descricao, CompletableFuture<T> futuro, T valorPadrao) {
+            long restanteNanos = Math.max(0, prazoNanos - System.nanoTime());
+            try {
+                return futuro.get(restanteNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                futuro.cancel(true);
+                logger.warn("Consulta '{}' excedeu o tempo limite de {} ms", descricao, timeoutMs);
+            } catch (ExecutionException e) {
+                logger.error("Erro na consulta '{}': {}", descricao, e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futuro.cancel(true);
+            }
+            falhas.add(descricao);
+            return valorPadrao;
+        }
+
+        /**
+         * Indica se alguma consulta não retornou a tempo ou falhou
+         */
+        public boolean isParcial() {
+            return !falhas.isEmpty();
+        }
+
+        /**
+         * Descrições das consultas que não retornaram
+         */
+        public List<String> getFalhas() {
+            return new ArrayList<>(falhas);
+        }
+    }
+
+    /**
+     * Consulta em execução no executor. Ao contrário do {@link CompletableFuture} comum, o
+     * cancelamento com interrupção interrompe a thread que executa a consulta; uma consulta
+     * cancelada ainda na fila não chega a rodar.
+     */
+    private final class Consulta<T> extends CompletableFuture<T> implements Runnable {
+
+        private final Supplier<T> consulta;
+        private final long prazoNanos;
+        private Thread thread;
+        private boolean interrompida;
+
+        private Consulta(Supplier<T> consulta, long prazoNanos) {
+            this.consulta = consulta;
+            this.prazoNanos = prazoNanos;
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) {
+                return;
+            }
+            synchronized (this) {
+                thread = Thread.currentThread();
+            }
+            try {
+                complete(executarComTimeout());
+            } catch (Throwable e) {
+                completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    thread = null;
+                    // Não deixa a interrupção do cancelamento para a próxima tarefa da thread
+                    if (interrompida) {
+                        Thread.interrupted();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean interromper) {
+            boolean cancelada = super.cancel(interromper);
+            if (cancelada && interromper) {
+                synchronized (this) {
+                    if (thread != null) {
+                        interrompida = true;
+                        thread.interrupt();
+                    }
+                }
+            }
+            return cancelada;
+        }
+
+        private T executarComTimeout() {
+            long restanteMs = TimeUnit.NANOSECONDS.toMillis(prazoNanos - System.nanoTime());
+            TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+            transacao.setReadOnly(true);
+            transacao.setTimeout((int) Math.max(1, (restanteMs + 999) / 1000));
+            return transacao.execute(status -> consulta.get());
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.horta.service;
+
+import com.horta.model.BloqueioAgendamento;
+import com.horta.repository.BloqueioAgendamentoRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coordenação das tarefas agendadas entre várias instâncias da aplicação, por meio de
+ * bloqueios com prazo (leases) na tabela bloqueios_agendamento, sem serviço externo.
+ * <ul>
+ *   <li>Tarefas periódicas ({@link #executarUmaVez}) rodam em uma única instância por disparo.</li>
+ *   <li>As plantas são divididas em partições ({@code id % horta.cluster.particoes}); cada
+ *       instância mantém o bloqueio de uma parte delas e só avalia os alertas dessas plantas.
+ *       As partições são redistribuídas conforme instâncias entram ou saem (heartbeat "no:*").
+ *       Ao assumir uma partição (nova ou com o próprio bloqueio vencido) a instância publica
+ *       {@link ParticoesAssumidas}, para disparar os alertas vencidos que o dono anterior não
+ *       disparou; o bloqueio guarda até quando os alertas da partição foram disparados.</li>
+ * </ul>
+ * Os prazos são comparados com o relógio de cada instância, que devem estar sincronizados
+ * (NTP) com folga bem menor que {@code horta.cluster.bloqueio-tarefa-minimo-ms}.
+ * Com {@code horta.cluster.habilitado=false} (padrão) a instância executa tudo sozinha.
+ */
+@Component
+public class CoordenacaoCluster {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoordenacaoCluster.class);
+
+    private static final String PREFIXO_INSTANCIA = "no:";
+    private static final String PREFIXO_PARTICAO = "alertas:";
+    private static final String PREFIXO_TAREFA = "tarefa:";
+
+    /**
+     * Partições assumidas por esta instância em uma renovação
+     */
+    public record ParticoesAssumidas(Set<Integer> particoes) {
+    }
+
+    @Value("${horta.cluster.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${horta.cluster.particoes:16}")
+    private int totalParticoes;
+
+    // Identificação da instância nos bloqueios; padrão: pid@host
+    @Value("${horta.cluster.instancia:}")
+    private String instancia;
+
+    @Value("${horta.cluster.particao-ms:60000}")
+    private long particaoMs;
+
+    @Value("${horta.cluster.bloqueio-tarefa-maximo-ms:3600000}")
+    private long tarefaMaximoMs;
+
+    @Value("${horta.cluster.bloqueio-tarefa-minimo-ms:60000}")
+    private long tarefaMinimoMs;
+
+    @Autowired
+    private BloqueioAgendamentoRepository bloqueioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Clock relogio = Clock.systemDefaultZone();
+
+    private TransactionTemplate transacao;
+
+    // Partições bloqueadas por esta instância e o prazo de cada bloqueio
+    private final Map<Integer, LocalDateTime> particoes = new ConcurrentHashMap<>();
+
+    // Partições assumidas cujos alertas vencidos ainda não foram recuperados
+    private final Set<Integer> aRecuperar = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void inicializar() {
+        if (instancia == null || instancia.isBlank()) {
+            instancia = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        transacao = new TransactionTemplate(transactionManager);
+        transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (habilitado) {
+            logger.info("Coordenação entre instâncias habilitada: instância {}, {} partições", instancia, totalParticoes);
+        }
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public String getInstancia() {
+        return instancia;
+    }
+
+    public int getTotalParticoes() {
+        return totalParticoes;
+    }
+
+    /**
+     * Partição da planta
+     */
+    public int particao(Long plantaId) {
+        return (int) Math.floorMod(plantaId, (long) totalParticoes);
+    }
+
+    /**
+     * Indica se esta instância avalia os alertas da planta (sempre, sem coordenação)
+     */
+    public boolean possui(Long plantaId) {
+        if (!habilitado) {
+            return true;
+        }
+        LocalDateTime prazo = particoes.get(particao(plantaId));
+        return prazo != null && agora().isBefore(prazo);
+    }
+
+    /**
+     * Partições com bloqueio válido desta instância
+     */
+    public Set<Integer> getParticoes() {
+        LocalDateTime agora = agora();
+        Set<Integer> validas = new TreeSet<>();
+        particoes.forEach((particao, prazo) -> {
+            if (agora.isBefore(prazo)) {
+                validas.add(particao);
+            }
+        });
+        return validas;
+    }
+
+    /**
+     * Partições desta instância aguardando a recuperação dos alertas vencidos
+     */
+    public Set<Integer> getParticoesARecuperar() {
+        Set<Integer> pendentes = new TreeSet<>(aRecuperar);
+        pendentes.retainAll(getParticoes());
+        return pendentes;
+    }
+
+    /**
+     * Até quando os alertas de cada partição já foram disparados (ausente se nunca)
+     */
+    public Map<Integer, LocalDateTime> getDisparadoAte(Collection<Integer> particoesConsultadas) {
+        Map<Integer, LocalDateTime> disparos = new HashMap<>();
+        List<String> nomes = particoesConsultadas.stream().map(p -> PREFIXO_PARTICAO + p).toList();
+        for (BloqueioAgendamento bloqueio : bloqueioRepository.findAllById(nomes)) {
+            if (bloqueio.getDisparadoAte() != null) {
+                disparos.put(Integer.parseInt(bloqueio.getNome().substring(PREFIXO_PARTICAO.length())),
+                        bloqueio.getDisparadoAte());
+            }
+        }
+        return disparos;
+    }
+
+    /**
+     * Registra que os alertas vencidos das partições foram disparados até agora. Partições
+     * ainda sem recuperação ficam de fora: o registro esconderia os alertas que o dono
+     * anterior não disparou.
+     */
+    public void registrarDisparo(Collection<Integer> particoesDisparadas) {
+        Set<Integer> registradas = new TreeSet<>(particoesDisparadas);
+        registradas.removeAll(aRecuperar);
+        registrar(registradas);
+    }
+
+    /**
+     * Conclui a recuperação dos alertas vencidos das partições e registra o disparo
+     */
+    public void concluirRecuperacao(Collection<Integer> particoesRecuperadas) {
+        registrar(particoesRecuperadas);
+        aRecuperar.removeAll(particoesRecuperadas);
+    }
+
+    /**
+     * Lista os bloqueios de todas as instâncias
+     */
+    public List<BloqueioAgendamento> listarBloqueios() {
+        return bloqueioRepository.findAllByOrderByNomeAsc();
+    }
+
+    /**
+     * Executa a tarefa se nenhuma outra instância a estiver executando ou a tiver executado
+     * há menos de {@code horta.cluster.bloqueio-tarefa-minimo-ms}
+     *
+     * @return false se a tarefa foi pulada por estar bloqueada por outra instância
+     */
+    public boolean executarUmaVez(String tarefa, Runnable acao) {
+        if (!habilitado) {
+            acao.run();
+            return true;
+        }
+        String nome = PREFIXO_TAREFA + tarefa;
+        LocalDateTime inicio = agora();
+        if (!bloquear(nome, inicio, inicio.plusNanos(tarefaMaximoMs * 1_000_000))) {
+            logger.debug("Tarefa '{}' bloqueada por outra instância", tarefa);
+            return false;
+        }
+        try {
+            acao.run();
+        } finally {
+            // Mantém o bloqueio pelo tempo mínimo, para que outra instância com o relógio
+            // um pouco atrasado não execute o mesmo disparo logo em seguida
+            LocalDateTime minimo = inicio.plusNanos(tarefaMinimoMs * 1_000_000);
+            LocalDateTime fim = agora();
+            transacao.executeWithoutResult(status ->
+                    bloqueioRepository.liberar(nome, instancia, fim.isAfter(minimo) ? fim : minimo));
+        }
+        return true;
+    }
+
+    /**
+     * Renova o heartbeat da instância e os bloqueios das suas partições, liberando as que
+     * excedem a cota (partições / instâncias ativas) e assumindo partições livres até ela
+     */
+    @Scheduled(fixedDelayString = "${horta.cluster.renovacao-ms:20000}")
+    public void renovarParticoes() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            LocalDateTime agora = agora();
+            LocalDateTime prazo = agora.plusNanos(particaoMs * 1_000_000);
+            bloquear(PREFIXO_INSTANCIA + instancia, agora, prazo);
+            Long ativas = transacao.execute(status -> {
+                bloqueioRepository.removerVencidos(PREFIXO_INSTANCIA, agora.minusDays(1));
+                return bloqueioRepository.contarAtivos(PREFIXO_INSTANCIA, agora);
+            });
+            int cota = (int) Math.ceil(totalParticoes / (double) Math.max(1, ativas == null ? 1 : ativas));
+
+            List<Integer> atuais = new ArrayList<>(new TreeSet<>(particoes.keySet()));
+            Set<Integer> assumidas = new TreeSet<>();
+            for (int i = 0; i < atuais.size(); i++) {
+                Integer particao = atuais.get(i);
+                if (i >= cota) {
+                    particoes.remove(particao);
+                    aRecuperar.remove(particao);
+                    transacao.executeWithoutResult(status ->
+                            bloqueioRepository.liberar(PREFIXO_PARTICAO + particao, instancia, agora));
+                } else if (bloquear(PREFIXO_PARTICAO + particao, agora, prazo)) {
+                    // Com o bloqueio já vencido, os alertas vencidos no intervalo foram descartados
+                    if (!agora.isBefore(particoes.get(particao))) {
+                        aRecuperar.add(particao);
+                        assumidas.add(particao);
+                    }
+                    particoes.put(particao, prazo);
+                } else {
+                    particoes.remove(particao);
+                    aRecuperar.remove(particao);
+                }
+            }
+
+            // Cada instância procura partições livres a partir de um ponto diferente
+            int inicio = Math.floorMod(instancia.hashCode(), totalParticoes);
+            for (int i = 0; i < totalParticoes && particoes.size() < cota; i++) {
+                int particao = (inicio + i) % totalParticoes;
+                if (!particoes.containsKey(particao) && bloquear(PREFIXO_PARTICAO + particao, agora, prazo)) {
+                    // Marcada antes de valer: nenhum disparo é registrado antes da recuperação
+                    aRecuperar.add(particao);
+                    particoes.put(particao, prazo);
+                    assumidas.add(particao);
+                }
+            }
+            if (!assumidas.isEmpty()) {
+                eventPublisher.publishEvent(new ParticoesAssumidas(assumidas));
+            }
+            if (!assumidas.isEmpty() || atuais.size() > cota) {
+                logger.info("Partições de alertas da instância {}: {} ({} instâncias ativas)",
+                        instancia, new TreeSet<>(particoes.keySet()), ativas);
+            }
+        } catch (Exception e) {
+            logger.error("Erro ao renovar as partições de alertas: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Assume ou renova o bloqueio; cada tentativa usa uma transação própria, já que a
+     * violação de chave na criação invalida a transação no PostgreSQL
+     */
+    private boolean bloquear(String nome, LocalDateTime agora, LocalDateTime ate) {
+        Integer assumidos = transacao.execute(status -> bloqueioRepository.assumir(nome, instancia, agora, ate));
+        if (assumidos != null && assumidos > 0) {
+            return true;
+        }
+        if (bloqueioRepository.existsById(nome)) {
+            return false;
+        }
+        try {
+            transacao.executeWithoutResult(status -> bloqueioRepository.criar(nome, instancia, agora, ate));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private void registrar(Collection<Integer> particoesDisparadas) {
+        if (!habilitado || particoesDisparadas.isEmpty()) {
+            return;
+        }
+        List<String> nomes = particoesDisparadas.stream().map(p -> PREFIXO_PARTICAO + p).toList();
+        LocalDateTime agora = agora();
+        transacao.executeWithoutResult(status -> bloqueioRepository.registrarDisparo(nomes, instancia, agora));
+    }
+
+    private LocalDateTime agora() {
+        return LocalDateTime.now(relogio);
+    }
+}
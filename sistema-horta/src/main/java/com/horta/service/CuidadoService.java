@@ -1,19 +1,43 @@
 package com.horta.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.horta.dto.CuidadoDTO;
+import com.horta.dto.PaginaDTO;
+import com.horta.dto.ResultadoLoteDTO;
 import com.horta.model.Cuidado;
+import com.horta.model.EventoOutbox;
 import com.horta.model.Planta;
 import com.horta.repository.CuidadoRepository;
 import com.horta.repository.PlantaRepository;
+import com.horta.repository.projecao.CuidadoResumo;
+import com.horta.repository.projecao.EstatisticaMes;
+import com.horta.repository.projecao.EstatisticaPlanta;
+import com.horta.repository.projecao.EstatisticaTipo;
+import com.horta.repository.projecao.PlantaIdentificacao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service para operações de negócio com cuidados
@@ -28,30 +52,143 @@ public class CuidadoService {
     @Autowired
     private PlantaRepository plantaRepository;
 
+    @Autowired
+    private PlantaCache plantaCache;
+
+    @Autowired
+    private EstatisticaService estatisticaService;
+
+    @Autowired
+    private BuscaService buscaService;
+
+    @Autowired
+    private AgendaAlertas agendaAlertas;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Quantidade máxima de cuidados aceitos em um único lote
+    public static final int LIMITE_LOTE = 1000;
+
+    // Quantidade de cuidados gravados entre cada flush/clear no registro em lote (igual ao hibernate.jdbc.batch_size)
+    private static final int TAMANHO_LOTE_INSERCAO = 50;
+
+    // Intervalo (em linhas) para limpar as plantas acumuladas no contexto durante a exportação
+    private static final int LOTE_LIMPEZA_EXPORTACAO = Integer.parseInt(CuidadoRepository.TAMANHO_LOTE_STREAMING);
+
     /**
      * Registra um novo cuidado
      */
     public CuidadoDTO registrarCuidado(CuidadoDTO cuidadoDTO) {
         validarCuidado(cuidadoDTO);
-        
-        Planta planta = plantaRepository.findById(cuidadoDTO.getPlantaId())
-                .orElseThrow(() -> new RuntimeException("Planta não encontrada com ID: " + cuidadoDTO.getPlantaId()));
+        Long plantaId = cuidadoDTO.getPlantaId();
 
-        Cuidado cuidado = convertToEntity(cuidadoDTO, planta);
+        // Busca só a identificação da planta: verifica a existência sem carregar a entidade
+        PlantaIdentificacao planta = plantaRepository.findIdentificacaoById(plantaId)
+                .orElseThrow(() -> new RuntimeException("Planta não encontrada com ID: " + plantaId));
+
+        Cuidado cuidado = convertToEntity(cuidadoDTO, plantaRepository.getReferenceById(plantaId));
         Cuidado cuidadoSalvo = cuidadoRepository.save(cuidado);
-        
-        return convertToDTO(cuidadoSalvo);
+        registrarUltimoCuidadoNaPlanta(plantaId, cuidadoSalvo.getTipo(), cuidadoSalvo.getData());
+        estatisticaService.registrarCuidado(plantaId, cuidadoSalvo.getTipo(), cuidadoSalvo.getData());
+        buscaService.indexarCuidado(cuidadoSalvo.getId(), plantaId, cuidadoSalvo.getObservacoes());
+        if (Planta.isCuidadoResumido(cuidadoSalvo.getTipo())) {
+            agendaAlertas.reagendar(plantaId);
+        }
+        plantaCache.evictPlanta(plantaId, planta.tipo(), planta.regiao());
+
+        CuidadoDTO cuidadoSalvoDTO = convertToDTO(cuidadoSalvo, planta.nome());
+        outboxService.registrar(EventoOutbox.TipoEvento.CUIDADO_REGISTRADO, cuidadoSalvo.getId(), cuidadoSalvoDTO);
+        return cuidadoSalvoDTO;
+    }
+
+    /**
+     * Registra vários cuidados de uma vez (ex.: leituras dos sensores de campo).
+     * Todo o lote é rejeitado se algum cuidado for inválido ou referenciar planta inexistente.
+     */
+    public List<CuidadoDTO> registrarCuidadosEmLote(List<CuidadoDTO> cuidadosDTO) {
+        cuidadosDTO.forEach(this::validarCuidado);
+
+        Map<Long, Planta> plantas = carregarPlantas(cuidadosDTO);
+        for (CuidadoDTO cuidadoDTO : cuidadosDTO) {
+            if (!plantas.containsKey(cuidadoDTO.getPlantaId())) {
+                throw new RuntimeException("Planta não encontrada com ID: " + cuidadoDTO.getPlantaId());
+            }
+        }
+        return gravarEmLote(cuidadosDTO, plantas);
+    }
+
+    /**
+     * Registra um lote de cuidados (sincronização das equipes de campo), validando
+     * cada item individualmente: os itens válidos são gravados e os inválidos são
+     * devolvidos com o motivo da rejeição, na mesma posição em que foram enviados.
+     */
+    public ResultadoLoteDTO registrarLote(List<CuidadoDTO> cuidadosDTO) {
+        if (cuidadosDTO == null || cuidadosDTO.isEmpty()) {
+            throw new IllegalArgumentException("O lote deve conter ao menos um cuidado");
+        }
+        if (cuidadosDTO.size() > LIMITE_LOTE) {
+            throw new IllegalArgumentException("O lote deve conter no máximo " + LIMITE_LOTE + " cuidados");
+        }
+
+        ResultadoLoteDTO.ItemResultado[] resultados = new ResultadoLoteDTO.ItemResultado[cuidadosDTO.size()];
+        List<Integer> indicesValidos = new ArrayList<>();
+        for (int i = 0; i < cuidadosDTO.size(); i++) {
+            try {
+                if (cuidadosDTO.get(i) == null) {
+                    throw new IllegalArgumentException("Cuidado não informado");
+                }
+                validarCuidado(cuidadosDTO.get(i));
+                indicesValidos.add(i);
+            } catch (IllegalArgumentException e) {
+                resultados[i] = ResultadoLoteDTO.ItemResultado.rejeitado(i, e.getMessage());
+            }
+        }
+
+        Map<Long, Planta> plantas = carregarPlantas(indicesValidos.stream().map(cuidadosDTO::get).toList());
+        List<Integer> indicesParaGravar = new ArrayList<>(indicesValidos.size());
+        for (Integer indice : indicesValidos) {
+            Long plantaId = cuidadosDTO.get(indice).getPlantaId();
+            if (plantas.containsKey(plantaId)) {
+                indicesParaGravar.add(indice);
+            } else {
+                resultados[indice] = ResultadoLoteDTO.ItemResultado.rejeitado(indice, "Planta não encontrada com ID: " + plantaId);
+            }
+        }
+
+        List<CuidadoDTO> cuidadosSalvos = gravarEmLote(indicesParaGravar.stream().map(cuidadosDTO::get).toList(), plantas);
+        for (int i = 0; i < indicesParaGravar.size(); i++) {
+            int indice = indicesParaGravar.get(i);
+            resultados[indice] = ResultadoLoteDTO.ItemResultado.registrado(indice, cuidadosSalvos.get(i));
+        }
+        return new ResultadoLoteDTO(Arrays.asList(resultados));
     }
 
     /**
      * Atualiza um cuidado existente
      */
     public CuidadoDTO atualizarCuidado(Long id, CuidadoDTO cuidadoDTO) {
-        Cuidado cuidadoExistente = cuidadoRepository.findById(id)
+        return atualizarCuidado(id, null, cuidadoDTO);
+    }
+
+    /**
+     * Atualiza um cuidado existente, localizado pelo ID e pela data atual do cuidado, se informada
+     */
+    public CuidadoDTO atualizarCuidado(Long id, LocalDate data, CuidadoDTO cuidadoDTO) {
+        Cuidado cuidadoExistente = buscarCuidado(id, data)
                 .orElseThrow(() -> new RuntimeException("Cuidado não encontrado com ID: " + id));
 
         validarCuidado(cuidadoDTO);
 
+        Cuidado.TipoCuidado tipoAnterior = cuidadoExistente.getTipo();
+        LocalDate dataAnterior = cuidadoExistente.getData();
+
         // Atualiza os campos
         cuidadoExistente.setData(cuidadoDTO.getData());
         cuidadoExistente.setTipo(cuidadoDTO.getTipo());
@@ -59,7 +196,21 @@ public class CuidadoService {
         cuidadoExistente.setUsuarioResponsavel(cuidadoDTO.getUsuarioResponsavel());
 
         Cuidado cuidadoAtualizado = cuidadoRepository.save(cuidadoExistente);
-        return convertToDTO(cuidadoAtualizado);
+
+        Planta planta = cuidadoAtualizado.getPlanta();
+        recalcularUltimoCuidadoSeNecessario(planta, tipoAnterior, dataAnterior);
+        planta.registrarUltimoCuidado(cuidadoAtualizado.getTipo(), cuidadoAtualizado.getData());
+        estatisticaService.alterarCuidado(planta.getId(), tipoAnterior, dataAnterior,
+                cuidadoAtualizado.getTipo(), cuidadoAtualizado.getData());
+        buscaService.indexarCuidado(id, planta.getId(), cuidadoAtualizado.getObservacoes());
+        if (Planta.isCuidadoResumido(tipoAnterior) || Planta.isCuidadoResumido(cuidadoAtualizado.getTipo())) {
+            agendaAlertas.reagendar(planta.getId());
+        }
+        plantaCache.evictPlanta(planta.getId(), planta.getTipo(), planta.getRegiao());
+
+        CuidadoDTO cuidadoAtualizadoDTO = convertToDTO(cuidadoAtualizado);
+        outboxService.registrar(EventoOutbox.TipoEvento.CUIDADO_ATUALIZADO, id, cuidadoAtualizadoDTO);
+        return cuidadoAtualizadoDTO;
     }
 
     /**
@@ -67,7 +218,15 @@ public class CuidadoService {
      */
     @Transactional(readOnly = true)
     public Optional<CuidadoDTO> buscarPorId(Long id) {
-        return cuidadoRepository.findById(id)
+        return buscarPorId(id, null);
+    }
+
+    /**
+     * Busca cuidado por ID e data, se informada
+     */
+    @Transactional(readOnly = true)
+    public Optional<CuidadoDTO> buscarPorId(Long id, LocalDate data) {
+        return buscarCuidado(id, data)
                 .map(this::convertToDTO);
     }
 
@@ -76,9 +235,69 @@ public class CuidadoService {
      */
     @Transactional(readOnly = true)
     public List<CuidadoDTO> listarTodos() {
-        return cuidadoRepository.findAll().stream()
+        return cuidadoRepository.findAllResumos().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Lista cuidados paginados por cursor, ordenados por (data, id)
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<CuidadoDTO> listarPagina(String cursor, Integer limite) {
+        int limiteNormalizado = CursorPaginacao.normalizarLimite(limite);
+        Pageable consulta = CursorPaginacao.consultaComSobra(limiteNormalizado);
+
+        List<CuidadoResumo> resultados;
+        if (cursor == null || cursor.isBlank()) {
+            resultados = cuidadoRepository.findPrimeiraPaginaResumos(consulta);
+        } else {
+            CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+            resultados = cuidadoRepository.findPaginaAposResumos(posicao.data(), posicao.id(), consulta);
+        }
+
+        List<CuidadoDTO> itens = resultados.stream()
+                .limit(limiteNormalizado)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+
+        String proximoCursor = null;
+        if (resultados.size() > limiteNormalizado) {
+            CuidadoDTO ultimo = itens.get(itens.size() - 1);
+            proximoCursor = new CursorPaginacao(ultimo.getData(), ultimo.getId()).codificar();
+        }
+        return new PaginaDTO<>(itens, limiteNormalizado, proximoCursor);
+    }
+
+    /**
+     * Exporta todo o histórico de cuidados em NDJSON (um objeto JSON por linha).
+     * Os registros são lidos por cursor e desanexados do contexto de persistência
+     * à medida que são escritos, mantendo o uso de memória constante.
+     *
+     * @return quantidade de cuidados exportados
+     */
+    @Transactional(readOnly = true)
+    public long exportarNdjson(OutputStream saida) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(CuidadoDTO.class);
+        long total = 0;
+
+        try (Stream<Cuidado> cuidados = cuidadoRepository.streamTodosOrdenadosPorId()) {
+            Iterator<Cuidado> iterator = cuidados.iterator();
+            while (iterator.hasNext()) {
+                Cuidado cuidado = iterator.next();
+                saida.write(writer.writeValueAsBytes(convertToDTO(cuidado)));
+                saida.write('\n');
+                entityManager.detach(cuidado);
+
+                if (++total % LOTE_LIMPEZA_EXPORTACAO == 0) {
+                    // Libera também as plantas trazidas pelo JOIN FETCH
+                    entityManager.clear();
+                    saida.flush();
+                }
+            }
+        }
+        saida.flush();
+        return total;
     }
 
     /**
@@ -86,7 +305,7 @@ public class CuidadoService {
      */
     @Transactional(readOnly = true)
     public List<CuidadoDTO> buscarCuidadosDaPlanta(Long plantaId) {
-        return cuidadoRepository.findByPlantaIdOrderByDataDesc(plantaId).stream()
+        return cuidadoRepository.findResumosByPlantaId(plantaId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -96,7 +315,7 @@ public class CuidadoService {
      */
     @Transactional(readOnly = true)
     public List<CuidadoDTO> buscarPorTipo(Cuidado.TipoCuidado tipo) {
-        return cuidadoRepository.findByTipo(tipo).stream()
+        return cuidadoRepository.findResumosByTipo(tipo).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -106,7 +325,7 @@ public class CuidadoService {
      */
     @Transactional(readOnly = true)
     public List<CuidadoDTO> buscarCuidadosNoPeriodo(LocalDate dataInicio, LocalDate dataFim) {
-        return cuidadoRepository.findByDataBetweenOrderByDataDesc(dataInicio, dataFim).stream()
+        return cuidadoRepository.findResumosByDataBetween(dataInicio, dataFim).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -117,17 +336,36 @@ public class CuidadoService {
     @Transactional(readOnly = true)
     public List<CuidadoDTO> buscarCuidadosRecentes() {
         LocalDate dataLimite = LocalDate.now().minusDays(7);
-        return cuidadoRepository.findCuidadosRecentes(dataLimite).stream()
+        return cuidadoRepository.findResumosRecentes(dataLimite).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lista os cuidados recentes mais novos, limitados no próprio banco
+     */
+    @Transactional(readOnly = true)
+    public List<CuidadoDTO> listarUltimosCuidadosRecentes(int limite) {
+        LocalDate dataLimite = LocalDate.now().minusDays(7);
+        return cuidadoRepository.findUltimosResumosRecentes(dataLimite, PageRequest.of(0, limite)).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Conta os cuidados recentes (últimos 7 dias)
+     */
+    @Transactional(readOnly = true)
+    public long contarCuidadosRecentes() {
+        return cuidadoRepository.countByDataGreaterThanEqual(LocalDate.now().minusDays(7));
+    }
+
     /**
      * Busca cuidados de hoje
      */
     @Transactional(readOnly = true)
     public List<CuidadoDTO> buscarCuidadosDeHoje() {
-        return cuidadoRepository.findCuidadosDeHoje(LocalDate.now()).stream()
+        return cuidadoRepository.findResumosDeHoje(LocalDate.now()).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -137,11 +375,14 @@ public class CuidadoService {
      */
     @Transactional(readOnly = true)
     public Optional<CuidadoDTO> buscarUltimoCuidadoPorTipo(Long plantaId, Cuidado.TipoCuidado tipo) {
-        Planta planta = plantaRepository.findById(plantaId)
-                .orElseThrow(() -> new RuntimeException("Planta não encontrada com ID: " + plantaId));
+        Optional<CuidadoDTO> ultimoCuidado = cuidadoRepository.findUltimoResumoPorTipo(plantaId, tipo)
+                .map(this::convertToDTO);
 
-        Cuidado ultimoCuidado = cuidadoRepository.findUltimoCuidadoPorTipo(planta, tipo);
-        return ultimoCuidado != null ? Optional.of(convertToDTO(ultimoCuidado)) : Optional.empty();
+        // Só é preciso verificar a existência da planta quando não há cuidado
+        if (ultimoCuidado.isEmpty() && !plantaRepository.existsById(plantaId)) {
+            throw new RuntimeException("Planta não encontrada com ID: " + plantaId);
+        }
+        return ultimoCuidado;
     }
 
     /**
@@ -149,7 +390,7 @@ public class CuidadoService {
      */
     @Transactional(readOnly = true)
     public List<CuidadoDTO> buscarCuidadosPorUsuario(String usuarioResponsavel) {
-        return cuidadoRepository.findByUsuarioResponsavelOrderByDataDesc(usuarioResponsavel).stream()
+        return cuidadoRepository.findResumosByUsuarioResponsavel(usuarioResponsavel).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -158,26 +399,51 @@ public class CuidadoService {
      * Remove um cuidado
      */
     public void removerCuidado(Long id) {
-        if (!cuidadoRepository.existsById(id)) {
-            throw new RuntimeException("Cuidado não encontrado com ID: " + id);
+        removerCuidado(id, null);
+    }
+
+    /**
+     * Remove um cuidado, localizado pelo ID e pela data do cuidado, se informada
+     */
+    public void removerCuidado(Long id, LocalDate data) {
+        Cuidado cuidado = buscarCuidado(id, data)
+                .orElseThrow(() -> new RuntimeException("Cuidado não encontrado com ID: " + id));
+
+        cuidadoRepository.delete(cuidado);
+        recalcularUltimoCuidadoSeNecessario(cuidado.getPlanta(), cuidado.getTipo(), cuidado.getData());
+
+        Planta planta = cuidado.getPlanta();
+        estatisticaService.removerCuidado(planta.getId(), cuidado.getTipo(), cuidado.getData());
+        buscaService.removerCuidado(id);
+        if (Planta.isCuidadoResumido(cuidado.getTipo())) {
+            agendaAlertas.reagendar(planta.getId());
         }
-        cuidadoRepository.deleteById(id);
+        plantaCache.evictPlanta(planta.getId(), planta.getTipo(), planta.getRegiao());
+        outboxService.registrar(EventoOutbox.TipoEvento.CUIDADO_REMOVIDO, id, convertToDTO(cuidado));
     }
 
     /**
      * Obtém estatísticas de cuidados por tipo
      */
     @Transactional(readOnly = true)
-    public List<Object[]> obterEstatisticasPorTipo() {
-        return cuidadoRepository.countCuidadosPorTipo();
+    public List<EstatisticaTipo> obterEstatisticasPorTipo() {
+        return estatisticaService.obterCuidadosPorTipo();
     }
 
     /**
      * Obtém estatísticas de cuidados por planta
      */
     @Transactional(readOnly = true)
-    public List<Object[]> obterEstatisticasPorPlanta() {
-        return cuidadoRepository.countCuidadosPorPlanta();
+    public List<EstatisticaPlanta> obterEstatisticasPorPlanta(Integer top) {
+        return estatisticaService.obterCuidadosPorPlanta(top);
+    }
+
+    /**
+     * Obtém estatísticas de cuidados por ano e mês
+     */
+    @Transactional(readOnly = true)
+    public List<EstatisticaMes> obterEstatisticasPorMes() {
+        return estatisticaService.obterCuidadosPorMes();
     }
 
     /**
@@ -185,10 +451,14 @@ public class CuidadoService {
      */
     @Transactional(readOnly = true)
     public boolean existeCuidadoNaData(Long plantaId, Cuidado.TipoCuidado tipo, LocalDate data) {
-        Planta planta = plantaRepository.findById(plantaId)
-                .orElseThrow(() -> new RuntimeException("Planta não encontrada com ID: " + plantaId));
-        
-        return cuidadoRepository.existsByPlantaAndTipoAndData(planta, tipo, data);
+        if (cuidadoRepository.existsByPlantaIdAndTipoAndData(plantaId, tipo, data)) {
+            return true;
+        }
+        // Só é preciso verificar a existência da planta quando não há cuidado
+        if (!plantaRepository.existsById(plantaId)) {
+            throw new RuntimeException("Planta não encontrada com ID: " + plantaId);
+        }
+        return false;
     }
 
     /**
@@ -235,6 +505,91 @@ public class CuidadoService {
 
     // Métodos auxiliares
 
+    /**
+     * Registra o cuidado no resumo da planta com um UPDATE direto no banco, sem carregar a entidade
+     */
+    private void registrarUltimoCuidadoNaPlanta(Long plantaId, Cuidado.TipoCuidado tipo, LocalDate data) {
+        if (tipo == Cuidado.TipoCuidado.REGA) {
+            plantaRepository.registrarUltimaRega(plantaId, data);
+        } else if (tipo == Cuidado.TipoCuidado.PODA) {
+            plantaRepository.registrarUltimaPoda(plantaId, data);
+        }
+    }
+
+    /**
+     * Carrega em uma única consulta as plantas referenciadas pelos cuidados
+     */
+    private Map<Long, Planta> carregarPlantas(List<CuidadoDTO> cuidadosDTO) {
+        Set<Long> plantaIds = cuidadosDTO.stream()
+                .map(CuidadoDTO::getPlantaId)
+                .collect(Collectors.toSet());
+        if (plantaIds.isEmpty()) {
+            return Map.of();
+        }
+        return plantaRepository.findAllById(plantaIds).stream()
+                .collect(Collectors.toMap(Planta::getId, planta -> planta));
+    }
+
+    /**
+     * Grava cuidados já validados em blocos, com flush e clear a cada bloco para
+     * aproveitar o JDBC batch e manter o contexto de persistência pequeno
+     */
+    private List<CuidadoDTO> gravarEmLote(List<CuidadoDTO> cuidadosDTO, Map<Long, Planta> plantas) {
+        // Atualiza o resumo de últimos cuidados uma única vez por planta e tipo
+        Map<Long, Map<Cuidado.TipoCuidado, LocalDate>> ultimosPorPlanta = new HashMap<>();
+        for (CuidadoDTO cuidadoDTO : cuidadosDTO) {
+            ultimosPorPlanta.computeIfAbsent(cuidadoDTO.getPlantaId(), id -> new EnumMap<>(Cuidado.TipoCuidado.class))
+                    .merge(cuidadoDTO.getTipo(), cuidadoDTO.getData(), (atual, nova) -> nova.isAfter(atual) ? nova : atual);
+        }
+        ultimosPorPlanta.forEach((plantaId, ultimos) -> {
+            Planta planta = plantas.get(plantaId);
+            ultimos.forEach(planta::registrarUltimoCuidado);
+            if (ultimos.keySet().stream().anyMatch(Planta::isCuidadoResumido)) {
+                agendaAlertas.reagendar(plantaId);
+            }
+            plantaCache.evictPlanta(plantaId, planta.getTipo(), planta.getRegiao());
+        });
+        entityManager.flush();
+
+        // Com IDs gerados por sequence o ID já está disponível logo após o persist
+        List<CuidadoDTO> cuidadosSalvos = new ArrayList<>(cuidadosDTO.size());
+        for (CuidadoDTO cuidadoDTO : cuidadosDTO) {
+            Cuidado cuidado = convertToEntity(cuidadoDTO, plantas.get(cuidadoDTO.getPlantaId()));
+            entityManager.persist(cuidado);
+            cuidadosSalvos.add(convertToDTO(cuidado));
+
+            if (cuidadosSalvos.size() % TAMANHO_LOTE_INSERCAO == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        estatisticaService.registrarCuidados(cuidadosDTO);
+        cuidadosSalvos.forEach(c -> buscaService.indexarCuidado(c.getId(), c.getPlantaId(), c.getObservacoes()));
+        cuidadosSalvos.forEach(c -> outboxService.registrar(EventoOutbox.TipoEvento.CUIDADO_REGISTRADO, c.getId(), c));
+        return cuidadosSalvos;
+    }
+
+    /**
+     * Recalcula o último cuidado do tipo no resumo da planta quando o cuidado removido
+     * (ou alterado) era justamente o mais recente; caso contrário o resumo não muda
+     */
+    private void recalcularUltimoCuidadoSeNecessario(Planta planta, Cuidado.TipoCuidado tipo, LocalDate data) {
+        if (!Planta.isCuidadoResumido(tipo) || data == null || !data.equals(planta.getUltimoCuidado(tipo))) {
+            return;
+        }
+        planta.definirUltimoCuidado(tipo, cuidadoRepository.findUltimaDataPorTipo(planta.getId(), tipo));
+    }
+
+    /**
+     * Com a data, a busca lê só a partição do mês no PostgreSQL
+     */
+    private Optional<Cuidado> buscarCuidado(Long id, LocalDate data) {
+        return data != null ? cuidadoRepository.findByIdAndData(id, data) : cuidadoRepository.findById(id);
+    }
+
     private void validarCuidado(CuidadoDTO cuidadoDTO) {
         if (cuidadoDTO.getPlantaId() == null) {
             throw new IllegalArgumentException("ID da planta é obrigatório");
@@ -254,10 +609,14 @@ public class CuidadoService {
     }
 
     private CuidadoDTO convertToDTO(Cuidado cuidado) {
+        return convertToDTO(cuidado, cuidado.getPlanta().getNome());
+    }
+
+    private CuidadoDTO convertToDTO(Cuidado cuidado, String plantaNome) {
         CuidadoDTO dto = new CuidadoDTO();
         dto.setId(cuidado.getId());
         dto.setPlantaId(cuidado.getPlanta().getId());
-        dto.setPlantaNome(cuidado.getPlanta().getNome());
+        dto.setPlantaNome(plantaNome);
         dto.setData(cuidado.getData());
         dto.setTipo(cuidado.getTipo());
         dto.setObservacoes(cuidado.getObservacoes());
@@ -268,6 +627,21 @@ public class CuidadoService {
         return dto;
     }
 
+    private CuidadoDTO convertToDTO(CuidadoResumo resumo) {
+        CuidadoDTO dto = new CuidadoDTO();
+        dto.setId(resumo.id());
+        dto.setPlantaId(resumo.plantaId());
+        dto.setPlantaNome(resumo.plantaNome());
+        dto.setData(resumo.data());
+        dto.setTipo(resumo.tipo());
+        dto.setObservacoes(resumo.observacoes());
+        dto.setDataCriacao(resumo.dataCriacao());
+        dto.setUsuarioResponsavel(resumo.usuarioResponsavel());
+        dto.setCuidadoRecente(Cuidado.isRecente(resumo.data()));
+        
+        return dto;
+    }
+
     private Cuidado convertToEntity(CuidadoDTO dto, Planta planta) {
         Cuidado cuidado = new Cuidado();
         cuidado.setPlanta(planta);
@@ -0,0 +1,55 @@
+package com.horta.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor de paginação keyset ordenada por (data, id).
+ * O valor exposto ao cliente é opaco (Base64 URL-safe de "data:id").
+ */
+public record CursorPaginacao(LocalDate data, Long id) {
+
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+
+    public String codificar() {
+        String valor = data + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorPaginacao decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(':');
+            return new CursorPaginacao(LocalDate.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido: " + cursor);
+        }
+    }
+
+    /**
+     * Valida o limite solicitado e o limita ao máximo permitido
+     */
+    public static int normalizarLimite(Integer limite) {
+        if (limite == null) {
+            return LIMITE_PADRAO;
+        }
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser positivo");
+        }
+        return Math.min(limite, LIMITE_MAXIMO);
+    }
+
+    /**
+     * Busca um registro além do limite para saber se existe próxima página
+     */
+    public static Pageable consultaComSobra(int limite) {
+        return PageRequest.of(0, limite + 1);
+    }
+}
@@ -0,0 +1,62 @@
+package com.horta.service;
+
+import com.horta.config.CacheConfig;
+import com.horta.dto.CuidadoDTO;
+import com.horta.dto.PlantaDTO;
+import com.horta.dto.ResumoDashboardDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service com o resumo exibido no dashboard.
+ * Os contadores vêm de consultas COUNT e as listas de consultas com LIMIT, de modo que
+ * o custo não depende do tamanho das tabelas; o resultado fica em um cache de TTL curto
+ * (horta.dashboard.cache-ttl-segundos). As consultas são independentes e rodam em paralelo,
+ * cada uma na sua própria transação de leitura; um resumo parcial não é guardado no cache.
+ */
+@Service
+public class DashboardService {
+
+    // Quantidade de itens nas listas de plantas e cuidados recentes
+    public static final int LIMITE_LISTAS = 5;
+
+    @Autowired
+    private PlantaService plantaService;
+
+    @Autowired
+    private CuidadoService cuidadoService;
+
+    @Autowired
+    private ConsultasParalelas consultasParalelas;
+
+    /**
+     * Obtém os contadores e as listas resumidas do dashboard
+     */
+    @Cacheable(cacheNames = CacheConfig.DASHBOARD, key = "'resumo'", unless = "#result.parcial")
+    public ResumoDashboardDTO obterResumo() {
+        ConsultasParalelas.Composicao composicao = consultasParalelas.iniciar();
+        CompletableFuture<Long> totalPlantas = composicao.executar(plantaService::contarPlantas);
+        CompletableFuture<Long> plantasRega = composicao.executar(plantaService::contarPlantasQueNecessitamRega);
+        CompletableFuture<Long> plantasColheita = composicao.executar(plantaService::contarPlantasProntasParaColheita);
+        CompletableFuture<Long> cuidadosRecentes = composicao.executar(cuidadoService::contarCuidadosRecentes);
+        CompletableFuture<List<PlantaDTO>> plantas =
+                composicao.executar(() -> plantaService.listarMaisRecentes(LIMITE_LISTAS));
+        CompletableFuture<List<CuidadoDTO>> cuidados =
+                composicao.executar(() -> cuidadoService.listarUltimosCuidadosRecentes(LIMITE_LISTAS));
+
+        ResumoDashboardDTO resumo = new ResumoDashboardDTO(
+                composicao.aguardar("total de plantas", totalPlantas, 0L),
+                composicao.aguardar("plantas para rega", plantasRega, 0L),
+                composicao.aguardar("plantas para colheita", plantasColheita, 0L),
+                composicao.aguardar("cuidados recentes", cuidadosRecentes, 0L),
+                composicao.aguardar("plantas recentes", plantas, Collections.emptyList()),
+                composicao.aguardar("últimos cuidados", cuidados, Collections.emptyList()));
+        resumo.setParcial(composicao.isParcial());
+        return resumo;
+    }
+}
@@ -0,0 +1,226 @@
+package com.horta.service;
+
+import com.horta.repository.UsuarioRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Monta os resumos (digests) de alertas: uma mensagem por destinatário com todas as
+ * plantas vencidas da sua região ({@code Usuario.regiao}), separadas por tipo de alerta.
+ * Os vencimentos são consumidos em sequência, já ordenados por região ({@link #ORDEM}),
+ * e de cada seção (região e tipo) só os primeiros {@code horta.alertas.digest.itens-por-secao}
+ * ficam em memória, os demais são apenas contados; o texto é gerado uma vez por região
+ * a partir de um template Thymeleaf mantido em cache.
+ * <p>
+ * Plantas sem região, ou de regiões sem usuários ativos, vão em um único resumo para
+ * os administradores ativos.
+ */
+@Component
+public class DigestAlertas {
+
+    private static final Logger logger = LoggerFactory.getLogger(DigestAlertas.class);
+
+    private static final String TEMPLATE = "digest-alertas";
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private static final String REGIAO_ADMINISTRADORES = "Plantas sem destinatário na região";
+
+    private static final Map<AgendaAlertas.TipoAlerta, String> TITULOS = Map.of(
+            AgendaAlertas.TipoAlerta.REGA, "🚰 Rega",
+            AgendaAlertas.TipoAlerta.PODA, "✂️ Poda",
+            AgendaAlertas.TipoAlerta.COLHEITA, "🌾 Colheita");
+
+    /**
+     * Ordem esperada pelo {@link #gerar}: região (sem distinção de maiúsculas), tipo e data
+     */
+    public static final Comparator<AgendaAlertas.Vencimento> ORDEM = Comparator
+            .comparing((AgendaAlertas.Vencimento v) -> chaveRegiao(v.regiao()),
+                    Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(AgendaAlertas.Vencimento::tipo)
+            .thenComparing(AgendaAlertas.Vencimento::data)
+            .thenComparing(AgendaAlertas.Vencimento::plantaId);
+
+    /**
+     * Totais de uma geração de resumos
+     */
+    public record ResumoDigest(int plantas, int regioes, int notificacoes, int semDestinatario) {
+    }
+
+    // Modelo do template
+    public record Item(Long id, String nome, String data) {
+    }
+
+    public record Secao(String titulo, int total, List<Item> itens, int omitidos) {
+    }
+
+    // Itens listados de uma seção em montagem e o total de plantas dela
+    private static class Acumulado {
+        private final List<Item> itens = new ArrayList<>();
+        private int total;
+    }
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private NotificacaoService notificacaoService;
+
+    // Limite de plantas listadas por tipo em cada resumo; as demais são apenas contadas
+    @Value("${horta.alertas.digest.itens-por-secao:100}")
+    private int itensPorSecao;
+
+    private Clock relogio = Clock.systemDefaultZone();
+
+    private SpringTemplateEngine templateEngine;
+
+    /**
+     * Configura o motor de templates em modo texto e compila o template do resumo
+     */
+    @PostConstruct
+    void inicializar() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/notificacoes/");
+        resolver.setSuffix(".txt");
+        resolver.setTemplateMode(TemplateMode.TEXT);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        templateEngine.process(TEMPLATE, new Context(Locale.getDefault()));
+    }
+
+    /**
+     * Gera e enfileira os resumos dos vencimentos, que devem chegar ordenados por região
+     */
+    public ResumoDigest gerar(Stream<AgendaAlertas.Vencimento> vencimentos) {
+        Map<AgendaAlertas.TipoAlerta, Acumulado> semDestinatario =
+                new EnumMap<>(AgendaAlertas.TipoAlerta.class);
+        Map<AgendaAlertas.TipoAlerta, Acumulado> regiao =
+                new EnumMap<>(AgendaAlertas.TipoAlerta.class);
+        int plantas = 0;
+        int regioes = 0;
+        int notificacoes = 0;
+        String chaveAtual = null;
+        String nomeAtual = null;
+
+        Iterator<AgendaAlertas.Vencimento> iterator = vencimentos.iterator();
+        while (iterator.hasNext()) {
+            AgendaAlertas.Vencimento vencimento = iterator.next();
+            plantas++;
+            String chave = chaveRegiao(vencimento.regiao());
+            if (chave == null) {
+                adicionar(semDestinatario, vencimento);
+                continue;
+            }
+            if (!chave.equals(chaveAtual)) {
+                if (chaveAtual != null) {
+                    regioes++;
+                    notificacoes += enviarRegiao(nomeAtual, regiao, semDestinatario);
+                }
+                regiao.clear();
+                chaveAtual = chave;
+                nomeAtual = vencimento.regiao().trim();
+            }
+            adicionar(regiao, vencimento);
+        }
+        if (chaveAtual != null) {
+            regioes++;
+            notificacoes += enviarRegiao(nomeAtual, regiao, semDestinatario);
+        }
+        if (!semDestinatario.isEmpty()) {
+            notificacoes += enviar(REGIAO_ADMINISTRADORES, semDestinatario,
+                    usuarioRepository.findEmailsAdministradoresAtivos());
+        }
+        return new ResumoDigest(plantas, regioes, notificacoes, contar(semDestinatario));
+    }
+
+    /**
+     * Envia o resumo da região aos seus usuários ativos; sem usuários, os alertas
+     * passam para o resumo dos administradores
+     */
+    private int enviarRegiao(String nome, Map<AgendaAlertas.TipoAlerta, Acumulado> alertas,
+                             Map<AgendaAlertas.TipoAlerta, Acumulado> semDestinatario) {
+        List<String> destinatarios = usuarioRepository.findEmailsAtivosPorRegiao(nome);
+        if (destinatarios.isEmpty()) {
+            alertas.forEach((tipo, secao) -> {
+                Acumulado acumulado = semDestinatario.computeIfAbsent(tipo, t -> new Acumulado());
+                acumulado.total += secao.total;
+                secao.itens.stream()
+                        .limit(Math.max(0, itensPorSecao - acumulado.itens.size()))
+                        .forEach(acumulado.itens::add);
+            });
+            return 0;
+        }
+        return enviar(nome, alertas, destinatarios);
+    }
+
+    private int enviar(String regiao, Map<AgendaAlertas.TipoAlerta, Acumulado> alertas,
+                       List<String> destinatarios) {
+        int total = contar(alertas);
+        if (destinatarios.isEmpty()) {
+            logger.warn("Nenhum destinatário ativo para o resumo de {} alertas ({})", total, regiao);
+            return 0;
+        }
+        String assunto = "🔔 Alertas da horta - " + regiao + ": " + total + " plantas";
+        String mensagem = renderizar(regiao, alertas);
+        int enfileiradas = 0;
+        for (String destinatario : destinatarios) {
+            if (notificacaoService.enfileirar(new Notificacao(destinatario, assunto, mensagem))) {
+                enfileiradas++;
+            }
+        }
+        return enfileiradas;
+    }
+
+    String renderizar(String regiao, Map<AgendaAlertas.TipoAlerta, Acumulado> alertas) {
+        List<Secao> secoes = new ArrayList<>(alertas.size());
+        alertas.forEach((tipo, secao) -> secoes.add(new Secao(TITULOS.get(tipo), secao.total,
+                List.copyOf(secao.itens), secao.total - secao.itens.size())));
+        Context contexto = new Context(Locale.getDefault());
+        contexto.setVariable("regiao", regiao);
+        contexto.setVariable("data", LocalDate.now(relogio).format(FORMATO_DATA));
+        contexto.setVariable("secoes", secoes);
+        return templateEngine.process(TEMPLATE, contexto);
+    }
+
+    private void adicionar(Map<AgendaAlertas.TipoAlerta, Acumulado> alertas, AgendaAlertas.Vencimento vencimento) {
+        Acumulado secao = alertas.computeIfAbsent(vencimento.tipo(), t -> new Acumulado());
+        secao.total++;
+        if (secao.itens.size() < itensPorSecao) {
+            secao.itens.add(new Item(vencimento.plantaId(), vencimento.plantaNome(),
+                    vencimento.data().format(FORMATO_DATA)));
+        }
+    }
+
+    private static int contar(Map<AgendaAlertas.TipoAlerta, Acumulado> alertas) {
+        return alertas.values().stream().mapToInt(secao -> secao.total).sum();
+    }
+
+    /**
+     * Chave de agrupamento da região; null quando a planta não tem região
+     */
+    static String chaveRegiao(String regiao) {
+        return regiao == null || regiao.isBlank() ? null : regiao.trim().toLowerCase(Locale.ROOT);
+    }
+}
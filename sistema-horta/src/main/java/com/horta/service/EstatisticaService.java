@@ -0,0 +1,341 @@
+package com.horta.service;
+
+import com.horta.dto.CuidadoDTO;
+import com.horta.model.Cuidado;
+import com.horta.model.EstatisticaCuidadoMes;
+import com.horta.model.EstatisticaCuidadoPlanta;
+import com.horta.model.EstatisticaCuidadoTipo;
+import com.horta.model.EstatisticaPlantaTipo;
+import com.horta.repository.CuidadoArquivoRepository;
+import com.horta.repository.CuidadoRepository;
+import com.horta.repository.EstatisticaCuidadoMesRepository;
+import com.horta.repository.EstatisticaCuidadoPlantaRepository;
+import com.horta.repository.EstatisticaCuidadoTipoRepository;
+import com.horta.repository.EstatisticaPlantaTipoRepository;
+import com.horta.repository.PlantaRepository;
+import com.horta.repository.projecao.EstatisticaMes;
+import com.horta.repository.projecao.EstatisticaPlanta;
+import com.horta.repository.projecao.EstatisticaTipo;
+import com.horta.repository.projecao.PlantaIdentificacao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service das estatísticas pré-agregadas (por tipo de planta, tipo de cuidado, planta e mês).
+ * Os totais são ajustados por deltas na mesma transação das escritas de plantas e cuidados,
+ * de modo que as consultas de estatísticas leem uma linha por grupo em vez de agregar as
+ * tabelas inteiras. A reconciliação reconstrói todos os totais a partir dos dados.
+ */
+@Service
+@Transactional
+public class EstatisticaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EstatisticaService.class);
+
+    // Tamanho dos blocos de inserção na reconciliação
+    private static final int TAMANHO_LOTE_RECONCILIACAO = 50;
+
+    // IDs por consulta de nomes no ranking de plantas
+    private static final int LOTE_NOMES = 1000;
+
+    @Autowired
+    private EstatisticaPlantaTipoRepository plantasPorTipoRepository;
+
+    @Autowired
+    private EstatisticaCuidadoTipoRepository cuidadosPorTipoRepository;
+
+    @Autowired
+    private EstatisticaCuidadoPlantaRepository cuidadosPorPlantaRepository;
+
+    @Autowired
+    private EstatisticaCuidadoMesRepository cuidadosPorMesRepository;
+
+    @Autowired
+    private PlantaRepository plantaRepository;
+
+    @Autowired
+    private CuidadoRepository cuidadoRepository;
+
+    @Autowired
+    private CuidadoArquivoRepository cuidadoArquivoRepository;
+
+    @Autowired
+    private CoordenacaoCluster coordenacaoCluster;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Contabiliza uma planta nova
+     */
+    public void registrarPlanta(String tipo) {
+        somarPlantasPorTipo(tipo, 1);
+    }
+
+    /**
+     * Move a planta de tipo, quando o tipo foi alterado
+     */
+    public void alterarTipoPlanta(String tipoAnterior, String tipoNovo) {
+        if (tipoAnterior.equals(tipoNovo)) {
+            return;
+        }
+        somarPlantasPorTipo(tipoAnterior, -1);
+        somarPlantasPorTipo(tipoNovo, 1);
+    }
+
+    /**
+     * Desconta uma planta e todos os seus cuidados. Deve ser chamado antes da remoção,
+     * enquanto os cuidados da planta ainda existem.
+     */
+    public void removerPlanta(Long plantaId, String tipo) {
+        somarPlantasPorTipo(tipo, -1);
+
+        // Cuidados ativos e arquivados da planta
+        Deltas deltas = new Deltas();
+        for (List<Object[]> totais : List.of(cuidadoRepository.countCuidadosPorTipoDaPlanta(plantaId),
+                cuidadoArquivoRepository.countPorTipoDaPlanta(plantaId))) {
+            for (Object[] linha : totais) {
+                deltas.porTipo.merge((Cuidado.TipoCuidado) linha[0], -((Number) linha[1]).longValue(), Long::sum);
+            }
+        }
+        for (List<Object[]> totais : List.of(cuidadoRepository.countCuidadosPorMesDaPlanta(plantaId),
+                cuidadoArquivoRepository.countPorMesDaPlanta(plantaId))) {
+            for (Object[] linha : totais) {
+                YearMonth mes = YearMonth.of(((Number) linha[0]).intValue(), ((Number) linha[1]).intValue());
+                deltas.porMes.merge(mes, -((Number) linha[2]).longValue(), Long::sum);
+            }
+        }
+        aplicar(deltas);
+        cuidadosPorPlantaRepository.removerPorPlantaId(plantaId);
+    }
+
+    /**
+     * Contabiliza um cuidado novo
+     */
+    public void registrarCuidado(Long plantaId, Cuidado.TipoCuidado tipo, LocalDate data) {
+        Deltas deltas = new Deltas();
+        deltas.somar(plantaId, tipo, data, 1);
+        aplicar(deltas);
+    }
+
+    /**
+     * Contabiliza um lote de cuidados novos, com um único ajuste por grupo
+     */
+    public void registrarCuidados(List<CuidadoDTO> cuidados) {
+        Deltas deltas = new Deltas();
+        for (CuidadoDTO cuidado : cuidados) {
+            deltas.somar(cuidado.getPlantaId(), cuidado.getTipo(), cuidado.getData(), 1);
+        }
+        aplicar(deltas);
+    }
+
+    /**
+     * Ajusta os totais de um cuidado cujo tipo ou data foi alterado
+     */
+    public void alterarCuidado(Long plantaId, Cuidado.TipoCuidado tipoAnterior, LocalDate dataAnterior,
+                               Cuidado.TipoCuidado tipoNovo, LocalDate dataNova) {
+        Deltas deltas = new Deltas();
+        deltas.somar(plantaId, tipoAnterior, dataAnterior, -1);
+        deltas.somar(plantaId, tipoNovo, dataNova, 1);
+        aplicar(deltas);
+    }
+
+    /**
+     * Desconta um cuidado removido
+     */
+    public void removerCuidado(Long plantaId, Cuidado.TipoCuidado tipo, LocalDate data) {
+        Deltas deltas = new Deltas();
+        deltas.somar(plantaId, tipo, data, -1);
+        aplicar(deltas);
+    }
+
+    /**
+     * Obtém o total de plantas por tipo
+     */
+    @Transactional(readOnly = true)
+    public List<EstatisticaTipo> obterPlantasPorTipo() {
+        return plantasPorTipoRepository.findTotais();
+    }
+
+    /**
+     * Obtém o total de cuidados por tipo
+     */
+    @Transactional(readOnly = true)
+    public List<EstatisticaTipo> obterCuidadosPorTipo() {
+        return cuidadosPorTipoRepository.findTotais();
+    }
+
+    /**
+     * Obtém o total de cuidados por planta, do maior para o menor. Os nomes são
+     * buscados apenas para as plantas retornadas.
+     *
+     * @param top quantidade máxima de plantas (null para todas)
+     */
+    @Transactional(readOnly = true)
+    public List<EstatisticaPlanta> obterCuidadosPorPlanta(Integer top) {
+        if (top != null && top <= 0) {
+            throw new IllegalArgumentException("O parâmetro top deve ser positivo");
+        }
+        Pageable consulta = top == null ? Pageable.unpaged() : PageRequest.of(0, top);
+        List<EstatisticaCuidadoPlanta> totais = cuidadosPorPlantaRepository.findMaioresTotais(consulta);
+        if (totais.isEmpty()) {
+            return List.of();
+        }
+
+        // Nomes em consultas de até LOTE_NOMES IDs, abaixo do limite de parâmetros do banco
+        Map<Long, String> nomes = new HashMap<>();
+        List<Long> ids = totais.stream().map(EstatisticaCuidadoPlanta::getPlantaId).toList();
+        for (int inicio = 0; inicio < ids.size(); inicio += LOTE_NOMES) {
+            List<Long> lote = ids.subList(inicio, Math.min(inicio + LOTE_NOMES, ids.size()));
+            for (PlantaIdentificacao planta : plantaRepository.findIdentificacoesByIdIn(lote)) {
+                nomes.put(planta.id(), planta.nome());
+            }
+        }
+        return totais.stream()
+                .map(e -> new EstatisticaPlanta(e.getPlantaId(), nomes.get(e.getPlantaId()), e.getTotal()))
+                .toList();
+    }
+
+    /**
+     * Obtém o total de cuidados por ano e mês
+     */
+    @Transactional(readOnly = true)
+    public List<EstatisticaMes> obterCuidadosPorMes() {
+        return cuidadosPorMesRepository.findTotais();
+    }
+
+    /**
+     * Reconstrói todas as estatísticas a partir das tabelas de plantas e cuidados
+     * (incluindo os cuidados arquivados).
+     * Deve ser executada fora do horário de uso, pois escritas concorrentes podem
+     * não ser contabilizadas até a próxima reconciliação.
+     *
+     * @return quantidade de grupos gravados
+     */
+    public int reconciliar() {
+        plantasPorTipoRepository.deleteAllInBatch();
+        cuidadosPorTipoRepository.deleteAllInBatch();
+        cuidadosPorPlantaRepository.deleteAllInBatch();
+        cuidadosPorMesRepository.deleteAllInBatch();
+
+        int grupos = 0;
+        for (EstatisticaTipo estatistica : plantaRepository.countPlantasPorTipo()) {
+            grupos = persistir(new EstatisticaPlantaTipo(estatistica.tipo(), estatistica.total()), grupos);
+        }
+
+        // Os cuidados arquivados continuam contando nos totais
+        Deltas totais = new Deltas();
+        for (List<EstatisticaTipo> linhas : List.of(cuidadoRepository.countCuidadosPorTipo(),
+                cuidadoArquivoRepository.countPorTipo())) {
+            linhas.forEach(e -> totais.porTipo.merge(Cuidado.TipoCuidado.valueOf(e.tipo()), e.total(), Long::sum));
+        }
+        for (List<Object[]> linhas : List.of(cuidadoRepository.countCuidadosPorPlantaId(),
+                cuidadoArquivoRepository.countPorPlantaId())) {
+            linhas.forEach(linha -> totais.porPlanta.merge((Long) linha[0], (Long) linha[1], Long::sum));
+        }
+        for (List<EstatisticaMes> linhas : List.of(cuidadoRepository.findEstatisticasCuidadosPorMes(),
+                cuidadoArquivoRepository.countPorMes())) {
+            linhas.forEach(e -> totais.porMes.merge(YearMonth.of(e.ano(), e.mes()), e.total(), Long::sum));
+        }
+
+        for (Map.Entry<Cuidado.TipoCuidado, Long> total : totais.porTipo.entrySet()) {
+            grupos = persistir(new EstatisticaCuidadoTipo(total.getKey(), total.getValue()), grupos);
+        }
+        for (Map.Entry<Long, Long> total : totais.porPlanta.entrySet()) {
+            grupos = persistir(new EstatisticaCuidadoPlanta(total.getKey(), total.getValue()), grupos);
+        }
+        for (Map.Entry<YearMonth, Long> total : totais.porMes.entrySet()) {
+            grupos = persistir(new EstatisticaCuidadoMes(total.getKey().getYear(), total.getKey().getMonthValue(),
+                    total.getValue()), grupos);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        logger.info("Estatísticas reconciliadas: {} grupos", grupos);
+        return grupos;
+    }
+
+    /**
+     * Reconciliação periódica das estatísticas (padrão: domingos às 3h30), em uma única instância
+     */
+    @Scheduled(cron = "${horta.estatisticas.reconciliacao-cron:0 30 3 * * SUN}")
+    public void reconciliacaoAgendada() {
+        try {
+            coordenacaoCluster.executarUmaVez("reconciliacao-estatisticas", this::reconciliar);
+        } catch (Exception e) {
+            logger.error("Erro ao reconciliar estatísticas: {}", e.getMessage(), e);
+        }
+    }
+
+    private int persistir(Object estatistica, int gravados) {
+        entityManager.persist(estatistica);
+        if (++gravados % TAMANHO_LOTE_RECONCILIACAO == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return gravados;
+    }
+
+    private void somarPlantasPorTipo(String tipo, long delta) {
+        plantasPorTipoRepository.criarSeAusente(tipo);
+        plantasPorTipoRepository.somar(tipo, delta);
+    }
+
+    /**
+     * Aplica os deltas acumulados, em ordem fixa de chaves para que transações
+     * concorrentes travem as linhas na mesma ordem
+     */
+    private void aplicar(Deltas deltas) {
+        deltas.porTipo.forEach((tipo, delta) -> {
+            if (delta != 0) {
+                cuidadosPorTipoRepository.criarSeAusente(tipo.name());
+                cuidadosPorTipoRepository.somar(tipo, delta);
+            }
+        });
+        deltas.porPlanta.forEach((plantaId, delta) -> {
+            if (delta != 0) {
+                cuidadosPorPlantaRepository.criarSeAusente(plantaId);
+                cuidadosPorPlantaRepository.somar(plantaId, delta);
+            }
+        });
+        deltas.porMes.forEach((mes, delta) -> {
+            if (delta != 0) {
+                cuidadosPorMesRepository.criarSeAusente(mes.getYear(), mes.getMonthValue());
+                cuidadosPorMesRepository.somar(mes.getYear(), mes.getMonthValue(), delta);
+            }
+        });
+    }
+
+    /**
+     * Deltas de cuidados agrupados por tipo, planta e mês
+     */
+    private static class Deltas {
+        private final Map<Cuidado.TipoCuidado, Long> porTipo = new EnumMap<>(Cuidado.TipoCuidado.class);
+        private final Map<Long, Long> porPlanta = new TreeMap<>();
+        private final Map<YearMonth, Long> porMes = new TreeMap<>();
+
+        private void somar(Long plantaId, Cuidado.TipoCuidado tipo, LocalDate data, long delta) {
+            porTipo.merge(tipo, delta, Long::sum);
+            if (plantaId != null) {
+                porPlanta.merge(plantaId, delta, Long::sum);
+            }
+            porMes.merge(YearMonth.from(data), delta, Long::sum);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.horta.service;
+
+import com.horta.model.EventoOutbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de domínio publicado pelo {@link OutboxRelay} aos listeners da aplicação
+ * ({@code @EventListener}). A entrega é "pelo menos uma vez": o mesmo evento (mesmo ID)
+ * pode chegar de novo após uma falha, então os listeners devem ser idempotentes.
+ */
+public record EventoDominio(Long id, EventoOutbox.TipoEvento tipo, Long agregadoId, String payload,
+                            LocalDateTime dataCriacao) {
+}
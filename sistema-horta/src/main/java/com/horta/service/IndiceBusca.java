@@ -0,0 +1,49 @@
+package com.horta.service;
+
+import com.horta.dto.ResultadoBuscaDTO;
+
+import java.util.List;
+
+/**
+ * Índice da busca textual sobre plantas (nome e descrição) e cuidados (observações).
+ * A implementação é escolhida por horta.busca.indice: "postgres" (tsvector + GIN,
+ * mantido pelo próprio banco) ou "lucene" (índice embutido, usado no profile H2).
+ */
+public interface IndiceBusca {
+
+    /**
+     * Indica se o índice precisa ser alimentado pela aplicação a cada escrita
+     */
+    boolean requerIndexacao();
+
+    /**
+     * Busca os documentos mais relevantes para o termo, do mais para o menos relevante.
+     * O nome da planta não é preenchido pelo índice.
+     */
+    List<ResultadoBuscaDTO> buscar(String termo, int limite);
+
+    /**
+     * Inclui ou substitui o documento da planta
+     */
+    void indexarPlanta(Long id, String nome, String descricao);
+
+    /**
+     * Inclui ou substitui o documento do cuidado
+     */
+    void indexarCuidado(Long id, Long plantaId, String observacoes);
+
+    /**
+     * Remove a planta e os cuidados dela
+     */
+    void removerPlanta(Long id);
+
+    /**
+     * Remove o cuidado
+     */
+    void removerCuidado(Long id);
+
+    /**
+     * Remove todos os documentos (antes de uma reindexação completa)
+     */
+    void limpar();
+}
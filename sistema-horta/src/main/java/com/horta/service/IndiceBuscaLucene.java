@@ -0,0 +1,199 @@
+package com.horta.service;
+
+import com.horta.dto.ResultadoBuscaDTO;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.pt.PortugueseAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Busca textual com um índice Lucene em memória, para o profile H2 (onde não há
+ * tsvector). O índice é reconstruído na inicialização e atualizado a cada escrita
+ * pelo {@link BuscaService}; as buscas enxergam as alterações assim que são aplicadas.
+ */
+@Component
+@ConditionalOnProperty(name = "horta.busca.indice", havingValue = "lucene")
+public class IndiceBuscaLucene implements IndiceBusca, DisposableBean {
+
+    // Identifica o documento para substituição ("PLANTA:1", "CUIDADO:7")
+    private static final String CAMPO_CHAVE = "chave";
+    private static final String CAMPO_ORIGEM = "origem";
+    private static final String CAMPO_ID = "id";
+    // Presente também no documento da planta, para remover a planta e seus cuidados de uma vez
+    private static final String CAMPO_PLANTA_ID = "plantaId";
+    private static final String CAMPO_NOME = "nome";
+    private static final String CAMPO_TEXTO = "texto";
+
+    // Termos no nome da planta pesam mais que na descrição ou nas observações
+    private static final float PESO_NOME = 2.0f;
+
+    private final Analyzer analyzer = new PortugueseAnalyzer();
+    private final ByteBuffersDirectory diretorio = new ByteBuffersDirectory();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public IndiceBuscaLucene() throws IOException {
+        this.writer = new IndexWriter(diretorio, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    @Override
+    public boolean requerIndexacao() {
+        return true;
+    }
+
+    @Override
+    public List<ResultadoBuscaDTO> buscar(String termo, int limite) {
+        BooleanQuery.Builder consulta = new BooleanQuery.Builder();
+        for (String token : analisar(termo)) {
+            consulta.add(new BoostQuery(new TermQuery(new Term(CAMPO_NOME, token)), PESO_NOME), BooleanClause.Occur.SHOULD);
+            consulta.add(new TermQuery(new Term(CAMPO_TEXTO, token)), BooleanClause.Occur.SHOULD);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                StoredFields campos = searcher.storedFields();
+                List<ResultadoBuscaDTO> resultados = new ArrayList<>();
+                for (ScoreDoc hit : searcher.search(consulta.build(), limite).scoreDocs) {
+                    Document documento = campos.document(hit.doc);
+                    resultados.add(new ResultadoBuscaDTO(
+                            ResultadoBuscaDTO.Origem.valueOf(documento.get(CAMPO_ORIGEM)),
+                            documento.getField(CAMPO_ID).numericValue().longValue(),
+                            Long.valueOf(documento.get(CAMPO_PLANTA_ID)),
+                            null,
+                            documento.get(CAMPO_TEXTO),
+                            hit.score));
+                }
+                return resultados;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void indexarPlanta(Long id, String nome, String descricao) {
+        Document documento = documento(ResultadoBuscaDTO.Origem.PLANTA, id, id, descricao);
+        documento.add(new TextField(CAMPO_NOME, nome, Field.Store.NO));
+        atualizar(documento.get(CAMPO_CHAVE), documento);
+    }
+
+    @Override
+    public void indexarCuidado(Long id, Long plantaId, String observacoes) {
+        if (observacoes == null || observacoes.isBlank()) {
+            removerCuidado(id);
+            return;
+        }
+        Document documento = documento(ResultadoBuscaDTO.Origem.CUIDADO, id, plantaId, observacoes);
+        atualizar(documento.get(CAMPO_CHAVE), documento);
+    }
+
+    @Override
+    public void removerPlanta(Long id) {
+        remover(new Term(CAMPO_PLANTA_ID, id.toString()));
+    }
+
+    @Override
+    public void removerCuidado(Long id) {
+        remover(new Term(CAMPO_CHAVE, chave(ResultadoBuscaDTO.Origem.CUIDADO, id)));
+    }
+
+    @Override
+    public void limpar() {
+        try {
+            writer.deleteAll();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        searcherManager.close();
+        writer.close();
+        diretorio.close();
+    }
+
+    private Document documento(ResultadoBuscaDTO.Origem origem, Long id, Long plantaId, String texto) {
+        Document documento = new Document();
+        documento.add(new StringField(CAMPO_CHAVE, chave(origem, id), Field.Store.YES));
+        documento.add(new StringField(CAMPO_ORIGEM, origem.name(), Field.Store.YES));
+        documento.add(new StoredField(CAMPO_ID, id));
+        documento.add(new StringField(CAMPO_PLANTA_ID, plantaId.toString(), Field.Store.YES));
+        if (texto != null) {
+            documento.add(new TextField(CAMPO_TEXTO, texto, Field.Store.YES));
+        }
+        return documento;
+    }
+
+    private void atualizar(String chave, Document documento) {
+        try {
+            writer.updateDocument(new Term(CAMPO_CHAVE, chave), documento);
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void remover(Term termo) {
+        try {
+            writer.deleteDocuments(termo);
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Aplica ao termo buscado a mesma análise dos documentos (minúsculas, stopwords, radical)
+     */
+    private Set<String> analisar(String termo) {
+        Set<String> tokens = new LinkedHashSet<>();
+        try (TokenStream stream = analyzer.tokenStream(CAMPO_TEXTO, termo)) {
+            CharTermAttribute atributo = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(atributo.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+
+    private static String chave(ResultadoBuscaDTO.Origem origem, Long id) {
+        return origem.name() + ":" + id;
+    }
+}
@@ -0,0 +1,79 @@
+package com.horta.service;
+
+import com.horta.dto.ResultadoBuscaDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Busca textual no PostgreSQL: as colunas plantas.busca e cuidados.busca são
+ * tsvector gerados pelo banco (V5__busca_textual.sql) e indexados por GIN, de modo
+ * que a indexação acompanha cada escrita sem participação da aplicação
+ */
+@Component
+@ConditionalOnProperty(name = "horta.busca.indice", havingValue = "postgres", matchIfMissing = true)
+public class IndiceBuscaPostgres implements IndiceBusca {
+
+    private static final String SQL_BUSCA =
+            "SELECT r.origem, r.id, r.planta_id, r.trecho, r.relevancia FROM (" +
+            "  SELECT 'PLANTA' AS origem, p.id, p.id AS planta_id, p.descricao AS trecho, " +
+            "         ts_rank(p.busca, q.consulta) AS relevancia " +
+            "  FROM plantas p, websearch_to_tsquery('portuguese', :termo) AS q(consulta) " +
+            "  WHERE p.busca @@ q.consulta " +
+            "  UNION ALL " +
+            "  SELECT 'CUIDADO', c.id, c.planta_id, c.observacoes, ts_rank(c.busca, q.consulta) " +
+            "  FROM cuidados c, websearch_to_tsquery('portuguese', :termo) AS q(consulta) " +
+            "  WHERE c.busca @@ q.consulta" +
+            ") r ORDER BY r.relevancia DESC, r.id LIMIT :limite";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public boolean requerIndexacao() {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ResultadoBuscaDTO> buscar(String termo, int limite) {
+        List<Object[]> linhas = entityManager.createNativeQuery(SQL_BUSCA)
+                .setParameter("termo", termo)
+                .setParameter("limite", limite)
+                .getResultList();
+        return linhas.stream()
+                .map(linha -> new ResultadoBuscaDTO(
+                        ResultadoBuscaDTO.Origem.valueOf((String) linha[0]),
+                        ((Number) linha[1]).longValue(),
+                        ((Number) linha[2]).longValue(),
+                        null,
+                        (String) linha[3],
+                        ((Number) linha[4]).doubleValue()))
+                .toList();
+    }
+
+    // As colunas tsvector são geradas pelo banco: não há o que manter aqui
+
+    @Override
+    public void indexarPlanta(Long id, String nome, String descricao) {
+    }
+
+    @Override
+    public void indexarCuidado(Long id, Long plantaId, String observacoes) {
+    }
+
+    @Override
+    public void removerPlanta(Long id) {
+    }
+
+    @Override
+    public void removerCuidado(Long id) {
+    }
+
+    @Override
+    public void limpar() {
+    }
+}
@@ -0,0 +1,7 @@
+package com.horta.service;
+
+/**
+ * Mensagem a ser entregue a um destinatário pelos canais de notificação
+ */
+public record Notificacao(String destinatario, String assunto, String mensagem) {
+}
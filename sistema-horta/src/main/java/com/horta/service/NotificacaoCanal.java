@@ -0,0 +1,23 @@
+package com.horta.service;
+
+import java.util.List;
+
+/**
+ * Canal de entrega de notificações (e-mail, push, webhook...).
+ * Cada bean que implementa esta interface recebe todas as notificações enfileiradas
+ * no {@link NotificacaoService}, agrupadas por destinatário. O envio roda nas threads
+ * do próprio serviço, nunca na thread de quem enfileirou.
+ */
+public interface NotificacaoCanal {
+
+    /**
+     * Nome do canal, usado nas métricas e no registro de falhas
+     */
+    String getNome();
+
+    /**
+     * Entrega as notificações de um destinatário em uma única mensagem.
+     * Qualquer exceção é tratada como falha do lote inteiro, que será reenviado.
+     */
+    void enviar(String destinatario, List<Notificacao> notificacoes) throws Exception;
+}
@@ -0,0 +1,31 @@
+package com.horta.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Canal que apenas registra as notificações no log (padrão enquanto não há outro canal)
+ */
+@Component
+@ConditionalOnProperty(name = "horta.notificacoes.log.habilitado", havingValue = "true", matchIfMissing = true)
+public class NotificacaoCanalLog implements NotificacaoCanal {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificacaoCanalLog.class);
+
+    @Override
+    public String getNome() {
+        return "log";
+    }
+
+    @Override
+    public void enviar(String destinatario, List<Notificacao> notificacoes) {
+        logger.info("📧 Enviando {} notificações para {}", notificacoes.size(), destinatario);
+        for (Notificacao notificacao : notificacoes) {
+            logger.debug("{}\n{}", notificacao.assunto(), notificacao.mensagem());
+        }
+    }
+}
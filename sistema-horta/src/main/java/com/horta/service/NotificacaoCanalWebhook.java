@@ -0,0 +1,59 @@
+package com.horta.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canal que publica as notificações de cada destinatário em um webhook HTTP (JSON),
+ * habilitado quando horta.notificacoes.webhook.url é configurada
+ */
+@Component
+@ConditionalOnProperty(name = "horta.notificacoes.webhook.url")
+public class NotificacaoCanalWebhook implements NotificacaoCanal {
+
+    @Value("${horta.notificacoes.webhook.url}")
+    private String url;
+
+    @Value("${horta.notificacoes.webhook.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Override
+    public String getNome() {
+        return "webhook";
+    }
+
+    @Override
+    public void enviar(String destinatario, List<Notificacao> notificacoes) throws IOException, InterruptedException {
+        byte[] corpo = objectMapper.writeValueAsBytes(Map.of(
+                "destinatario", destinatario,
+                "notificacoes", notificacoes));
+
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(timeoutMs))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(corpo))
+                .build();
+
+        HttpResponse<Void> resposta = httpClient.send(requisicao, HttpResponse.BodyHandlers.discarding());
+        if (resposta.statusCode() / 100 != 2) {
+            throw new IOException("Webhook respondeu com status " + resposta.statusCode());
+        }
+    }
+}
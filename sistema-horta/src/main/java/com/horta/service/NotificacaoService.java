@@ -0,0 +1,322 @@
+package com.horta.service;
+
+import com.horta.model.NotificacaoFalha;
+import com.horta.repository.NotificacaoFalhaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fila de envio de notificações para os {@link NotificacaoCanal} registrados.
+ * Quem notifica (ex.: os alertas agendados) apenas enfileira, sem bloquear: uma thread
+ * agrupa o que chegou dentro da janela de lote por destinatário e o envio de cada
+ * lote roda em um pool próprio. Um lote que falha é reenviado com espera exponencial;
+ * esgotadas as tentativas, as notificações vão para a tabela notificacoes_falhas.
+ * <p>
+ * Com a fila cheia, a notificação recusada vai para um buffer limitado, gravado em lote
+ * como falha pelo pool de envio: quem notifica nunca acessa o banco. Com o buffer também
+ * cheio, a notificação é apenas contada e descartada.
+ * <p>
+ * No encerramento, os envios em andamento terminam (até {@code horta.notificacoes.encerramento-ms});
+ * o que ainda está na fila e os lotes aguardando envio ou nova tentativa são gravados como
+ * falha, sem perder notificações.
+ * <p>
+ * Métricas por canal: horta.notificacoes.enviadas, horta.notificacoes.erros,
+ * horta.notificacoes.descartadas e horta.notificacoes.envio (tempo de cada lote).
+ */
+@Service
+public class NotificacaoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificacaoService.class);
+
+    // Canal registrado nas falhas de notificações recusadas antes de chegar a um canal
+    private static final String CANAL_FILA = "fila";
+
+    private static final String ERRO_ENCERRAMENTO = "Aplicação encerrada antes do envio";
+
+    @Value("${horta.notificacoes.fila:1000}")
+    private int capacidadeFila;
+
+    @Value("${horta.notificacoes.lote-maximo:100}")
+    private int loteMaximo;
+
+    @Value("${horta.notificacoes.janela-lote-ms:500}")
+    private long janelaLoteMs;
+
+    @Value("${horta.notificacoes.threads:2}")
+    private int threads;
+
+    @Value("${horta.notificacoes.tentativas:5}")
+    private int tentativas;
+
+    @Value("${horta.notificacoes.backoff-inicial-ms:1000}")
+    private long backoffInicialMs;
+
+    @Value("${horta.notificacoes.backoff-maximo-ms:60000}")
+    private long backoffMaximoMs;
+
+    // Intervalo da gravação das notificações recusadas com a fila cheia
+    @Value("${horta.notificacoes.gravacao-recusadas-ms:1000}")
+    private long gravacaoRecusadasMs;
+
+    // Espera pelos envios em andamento ao encerrar a aplicação
+    @Value("${horta.notificacoes.encerramento-ms:10000}")
+    private long encerramentoMs;
+
+    @Autowired
+    private List<NotificacaoCanal> canais;
+
+    @Autowired
+    private NotificacaoFalhaRepository notificacaoFalhaRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private BlockingQueue<Notificacao> fila;
+    private BlockingQueue<Notificacao> recusadas;
+    private ThreadPoolTaskScheduler envio;
+    private Thread agrupador;
+
+    // Lotes entregues ao pool ainda não iniciados (primeiro envio ou nova tentativa)
+    private final Set<EnvioPendente> pendentes = ConcurrentHashMap.newKeySet();
+
+    // Identidade própria: dois lotes iguais para o mesmo destinatário são envios distintos
+    private static final class EnvioPendente {
+        private final NotificacaoCanal canal;
+        private final String destinatario;
+        private final List<Notificacao> notificacoes;
+        private final int tentativa;
+
+        private EnvioPendente(NotificacaoCanal canal, String destinatario, List<Notificacao> notificacoes, int tentativa) {
+            this.canal = canal;
+            this.destinatario = destinatario;
+            this.notificacoes = notificacoes;
+            this.tentativa = tentativa;
+        }
+    }
+
+    @PostConstruct
+    void inicializar() {
+        fila = new ArrayBlockingQueue<>(capacidadeFila);
+        recusadas = new ArrayBlockingQueue<>(capacidadeFila);
+        meterRegistry.gauge("horta.notificacoes.fila", fila, BlockingQueue::size);
+
+        envio = new ThreadPoolTaskScheduler();
+        envio.setPoolSize(threads);
+        envio.setThreadNamePrefix("notificacoes-");
+        // No encerramento os envios em andamento terminam; os agendados ficam em pendentes
+        envio.setWaitForTasksToCompleteOnShutdown(true);
+        envio.setAwaitTerminationMillis(encerramentoMs);
+        envio.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        envio.initialize();
+        envio.scheduleWithFixedDelay(this::gravarRecusadas, Duration.ofMillis(gravacaoRecusadasMs));
+
+        agrupador = new Thread(this::agrupar, "notificacoes-agrupador");
+        agrupador.setDaemon(true);
+        agrupador.start();
+    }
+
+    /**
+     * Para o agrupamento, aguarda os envios em andamento e grava como falha tudo o que não
+     * chegou a ser enviado: a fila, os lotes agendados e as recusadas
+     */
+    @PreDestroy
+    void finalizar() {
+        agrupador.interrupt();
+        try {
+            agrupador.join(encerramentoMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        envio.shutdown();
+
+        List<Notificacao> naFila = new ArrayList<>();
+        while (fila.drainTo(naFila, loteMaximo) > 0) {
+            registrarFalhas(CANAL_FILA, naFila, ERRO_ENCERRAMENTO, 0);
+            naFila = new ArrayList<>();
+        }
+        for (EnvioPendente pendente : pendentes) {
+            if (pendentes.remove(pendente)) {
+                registrarFalhas(pendente.canal.getNome(), pendente.notificacoes, ERRO_ENCERRAMENTO,
+                        pendente.tentativa - 1);
+            }
+        }
+        gravarRecusadas();
+    }
+
+    /**
+     * Enfileira a notificação para todos os canais, sem bloquear nem acessar o banco.
+     * Com a fila cheia a notificação é separada para ser gravada como falha pelo pool de envio.
+     *
+     * @return false se a notificação foi recusada por falta de espaço na fila
+     */
+    public boolean enfileirar(Notificacao notificacao) {
+        if (fila.offer(notificacao)) {
+            return true;
+        }
+        meterRegistry.counter("horta.notificacoes.descartadas", "canal", CANAL_FILA).increment();
+        if (recusadas.offer(notificacao)) {
+            logger.warn("Fila de notificações cheia ({}); notificação para {} será registrada como falha",
+                    capacidadeFila, notificacao.destinatario());
+        } else {
+            logger.warn("Fila de notificações cheia ({}); notificação para {} descartada sem registro",
+                    capacidadeFila, notificacao.destinatario());
+        }
+        return false;
+    }
+
+    /**
+     * Quantidade de notificações aguardando o agrupamento
+     */
+    public int getTamanhoFila() {
+        return fila.size();
+    }
+
+    /**
+     * Lista as notificações não entregues mais recentes
+     */
+    public List<NotificacaoFalha> listarFalhas() {
+        return notificacaoFalhaRepository.findTop100ByOrderByDataCriacaoDesc();
+    }
+
+    /**
+     * Aguarda a primeira notificação, junta as que chegarem até o fim da janela
+     * (ou até o lote máximo) e dispara um envio por canal e destinatário
+     */
+    private void agrupar() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Notificacao> lote = new ArrayList<>();
+            try {
+                lote.add(fila.take());
+                long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(janelaLoteMs);
+                while (lote.size() < loteMaximo) {
+                    Notificacao proxima = fila.poll(prazo - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (proxima == null) {
+                        break;
+                    }
+                    lote.add(proxima);
+                }
+            } catch (InterruptedException e) {
+                // Encerramento: o lote já retirado da fila ainda é despachado
+                Thread.currentThread().interrupt();
+            }
+            if (lote.isEmpty()) {
+                continue;
+            }
+            try {
+                Map<String, List<Notificacao>> porDestinatario = new LinkedHashMap<>();
+                lote.forEach(n -> porDestinatario.computeIfAbsent(n.destinatario(), d -> new ArrayList<>()).add(n));
+                for (NotificacaoCanal canal : canais) {
+                    porDestinatario.forEach((destinatario, notificacoes) ->
+                            agendar(new EnvioPendente(canal, destinatario, notificacoes, 1), Instant.now()));
+                }
+            } catch (RuntimeException e) {
+                logger.error("Erro ao agrupar notificações: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Entrega o lote ao pool de envio; com o pool já encerrado, o lote é gravado como falha
+     */
+    private void agendar(EnvioPendente pendente, Instant quando) {
+        pendentes.add(pendente);
+        try {
+            envio.schedule(() -> {
+                if (pendentes.remove(pendente)) {
+                    enviar(pendente.canal, pendente.destinatario, pendente.notificacoes, pendente.tentativa);
+                }
+            }, quando);
+        } catch (TaskRejectedException e) {
+            if (pendentes.remove(pendente)) {
+                registrarFalhas(pendente.canal.getNome(), pendente.notificacoes, ERRO_ENCERRAMENTO, pendente.tentativa - 1);
+            }
+        }
+    }
+
+    /**
+     * Grava em lote, como falha, as notificações recusadas com a fila cheia
+     */
+    private void gravarRecusadas() {
+        List<Notificacao> pendentes = new ArrayList<>();
+        while (recusadas.drainTo(pendentes, loteMaximo) > 0) {
+            registrarFalhas(CANAL_FILA, pendentes, "Fila de notificações cheia", 0);
+            pendentes = new ArrayList<>();
+        }
+    }
+
+    private void enviar(NotificacaoCanal canal, String destinatario, List<Notificacao> notificacoes, int tentativa) {
+        Timer.Sample inicio = Timer.start(meterRegistry);
+        try {
+            canal.enviar(destinatario, notificacoes);
+            inicio.stop(meterRegistry.timer("horta.notificacoes.envio", "canal", canal.getNome()));
+            contador("horta.notificacoes.enviadas", canal).increment(notificacoes.size());
+        } catch (Exception e) {
+            inicio.stop(meterRegistry.timer("horta.notificacoes.envio", "canal", canal.getNome()));
+            contador("horta.notificacoes.erros", canal).increment();
+            // Interrompido (ex.: encerramento): não reagenda, registra a falha e mantém o sinal
+            boolean interrompido = e instanceof InterruptedException;
+            if (interrompido) {
+                Thread.currentThread().interrupt();
+            }
+            if (interrompido || tentativa >= tentativas) {
+                logger.error("Notificações para {} não entregues pelo canal {} após {} tentativas: {}",
+                        destinatario, canal.getNome(), tentativa, e.getMessage());
+                contador("horta.notificacoes.descartadas", canal).increment(notificacoes.size());
+                registrarFalhas(canal.getNome(), notificacoes, e.getMessage(), tentativa);
+                return;
+            }
+            long espera = espera(tentativa);
+            logger.warn("Falha ao enviar notificações para {} pelo canal {} (tentativa {}); nova tentativa em {} ms: {}",
+                    destinatario, canal.getNome(), tentativa, espera, e.getMessage());
+            agendar(new EnvioPendente(canal, destinatario, notificacoes, tentativa + 1), Instant.now().plusMillis(espera));
+        }
+    }
+
+    /**
+     * Espera antes da próxima tentativa: dobra a cada falha, até o máximo configurado
+     */
+    long espera(int tentativa) {
+        return Math.min(backoffMaximoMs, backoffInicialMs << Math.min(tentativa - 1, 30));
+    }
+
+    private Counter contador(String nome, NotificacaoCanal canal) {
+        return meterRegistry.counter(nome, "canal", canal.getNome());
+    }
+
+    private void registrarFalhas(String canal, List<Notificacao> notificacoes, String erro, int tentativasRealizadas) {
+        try {
+            notificacaoFalhaRepository.saveAll(notificacoes.stream()
+                    .map(n -> new NotificacaoFalha(canal, n.destinatario(), limitar(n.assunto(), 200),
+                            limitar(n.mensagem(), 4000), limitar(erro, 1000), tentativasRealizadas))
+                    .toList());
+        } catch (RuntimeException e) {
+            logger.error("Erro ao registrar {} notificações não entregues: {}", notificacoes.size(), e.getMessage(), e);
+        }
+    }
+
+    private static String limitar(String texto, int tamanho) {
+        return texto != null && texto.length() > tamanho ? texto.substring(0, tamanho) : texto;
+    }
+}
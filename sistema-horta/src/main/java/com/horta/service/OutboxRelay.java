@@ -0,0 +1,117 @@
+package com.horta.service;
+
+import com.horta.model.EventoOutbox;
+import com.horta.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publica os eventos do outbox aos listeners da aplicação ({@link EventoDominio}).
+ * A cada execução bloqueia um lote com FOR UPDATE SKIP LOCKED, publica os eventos em
+ * ordem e remove os entregues na mesma transação; um evento cujo listener falha fica
+ * na tabela e é reenviado após uma espera crescente. Se a transação não chegar ao
+ * commit, o lote inteiro volta a ser publicado (entrega "pelo menos uma vez").
+ * <p>
+ * Cada evento é publicado em uma transação própria (REQUIRES_NEW): a falha de um listener
+ * desfaz só o que ele gravou e não marca a transação do lote para rollback, de modo que
+ * a remoção dos entregues e o adiamento do que falhou são gravados.
+ * <p>
+ * Cada lote traz no máximo um evento por agregado, o mais antigo ainda na tabela
+ * ({@link EventoOutboxRepository#bloquearDisponiveis}); o seguinte só fica disponível
+ * depois que ele for removido, mesmo com várias réplicas, preservando a ordem por agregado.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Value("${horta.outbox.tamanho-lote:100}")
+    private int tamanhoLote;
+
+    @Value("${horta.outbox.backoff-inicial-ms:1000}")
+    private long backoffInicialMs;
+
+    @Value("${horta.outbox.backoff-maximo-ms:300000}")
+    private long backoffMaximoMs;
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Publica os eventos disponíveis, lote a lote, até não haver mais o que publicar.
+     * Um lote menor que o máximo não esvazia a fila: os eventos seguintes dos agregados
+     * publicados entram no próximo.
+     */
+    @Scheduled(fixedDelayString = "${horta.outbox.intervalo-ms:1000}")
+    public void publicarPendentes() {
+        try {
+            TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+            Integer bloqueados;
+            do {
+                bloqueados = transacao.execute(status -> publicarLote());
+            } while (bloqueados != null && bloqueados > 0);
+        } catch (Exception e) {
+            logger.error("Erro ao publicar eventos do outbox: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Publica um lote e retorna quantos eventos foram bloqueados
+     */
+    private int publicarLote() {
+        LocalDateTime agora = LocalDateTime.now();
+        List<EventoOutbox> eventos = eventoOutboxRepository.bloquearDisponiveis(agora, tamanhoLote);
+
+        TransactionTemplate publicacao = new TransactionTemplate(transactionManager);
+        publicacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        List<EventoOutbox> publicados = new ArrayList<>(eventos.size());
+        for (EventoOutbox evento : eventos) {
+            try {
+                publicacao.executeWithoutResult(status -> eventPublisher.publishEvent(new EventoDominio(evento.getId(),
+                        evento.getTipo(), evento.getAgregadoId(), evento.getPayload(), evento.getDataCriacao())));
+                publicados.add(evento);
+            } catch (RuntimeException e) {
+                long espera = espera(evento.getTentativas() + 1);
+                logger.warn("Falha ao publicar o evento {} ({}), tentativa {}; nova tentativa em {} ms: {}",
+                        evento.getId(), evento.getTipo(), evento.getTentativas() + 1, espera, e.getMessage());
+                evento.registrarFalha(e.getMessage(), agora.plusNanos(espera * 1_000_000));
+                meterRegistry.counter("horta.outbox.falhas", "tipo", evento.getTipo().name()).increment();
+            }
+        }
+
+        eventoOutboxRepository.deleteAllInBatch(publicados);
+        publicados.forEach(evento ->
+                meterRegistry.counter("horta.outbox.publicados", "tipo", evento.getTipo().name()).increment());
+        return eventos.size();
+    }
+
+    /**
+     * Espera antes da próxima tentativa: dobra a cada falha, até o máximo configurado
+     */
+    long espera(int tentativa) {
+        return Math.min(backoffMaximoMs, backoffInicialMs << Math.min(tentativa - 1, 30));
+    }
+}
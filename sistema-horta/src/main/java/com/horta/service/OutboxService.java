@@ -0,0 +1,36 @@
+package com.horta.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.horta.model.EventoOutbox;
+import com.horta.repository.EventoOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Grava eventos de domínio no outbox. Exige a transação da escrita que originou o
+ * evento: ou a alteração e o evento são gravados juntos, ou nenhum dos dois.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Registra o evento com o payload serializado em JSON
+     */
+    public void registrar(EventoOutbox.TipoEvento tipo, Long agregadoId, Object payload) {
+        try {
+            eventoOutboxRepository.save(new EventoOutbox(tipo, agregadoId, objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar o evento " + tipo + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.horta.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Partições mensais das tabelas cuidados e cuidados_arquivo no PostgreSQL
+ * (V10__cuidados_particionados.sql): uma partição por mês ({@code cuidados_pAAAA_MM},
+ * {@code cuidados_arquivo_pAAAA_MM}) e uma partição padrão para as datas sem partição.
+ * <ul>
+ *   <li>As partições dos próximos meses são criadas com antecedência, na inicialização e
+ *       diariamente ({@link #criarParticoesFuturas}), para que os cuidados novos não caiam
+ *       na partição padrão.</li>
+ *   <li>A retenção arquiva o mês inteiro ({@link #arquivar}): a partição é desanexada de
+ *       cuidados e anexada a cuidados_arquivo, operações de metadados, sem copiar nem
+ *       apagar linhas da tabela quente. Cada passo roda em uma transação curta; o bloqueio
+ *       exclusivo de cuidados dura só o DETACH, e restrições CHECK com os limites do mês
+ *       dispensam a verificação das linhas no ATTACH. Um arquivamento interrompido deixa
+ *       a tabela cuidados_arquivo_pAAAA_MM avulsa e é concluído pela próxima execução.</li>
+ *   <li>A chave primária (id, data) não garante IDs únicos: cada partição tem também um
+ *       índice único em id ({@code _id_unico}, V13), criado com a partição e mantido no
+ *       arquivo; entre partições, os IDs vêm de cuidados_seq.</li>
+ * </ul>
+ * Em outros bancos (H2) ou com cuidados sem particionamento fica inativo, e o
+ * {@link ArquivamentoService} move as linhas em lotes.
+ */
+@Component
+public class ParticoesCuidados {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParticoesCuidados.class);
+
+    private static final String CUIDADOS = "cuidados";
+    private static final String ARQUIVO = "cuidados_arquivo";
+    private static final String COLUNAS = "id, planta_id, data, tipo, observacoes, data_criacao, usuario_responsavel";
+
+    // IDs lidos por vez da partição arquivada para remover do índice de busca
+    private static final int LOTE_BUSCA = 1000;
+
+    // Meses criados à frente do mês atual
+    @Value("${horta.particionamento.meses-futuros:3}")
+    private int mesesFuturos;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private CoordenacaoCluster coordenacaoCluster;
+
+    @Autowired
+    private BuscaService buscaService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Clock relogio = Clock.systemDefaultZone();
+
+    // Detectado na primeira consulta, depois das migrações
+    private volatile Boolean ativo;
+
+    /**
+     * Indica se cuidados é uma tabela particionada do PostgreSQL
+     */
+    public boolean isAtivo() {
+        Boolean particionada = ativo;
+        if (particionada == null) {
+            particionada = detectar();
+            ativo = particionada;
+        }
+        return particionada;
+    }
+
+    /**
+     * Cria as partições dos próximos meses (na inicialização e diariamente, em uma única instância)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${horta.particionamento.cron:0 15 0 * * *}")
+    public void manutencaoAgendada() {
+        try {
+            if (isAtivo()) {
+                coordenacaoCluster.executarUmaVez("particoes-cuidados", () ->
+                        new TransactionTemplate(transactionManager).executeWithoutResult(status -> criarParticoesFuturas()));
+            }
+        } catch (Exception e) {
+            logger.error("Erro ao criar as partições de cuidados: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cria as partições de cuidados do mês atual e dos próximos meses que ainda não existem.
+     * Deve ser chamado em uma transação.
+     *
+     * @return os meses criados
+     */
+    public List<YearMonth> criarParticoesFuturas() {
+        bloquear();
+        TreeSet<YearMonth> existentes = listar(CUIDADOS);
+        YearMonth atual = YearMonth.now(relogio);
+        List<YearMonth> criados = new ArrayList<>();
+        for (int i = 0; i <= mesesFuturos; i++) {
+            YearMonth mes = atual.plusMonths(i);
+            if (!existentes.contains(mes)) {
+                criar(mes);
+                criados.add(mes);
+            }
+        }
+        if (!criados.isEmpty()) {
+            logger.info("📅 Partições de cuidados criadas: {}", criados);
+        }
+        return criados;
+    }
+
+    /**
+     * Meses com partição em cuidados inteiramente anteriores à data limite, mais os meses
+     * com arquivamento interrompido, do mais antigo
+     */
+    public List<YearMonth> listarExpiradas(LocalDate dataLimite) {
+        TreeSet<YearMonth> meses = listar(CUIDADOS);
+        meses.addAll(listarAvulsas());
+        return meses.stream()
+                .filter(mes -> !mes.plusMonths(1).atDay(1).isAfter(dataLimite))
+                .toList();
+    }
+
+    /**
+     * Move a partição do mês de cuidados para cuidados_arquivo, em transações curtas;
+     * não deve ser chamado dentro de uma transação.
+     * <ol>
+     *   <li>DETACH da partição, remoção da chave estrangeira e renomeação para o nome do
+     *       arquivo: a única transação com bloqueio exclusivo de cuidados.</li>
+     *   <li>CHECK com os limites do mês na tabela avulsa e, ainda NOT VALID, o CHECK oposto
+     *       na partição padrão do arquivo, que passa a recusar cuidados do mês.</li>
+     *   <li>Cuidados do mês arquivados antes em lotes passam da partição padrão para a tabela.</li>
+     *   <li>VALIDATE do CHECK da partição padrão, sem bloquear leituras nem escritas.</li>
+     *   <li>ATTACH em cuidados_arquivo, sem varrer as linhas graças aos dois CHECKs, que são
+     *       removidos em seguida junto com os índices sem correspondente no arquivo.</li>
+     * </ol>
+     * Cada passo confere o estado das tabelas antes de agir; uma execução interrompida é
+     * retomada pelo passo em que parou.
+     *
+     * @return quantidade de cuidados arquivados, ou vazio se o mês já não tem partição a arquivar
+     */
+    public OptionalInt arquivar(YearMonth mes) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        String origem = nome(CUIDADOS, mes);
+        String destino = nome(ARQUIVO, mes);
+        String restricao = destino + "_limites";
+        String restricaoPadrao = ARQUIVO + "_padrao_fora_" + destino;
+
+        Boolean desanexada = transacao.execute(status -> {
+            bloquear();
+            if (!listar(CUIDADOS).contains(mes)) {
+                return false;
+            }
+            executar("ALTER TABLE " + CUIDADOS + " DETACH PARTITION " + origem);
+            // O arquivo referencia a planta só pelo ID: a chave estrangeira herdada sai com a partição
+            for (String chave : consultarNomes("SELECT conname::text FROM pg_constraint " +
+                    "WHERE conrelid = to_regclass(:tabela) AND contype = 'f'", origem)) {
+                executar("ALTER TABLE " + origem + " DROP CONSTRAINT " + chave);
+            }
+            executar("ALTER TABLE " + origem + " RENAME TO " + destino);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(desanexada) && !listarAvulsas().contains(mes)) {
+            return OptionalInt.empty();
+        }
+
+        removerDaBusca(destino);
+        String filtro = "data >= '" + mes.atDay(1) + "' AND data < '" + mes.plusMonths(1).atDay(1) + "'";
+        Integer quantidade = transacao.execute(status -> {
+            bloquear();
+            executar("ALTER TABLE " + destino + " DROP CONSTRAINT IF EXISTS " + restricao);
+            executar("ALTER TABLE " + destino + " ADD CONSTRAINT " + restricao + " CHECK (" + filtro + ")");
+            executar("ALTER TABLE " + ARQUIVO + "_padrao DROP CONSTRAINT IF EXISTS " + restricaoPadrao);
+            executar("ALTER TABLE " + ARQUIVO + "_padrao ADD CONSTRAINT " + restricaoPadrao +
+                    " CHECK (NOT (" + filtro + ")) NOT VALID");
+            return ((Number) entityManager.createNativeQuery("SELECT count(*) FROM " + destino)
+                    .getSingleResult()).intValue();
+        });
+        transacao.executeWithoutResult(status -> moverDaPadrao(ARQUIVO, destino, mes));
+        transacao.executeWithoutResult(status ->
+                executar("ALTER TABLE " + ARQUIVO + "_padrao VALIDATE CONSTRAINT " + restricaoPadrao));
+        transacao.executeWithoutResult(status -> {
+            bloquear();
+            executar("ALTER TABLE " + ARQUIVO + " ATTACH PARTITION " + destino + limites(mes));
+            executar("ALTER TABLE " + destino + " DROP CONSTRAINT " + restricao);
+            executar("ALTER TABLE " + ARQUIVO + "_padrao DROP CONSTRAINT " + restricaoPadrao);
+            // Índices de cuidados sem correspondente no arquivo (tipo, data de criação, busca);
+            // o índice único em id da partição é mantido
+            for (String indice : consultarNomes("SELECT i.relname::text FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid " +
+                    "WHERE x.indrelid = to_regclass(:tabela) AND NOT i.relispartition AND NOT x.indisunique", destino)) {
+                executar("DROP INDEX " + indice);
+            }
+        });
+
+        logger.info("🗄️ Partição {} arquivada como {}: {} cuidados", origem, destino, quantidade);
+        return OptionalInt.of(quantidade);
+    }
+
+    /**
+     * Remove do índice de busca os cuidados da tabela desanexada, lidos em lotes pelo ID;
+     * nada é lido se o índice ativo não precisa de indexação (busca no próprio banco)
+     */
+    @SuppressWarnings("unchecked")
+    private void removerDaBusca(String tabela) {
+        if (!buscaService.requerIndexacao()) {
+            return;
+        }
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        long ultimo = Long.MIN_VALUE;
+        List<Long> ids;
+        do {
+            long aPartirDe = ultimo;
+            ids = leitura.execute(status -> ((List<Number>) entityManager.createNativeQuery(
+                            "SELECT id FROM " + tabela + " WHERE id > :ultimo ORDER BY id LIMIT " + LOTE_BUSCA)
+                    .setParameter("ultimo", aPartirDe)
+                    .getResultList()).stream()
+                    .map(Number::longValue)
+                    .toList());
+            if (!ids.isEmpty()) {
+                buscaService.removerCuidados(ids);
+                ultimo = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == LOTE_BUSCA);
+    }
+
+    /**
+     * Cria a partição do mês, com o índice único em id; se a partição padrão já tiver
+     * cuidados do mês, eles são movidos para a nova tabela antes de ela ser anexada
+     */
+    private void criar(YearMonth mes) {
+        String particao = nome(CUIDADOS, mes);
+        Object possuiLinhas = entityManager.createNativeQuery("SELECT EXISTS (SELECT 1 FROM " + CUIDADOS +
+                        "_padrao WHERE data >= :inicio AND data < :fim)")
+                .setParameter("inicio", mes.atDay(1))
+                .setParameter("fim", mes.plusMonths(1).atDay(1))
+                .getSingleResult();
+        if (Boolean.TRUE.equals(possuiLinhas)) {
+            executar("CREATE TABLE " + particao + " (LIKE " + CUIDADOS + " INCLUDING DEFAULTS INCLUDING GENERATED)");
+            criarIdUnico(particao);
+            moverDaPadrao(CUIDADOS, particao, mes);
+            executar("ALTER TABLE " + CUIDADOS + " ATTACH PARTITION " + particao + limites(mes));
+        } else {
+            executar("CREATE TABLE " + particao + " PARTITION OF " + CUIDADOS + limites(mes));
+            criarIdUnico(particao);
+        }
+    }
+
+    private void criarIdUnico(String particao) {
+        executar("CREATE UNIQUE INDEX IF NOT EXISTS " + particao + "_id_unico ON " + particao + " (id)");
+    }
+
+    private void moverDaPadrao(String tabela, String destino, YearMonth mes) {
+        String padrao = tabela + "_padrao";
+        String filtro = " WHERE data >= '" + mes.atDay(1) + "' AND data < '" + mes.plusMonths(1).atDay(1) + "'";
+        int movidos = executar("INSERT INTO " + destino + " (" + COLUNAS + ") SELECT " + COLUNAS +
+                " FROM " + padrao + filtro);
+        if (movidos > 0) {
+            executar("DELETE FROM " + padrao + filtro);
+            logger.info("{} cuidados de {} movidos da partição padrão para {}", movidos, mes, destino);
+        }
+    }
+
+    /**
+     * Meses com partição na tabela, pela convenção de nomes (tabela_pAAAA_MM)
+     */
+    private TreeSet<YearMonth> listar(String tabela) {
+        Pattern padrao = Pattern.compile(Pattern.quote(tabela) + "_p(\\d{4})_(\\d{2})");
+        TreeSet<YearMonth> meses = new TreeSet<>();
+        for (String particao : consultarNomes("SELECT c.relname::text FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass(:tabela)", tabela)) {
+            Matcher nome = padrao.matcher(particao);
+            if (nome.matches()) {
+                meses.add(YearMonth.of(Integer.parseInt(nome.group(1)), Integer.parseInt(nome.group(2))));
+            }
+        }
+        return meses;
+    }
+
+    /**
+     * Meses com tabela cuidados_arquivo_pAAAA_MM fora do particionamento (arquivamento interrompido)
+     */
+    private TreeSet<YearMonth> listarAvulsas() {
+        Pattern padrao = Pattern.compile(Pattern.quote(ARQUIVO) + "_p(\\d{4})_(\\d{2})");
+        TreeSet<YearMonth> meses = new TreeSet<>();
+        for (String tabela : consultarNomes("SELECT c.relname::text FROM pg_class c JOIN pg_class a ON a.relnamespace = c.relnamespace " +
+                "WHERE a.oid = to_regclass(:tabela) AND c.relkind = 'r' AND NOT c.relispartition", ARQUIVO)) {
+            Matcher nome = padrao.matcher(tabela);
+            if (nome.matches()) {
+                meses.add(YearMonth.of(Integer.parseInt(nome.group(1)), Integer.parseInt(nome.group(2))));
+            }
+        }
+        return meses;
+    }
+
+    /**
+     * Serializa os passos de arquivamento e criação de partições até o fim da transação
+     */
+    private void bloquear() {
+        entityManager.createNativeQuery("SELECT pg_advisory_xact_lock(hashtext(:chave))")
+                .setParameter("chave", "particoes-cuidados")
+                .getSingleResult();
+    }
+
+    private boolean detectar() {
+        String banco = entityManager.unwrap(Session.class)
+                .doReturningWork(conexao -> conexao.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(banco)) {
+            return false;
+        }
+        Object particionada = entityManager.createNativeQuery(
+                        "SELECT EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass(:tabela) AND relkind = 'p')")
+                .setParameter("tabela", CUIDADOS)
+                .getSingleResult();
+        logger.info("Tabela de cuidados {}", Boolean.TRUE.equals(particionada) ? "particionada por mês" : "sem particionamento");
+        return Boolean.TRUE.equals(particionada);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> consultarNomes(String sql, String tabela) {
+        return entityManager.createNativeQuery(sql).setParameter("tabela", tabela).getResultList();
+    }
+
+    private int executar(String sql) {
+        return entityManager.createNativeQuery(sql).executeUpdate();
+    }
+
+    private static String nome(String tabela, YearMonth mes) {
+        return "%s_p%04d_%02d".formatted(tabela, mes.getYear(), mes.getMonthValue());
+    }
+
+    private static String limites(YearMonth mes) {
+        return " FOR VALUES FROM ('" + mes.atDay(1) + "') TO ('" + mes.plusMonths(1).atDay(1) + "')";
+    }
+}
@@ -0,0 +1,72 @@
+package com.horta.service;
+
+import com.horta.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+
+/**
+ * Remoção precisa das entradas de cache de plantas após escritas.
+ * A remoção acontece depois do commit, para que uma leitura concorrente não
+ * recoloque no cache os dados anteriores à transação.
+ */
+@Component
+public class PlantaCache {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Remove a planta do cache por ID e as listas por tipo e região que a contêm
+     */
+    public void evictPlanta(Long id, String tipo, String regiao) {
+        aposCommit(() -> {
+            evict(CacheConfig.PLANTAS, id);
+            evict(CacheConfig.PLANTAS_POR_TIPO, chave(tipo));
+            evict(CacheConfig.PLANTAS_POR_REGIAO, chave(regiao));
+        });
+    }
+
+    /**
+     * Remove apenas as listas por tipo e região (ex.: planta recém-criada)
+     */
+    public void evictListas(String tipo, String regiao) {
+        aposCommit(() -> {
+            evict(CacheConfig.PLANTAS_POR_TIPO, chave(tipo));
+            evict(CacheConfig.PLANTAS_POR_REGIAO, chave(regiao));
+        });
+    }
+
+    /**
+     * Chave das listas por tipo e região: as consultas ignoram maiúsculas e minúsculas,
+     * então "Tomate" e "TOMATE" compartilham a mesma entrada
+     */
+    public static String chave(String valor) {
+        return valor == null ? null : valor.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void evict(String nomeCache, Object chave) {
+        Cache cache = cacheManager.getCache(nomeCache);
+        if (cache != null && chave != null) {
+            cache.evict(chave);
+        }
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
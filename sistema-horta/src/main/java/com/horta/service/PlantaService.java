@@ -1,12 +1,23 @@
 package com.horta.service;
 
+import com.horta.config.CacheConfig;
+import com.horta.dto.PaginaDTO;
 import com.horta.dto.PlantaDTO;
+import com.horta.model.EventoOutbox;
 import com.horta.model.Planta;
+import com.horta.repository.CuidadoArquivoRepository;
 import com.horta.repository.PlantaRepository;
+import com.horta.repository.projecao.EstatisticaTipo;
+import com.horta.repository.projecao.PlantaComTotalCuidados;
+import com.horta.repository.projecao.PlantaIdentificacao;
+import com.horta.repository.projecao.PlantaNome;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -24,6 +35,33 @@ public class PlantaService {
     @Autowired
     private PlantaRepository plantaRepository;
 
+    @Autowired
+    private CuidadoArquivoRepository cuidadoArquivoRepository;
+
+    @Autowired
+    private PlantaCache plantaCache;
+
+    @Autowired
+    private EstatisticaService estatisticaService;
+
+    @Autowired
+    private BuscaService buscaService;
+
+    @Autowired
+    private AutocompletePlantas autocompletePlantas;
+
+    @Autowired
+    private AgendaAlertas agendaAlertas;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    // Quantidade de sugestões do autocomplete quando o limite não é informado
+    public static final int LIMITE_AUTOCOMPLETE_PADRAO = 10;
+
+    // Quantidade máxima de sugestões do autocomplete
+    public static final int LIMITE_AUTOCOMPLETE_MAXIMO = 50;
+
     /**
      * Salva uma nova planta
      */
@@ -32,8 +70,16 @@ public class PlantaService {
         
         Planta planta = convertToEntity(plantaDTO);
         Planta plantaSalva = plantaRepository.save(planta);
+        estatisticaService.registrarPlanta(plantaSalva.getTipo());
+        buscaService.indexarPlanta(plantaSalva.getId(), plantaSalva.getNome(), plantaSalva.getDescricao());
+        autocompletePlantas.registrar(plantaSalva.getId(), plantaSalva.getNome());
+        agendaAlertas.reagendar(plantaSalva.getId());
+        plantaCache.evictListas(plantaSalva.getTipo(), plantaSalva.getRegiao());
         
-        return convertToDTO(plantaSalva);
+        // Planta recém-criada ainda não possui cuidados
+        PlantaDTO plantaSalvaDTO = convertToDTO(plantaSalva, 0L);
+        outboxService.registrar(EventoOutbox.TipoEvento.PLANTA_CRIADA, plantaSalva.getId(), plantaSalvaDTO);
+        return plantaSalvaDTO;
     }
 
     /**
@@ -44,6 +90,10 @@ public class PlantaService {
                 .orElseThrow(() -> new RuntimeException("Planta não encontrada com ID: " + id));
 
         validarPlanta(plantaDTO);
+
+        // Tipo e região anteriores também precisam sair do cache
+        plantaCache.evictPlanta(id, plantaExistente.getTipo(), plantaExistente.getRegiao());
+        estatisticaService.alterarTipoPlanta(plantaExistente.getTipo(), plantaDTO.getTipo());
         
         // Atualiza os campos
         plantaExistente.setNome(plantaDTO.getNome());
@@ -56,15 +106,22 @@ public class PlantaService {
         plantaExistente.setDiasEntrePodas(plantaDTO.getDiasEntrePodas());
 
         Planta plantaAtualizada = plantaRepository.save(plantaExistente);
-        return convertToDTO(plantaAtualizada);
+        buscaService.indexarPlanta(id, plantaAtualizada.getNome(), plantaAtualizada.getDescricao());
+        autocompletePlantas.registrar(id, plantaAtualizada.getNome());
+        agendaAlertas.reagendar(id);
+        plantaCache.evictPlanta(id, plantaAtualizada.getTipo(), plantaAtualizada.getRegiao());
+        PlantaDTO plantaAtualizadaDTO = convertToDTO(plantaAtualizada, plantaRepository.countCuidadosDaPlanta(id));
+        outboxService.registrar(EventoOutbox.TipoEvento.PLANTA_ATUALIZADA, id, plantaAtualizadaDTO);
+        return plantaAtualizadaDTO;
     }
 
     /**
      * Busca planta por ID
      */
+    @Cacheable(cacheNames = CacheConfig.PLANTAS, key = "#id")
     @Transactional(readOnly = true)
     public Optional<PlantaDTO> buscarPorId(Long id) {
-        return plantaRepository.findById(id)
+        return plantaRepository.findByIdComTotalCuidados(id)
                 .map(this::convertToDTO);
     }
 
@@ -73,27 +130,107 @@ public class PlantaService {
      */
     @Transactional(readOnly = true)
     public List<PlantaDTO> listarTodas() {
-        return plantaRepository.findAll().stream()
+        return plantaRepository.findAllComTotalCuidados().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Lista plantas paginadas por cursor, ordenadas por (dataPlantio, id)
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<PlantaDTO> listarPagina(String cursor, Integer limite) {
+        int limiteNormalizado = CursorPaginacao.normalizarLimite(limite);
+        Pageable consulta = CursorPaginacao.consultaComSobra(limiteNormalizado);
+
+        List<PlantaComTotalCuidados> resultados;
+        if (cursor == null || cursor.isBlank()) {
+            resultados = plantaRepository.findPrimeiraPaginaComTotalCuidados(consulta);
+        } else {
+            CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+            resultados = plantaRepository.findPaginaAposComTotalCuidados(posicao.data(), posicao.id(), consulta);
+        }
+
+        List<PlantaDTO> itens = resultados.stream()
+                .limit(limiteNormalizado)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+
+        String proximoCursor = null;
+        if (resultados.size() > limiteNormalizado) {
+            PlantaDTO ultima = itens.get(itens.size() - 1);
+            proximoCursor = new CursorPaginacao(ultima.getDataPlantio(), ultima.getId()).codificar();
+        }
+        return new PaginaDTO<>(itens, limiteNormalizado, proximoCursor);
+    }
+
+    /**
+     * Lista as plantas plantadas mais recentemente, limitadas no próprio banco
+     */
+    @Transactional(readOnly = true)
+    public List<PlantaDTO> listarMaisRecentes(int limite) {
+        return plantaRepository.findMaisRecentesComTotalCuidados(PageRequest.of(0, limite)).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Conta o total de plantas
+     */
+    @Transactional(readOnly = true)
+    public long contarPlantas() {
+        return plantaRepository.count();
+    }
+
+    /**
+     * Conta plantas que precisam de rega
+     */
+    @Transactional(readOnly = true)
+    public long contarPlantasQueNecessitamRega() {
+        return plantaRepository.countByProximaRegaLessThanEqual(LocalDate.now());
+    }
+
+    /**
+     * Conta plantas prontas para colheita
+     */
+    @Transactional(readOnly = true)
+    public long contarPlantasProntasParaColheita() {
+        return plantaRepository.countByDataColheitaLessThanEqual(LocalDate.now());
+    }
+
     /**
      * Busca plantas por nome
      */
     @Transactional(readOnly = true)
     public List<PlantaDTO> buscarPorNome(String nome) {
-        return plantaRepository.findByNomeContainingIgnoreCase(nome).stream()
+        return plantaRepository.findByNomeComTotalCuidados(nome).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Sugere plantas (ID e nome) pelo prefixo do nome, a partir do índice em memória.
+     * SUPPORTS evita abrir transação e obter conexão a cada tecla digitada.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<PlantaNome> autocompletar(String prefixo, Integer limite) {
+        if (prefixo == null || prefixo.isBlank()) {
+            throw new IllegalArgumentException("Prefixo é obrigatório");
+        }
+        if (limite != null && limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser positivo");
+        }
+        int limiteNormalizado = limite == null ? LIMITE_AUTOCOMPLETE_PADRAO : Math.min(limite, LIMITE_AUTOCOMPLETE_MAXIMO);
+        return autocompletePlantas.sugerir(prefixo, limiteNormalizado);
+    }
+
     /**
      * Busca plantas por tipo
      */
+    @Cacheable(cacheNames = CacheConfig.PLANTAS_POR_TIPO, key = "T(com.horta.service.PlantaCache).chave(#tipo)")
     @Transactional(readOnly = true)
     public List<PlantaDTO> buscarPorTipo(String tipo) {
-        return plantaRepository.findByTipoIgnoreCase(tipo).stream()
+        return plantaRepository.findByTipoComTotalCuidados(PlantaCache.chave(tipo)).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -101,9 +238,10 @@ public class PlantaService {
     /**
      * Busca plantas por região
      */
+    @Cacheable(cacheNames = CacheConfig.PLANTAS_POR_REGIAO, key = "T(com.horta.service.PlantaCache).chave(#regiao)")
     @Transactional(readOnly = true)
     public List<PlantaDTO> buscarPorRegiao(String regiao) {
-        return plantaRepository.findByRegiaoIgnoreCase(regiao).stream()
+        return plantaRepository.findByRegiaoComTotalCuidados(PlantaCache.chave(regiao)).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -113,7 +251,7 @@ public class PlantaService {
      */
     @Transactional(readOnly = true)
     public List<PlantaDTO> buscarPlantasProntasParaColheita() {
-        return plantaRepository.findPlantasProntasParaColheita(LocalDate.now()).stream()
+        return plantaRepository.findPlantasProntasParaColheitaComTotalCuidados(LocalDate.now()).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -123,7 +261,7 @@ public class PlantaService {
      */
     @Transactional(readOnly = true)
     public List<PlantaDTO> buscarPlantasQueNecessitamRega() {
-        return plantaRepository.findPlantasQueNecessitamRega(LocalDate.now()).stream()
+        return plantaRepository.findPlantasQueNecessitamRegaComTotalCuidados(LocalDate.now()).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -133,7 +271,7 @@ public class PlantaService {
      */
     @Transactional(readOnly = true)
     public List<PlantaDTO> buscarPlantasQueNecessitamPoda() {
-        return plantaRepository.findPlantasQueNecessitamPoda(LocalDate.now()).stream()
+        return plantaRepository.findPlantasQueNecessitamPodaComTotalCuidados(LocalDate.now()).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -141,10 +279,11 @@ public class PlantaService {
     /**
      * Sugere plantas para uma região
      */
+    @Cacheable(cacheNames = CacheConfig.PLANTAS_POR_REGIAO, key = "T(com.horta.service.PlantaCache).chave(#regiao)")
     @Transactional(readOnly = true)
     public List<PlantaDTO> sugerirPlantasParaRegiao(String regiao) {
         // Busca plantas que já foram plantadas com sucesso na região
-        return plantaRepository.findByRegiaoIgnoreCase(regiao).stream()
+        return plantaRepository.findByRegiaoComTotalCuidados(PlantaCache.chave(regiao)).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -153,10 +292,17 @@ public class PlantaService {
      * Remove uma planta
      */
     public void removerPlanta(Long id) {
-        if (!plantaRepository.existsById(id)) {
-            throw new RuntimeException("Planta não encontrada com ID: " + id);
-        }
+        PlantaIdentificacao planta = plantaRepository.findIdentificacaoById(id)
+                .orElseThrow(() -> new RuntimeException("Planta não encontrada com ID: " + id));
+
+        estatisticaService.removerPlanta(id, planta.tipo());
+        cuidadoArquivoRepository.removerPorPlantaId(id);
         plantaRepository.deleteById(id);
+        buscaService.removerPlanta(id);
+        autocompletePlantas.remover(id);
+        agendaAlertas.remover(id);
+        outboxService.registrar(EventoOutbox.TipoEvento.PLANTA_REMOVIDA, id, planta);
+        plantaCache.evictPlanta(id, planta.tipo(), planta.regiao());
     }
 
     /**
@@ -165,7 +311,7 @@ public class PlantaService {
     @Transactional(readOnly = true)
     public List<PlantaDTO> buscarPlantasRecentes(int dias) {
         LocalDate dataLimite = LocalDate.now().minusDays(dias);
-        return plantaRepository.findPlantasRecentementePlantadas(dataLimite).stream()
+        return plantaRepository.findPlantasRecentementePlantadasComTotalCuidados(dataLimite).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -174,8 +320,8 @@ public class PlantaService {
      * Obtém estatísticas de plantas por tipo
      */
     @Transactional(readOnly = true)
-    public List<Object[]> obterEstatisticasPorTipo() {
-        return plantaRepository.countPlantasPorTipo();
+    public List<EstatisticaTipo> obterEstatisticasPorTipo() {
+        return estatisticaService.obterPlantasPorTipo();
     }
 
     // Métodos auxiliares
@@ -202,7 +348,11 @@ public class PlantaService {
         }
     }
 
-    private PlantaDTO convertToDTO(Planta planta) {
+    private PlantaDTO convertToDTO(PlantaComTotalCuidados projecao) {
+        return convertToDTO(projecao.planta(), projecao.totalCuidados());
+    }
+
+    private PlantaDTO convertToDTO(Planta planta, long totalCuidados) {
         PlantaDTO dto = new PlantaDTO();
         dto.setId(planta.getId());
         dto.setNome(planta.getNome());
@@ -219,7 +369,7 @@ public class PlantaService {
         dto.setProximaRega(planta.calcularProximaRega());
         dto.setProximaPoda(planta.calcularProximaPoda());
         dto.setTempoColheita(planta.isTempoColheita());
-        dto.setTotalCuidados(planta.getCuidados().size());
+        dto.setTotalCuidados((int) totalCuidados);
         
         return dto;
     }
@@ -0,0 +1,73 @@
+-- Particionamento mensal de cuidados e cuidados_arquivo por intervalo de data.
+-- Cada mês tem uma partição (cuidados_pAAAA_MM, cuidados_arquivo_pAAAA_MM) e as datas sem
+-- partição ficam na partição padrão. As consultas filtradas por data leem só as partições do
+-- intervalo, e a retenção (ParticoesCuidados) desanexa o mês inteiro de cuidados e o anexa a
+-- cuidados_arquivo, sem copiar nem apagar linhas: por isso as duas tabelas têm as mesmas colunas.
+-- A chave primária passa a incluir a data, exigência do particionamento; os IDs continuam
+-- vindo de cuidados_seq. As partições dos próximos meses são criadas diariamente pela aplicação.
+
+ALTER TABLE cuidados RENAME TO cuidados_sem_particao;
+ALTER TABLE cuidados_arquivo RENAME TO cuidados_arquivo_sem_particao;
+DROP INDEX IF EXISTS idx_cuidados_arquivo_planta;
+
+CREATE TABLE cuidados (
+    id                  BIGINT       NOT NULL,
+    planta_id           BIGINT       NOT NULL,
+    data                DATE         NOT NULL,
+    tipo                VARCHAR(20)  NOT NULL
+        CHECK (tipo IN ('REGA', 'PODA', 'COLHEITA', 'FERTILIZACAO', 'TRANSPLANTE', 'TRATAMENTO', 'OUTROS')),
+    observacoes         VARCHAR(1000),
+    data_criacao        TIMESTAMP(6) NOT NULL,
+    usuario_responsavel VARCHAR(100),
+    busca               tsvector
+        GENERATED ALWAYS AS (to_tsvector('portuguese', coalesce(observacoes, ''))) STORED
+) PARTITION BY RANGE (data);
+
+-- Mesmas colunas (inclusive busca), sem a restrição de tipo e sem chave estrangeira
+CREATE TABLE cuidados_arquivo (LIKE cuidados INCLUDING GENERATED) PARTITION BY RANGE (data);
+
+CREATE TABLE cuidados_padrao PARTITION OF cuidados DEFAULT;
+CREATE TABLE cuidados_arquivo_padrao PARTITION OF cuidados_arquivo DEFAULT;
+
+-- Uma partição por mês, do cuidado mais antigo (no máximo 36 meses atrás) até daqui a 3 meses;
+-- os cuidados mais antigos ficam na partição padrão até serem arquivados em lotes
+DO $$
+DECLARE
+    mes DATE;
+BEGIN
+    SELECT GREATEST(COALESCE(date_trunc('month', MIN(data)), date_trunc('month', CURRENT_DATE)),
+                    date_trunc('month', CURRENT_DATE) - INTERVAL '36 months')::date
+    INTO mes
+    FROM cuidados_sem_particao;
+
+    WHILE mes <= date_trunc('month', CURRENT_DATE) + INTERVAL '3 months' LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF cuidados FOR VALUES FROM (%L) TO (%L)',
+                       'cuidados_p' || to_char(mes, 'YYYY_MM'), mes, (mes + INTERVAL '1 month')::date);
+        mes := (mes + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO cuidados (id, planta_id, data, tipo, observacoes, data_criacao, usuario_responsavel)
+SELECT id, planta_id, data, tipo, observacoes, data_criacao, usuario_responsavel
+FROM cuidados_sem_particao;
+
+INSERT INTO cuidados_arquivo (id, planta_id, data, tipo, observacoes, data_criacao, usuario_responsavel)
+SELECT id, planta_id, data, tipo, observacoes, data_criacao, usuario_responsavel
+FROM cuidados_arquivo_sem_particao;
+
+DROP TABLE cuidados_sem_particao;
+DROP TABLE cuidados_arquivo_sem_particao;
+
+-- Chaves e índices criados após a carga; são replicados em cada partição
+ALTER TABLE cuidados ADD PRIMARY KEY (id, data);
+ALTER TABLE cuidados ADD FOREIGN KEY (planta_id) REFERENCES plantas (id);
+
+CREATE INDEX idx_cuidados_data_id ON cuidados (data, id);
+CREATE INDEX idx_cuidados_planta_tipo_data ON cuidados (planta_id, tipo, data DESC);
+CREATE INDEX idx_cuidados_planta_data ON cuidados (planta_id, data DESC);
+CREATE INDEX idx_cuidados_data_criacao ON cuidados (data_criacao);
+CREATE INDEX idx_cuidados_busca ON cuidados USING GIN (busca);
+
+-- Mesmas colunas dos índices de cuidados: a partição anexada reaproveita os índices que já tem
+ALTER TABLE cuidados_arquivo ADD PRIMARY KEY (id, data);
+CREATE INDEX idx_cuidados_arquivo_planta ON cuidados_arquivo (planta_id, data DESC);
@@ -0,0 +1,4 @@
+-- Ordem por agregado no outbox: o relay só publica o evento mais antigo de cada agregado
+-- ainda na tabela (NOT EXISTS por agregado_id e id)
+
+CREATE INDEX IF NOT EXISTS idx_outbox_eventos_agregado ON outbox_eventos (agregado_id, id);
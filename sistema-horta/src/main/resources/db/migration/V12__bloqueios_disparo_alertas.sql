@@ -0,0 +1,4 @@
+-- Até quando a instância dona de cada partição de alertas ("alertas:*") já disparou os
+-- alertas vencidos; quem assume a partição dispara só o que vence depois disso
+
+ALTER TABLE bloqueios_agendamento ADD COLUMN IF NOT EXISTS disparado_ate TIMESTAMP;
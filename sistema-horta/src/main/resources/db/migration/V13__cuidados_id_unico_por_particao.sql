@@ -0,0 +1,17 @@
+-- Com a chave primária (id, data) exigida pelo particionamento (V10), o id de cuidados deixa
+-- de ser único no banco, e o PostgreSQL não aceita UNIQUE (id) na tabela particionada. Cada
+-- partição ganha um índice único em id, mantido pela aplicação nas partições novas
+-- (ParticoesCuidados) e nas arquivadas; entre partições, a unicidade vem de cuidados_seq.
+
+DO $$
+DECLARE
+    particao TEXT;
+BEGIN
+    FOR particao IN
+        SELECT c.relname::text
+        FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent IN (to_regclass('cuidados'), to_regclass('cuidados_arquivo'))
+    LOOP
+        EXECUTE format('CREATE UNIQUE INDEX IF NOT EXISTS %I ON %I (id)', particao || '_id_unico', particao);
+    END LOOP;
+END $$;
@@ -0,0 +1,65 @@
+-- Schema inicial do Sistema de Horta (PostgreSQL).
+-- Escrito de forma idempotente para que bancos já criados pelo antigo
+-- ddl-auto=update possam ser adotados pelo Flyway (baseline-version=0).
+
+CREATE TABLE IF NOT EXISTS plantas (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome             VARCHAR(100) NOT NULL,
+    tipo             VARCHAR(50)  NOT NULL,
+    data_plantio     DATE         NOT NULL,
+    ciclo_dias       INTEGER,
+    regiao           VARCHAR(100),
+    descricao        VARCHAR(500),
+    dias_entre_regas INTEGER,
+    dias_entre_podas INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS cuidados (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    planta_id           BIGINT       NOT NULL REFERENCES plantas (id),
+    data                DATE         NOT NULL,
+    tipo                VARCHAR(20)  NOT NULL
+        CHECK (tipo IN ('REGA', 'PODA', 'COLHEITA', 'FERTILIZACAO', 'TRANSPLANTE', 'TRATAMENTO', 'OUTROS')),
+    observacoes         VARCHAR(1000),
+    data_criacao        TIMESTAMP(6) NOT NULL,
+    usuario_responsavel VARCHAR(100)
+);
+
+CREATE TABLE IF NOT EXISTS usuarios (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome          VARCHAR(100) NOT NULL,
+    email         VARCHAR(150) NOT NULL UNIQUE,
+    senha         VARCHAR(255) NOT NULL,
+    regiao        VARCHAR(100),
+    data_criacao  TIMESTAMP(6) NOT NULL,
+    ultimo_acesso TIMESTAMP(6),
+    ativo         BOOLEAN      NOT NULL,
+    tipo          VARCHAR(255) NOT NULL CHECK (tipo IN ('ADMIN', 'USUARIO'))
+);
+
+-- Datas previstas e resumo dos últimos cuidados
+ALTER TABLE plantas ADD COLUMN IF NOT EXISTS proxima_rega  DATE;
+ALTER TABLE plantas ADD COLUMN IF NOT EXISTS proxima_poda  DATE;
+ALTER TABLE plantas ADD COLUMN IF NOT EXISTS data_colheita DATE;
+ALTER TABLE plantas ADD COLUMN IF NOT EXISTS ultima_rega   DATE;
+ALTER TABLE plantas ADD COLUMN IF NOT EXISTS ultima_poda   DATE;
+
+CREATE INDEX IF NOT EXISTS idx_plantas_data_plantio_id ON plantas (data_plantio, id);
+CREATE INDEX IF NOT EXISTS idx_plantas_proxima_rega ON plantas (proxima_rega);
+CREATE INDEX IF NOT EXISTS idx_plantas_proxima_poda ON plantas (proxima_poda);
+CREATE INDEX IF NOT EXISTS idx_plantas_data_colheita ON plantas (data_colheita);
+CREATE INDEX IF NOT EXISTS idx_cuidados_data_id ON cuidados (data, id);
+
+-- Preenche o resumo e as datas previstas de plantas gravadas antes das colunas existirem
+UPDATE plantas p
+SET ultima_rega = (SELECT MAX(c.data) FROM cuidados c WHERE c.planta_id = p.id AND c.tipo = 'REGA')
+WHERE p.ultima_rega IS NULL;
+
+UPDATE plantas p
+SET ultima_poda = (SELECT MAX(c.data) FROM cuidados c WHERE c.planta_id = p.id AND c.tipo = 'PODA')
+WHERE p.ultima_poda IS NULL;
+
+UPDATE plantas
+SET proxima_rega  = COALESCE(ultima_rega, data_plantio) + dias_entre_regas,
+    proxima_poda  = COALESCE(ultima_poda, data_plantio) + dias_entre_podas,
+    data_colheita = data_plantio + ciclo_dias;
@@ -0,0 +1,12 @@
+-- Índices para os caminhos de acesso de cuidados.
+
+-- Último cuidado por tipo e verificação de duplicidade (planta, tipo, data)
+CREATE INDEX IF NOT EXISTS idx_cuidados_planta_tipo_data ON cuidados (planta_id, tipo, data DESC);
+
+-- Histórico de uma planta ordenado por data (também atende a FK planta_id)
+CREATE INDEX IF NOT EXISTS idx_cuidados_planta_data ON cuidados (planta_id, data DESC);
+
+-- Listagem e filtros por data de criação
+CREATE INDEX IF NOT EXISTS idx_cuidados_data_criacao ON cuidados (data_criacao);
+
+-- Os filtros por data (período, recentes, hoje) são atendidos por idx_cuidados_data_id
@@ -0,0 +1,15 @@
+-- Troca as colunas IDENTITY por sequences com incremento 50 (otimizador pooled do Hibernate),
+-- permitindo inserções em lote via JDBC batch.
+
+ALTER TABLE plantas ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE cuidados ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE usuarios ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS plantas_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS cuidados_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS usuarios_seq INCREMENT BY 50;
+
+-- Posiciona as sequences acima dos IDs já existentes (o bloco alocado começa em valor - 49)
+SELECT setval('plantas_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM plantas));
+SELECT setval('cuidados_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM cuidados));
+SELECT setval('usuarios_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM usuarios));
@@ -0,0 +1,41 @@
+-- Tabelas de estatísticas pré-agregadas, mantidas pela aplicação na mesma transação
+-- das escritas de plantas e cuidados. Podem ser reconstruídas a qualquer momento
+-- por POST /admin/estatisticas/reconciliar.
+
+CREATE TABLE IF NOT EXISTS estatisticas_plantas_tipo (
+    tipo  VARCHAR(50) PRIMARY KEY,
+    total BIGINT      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS estatisticas_cuidados_tipo (
+    tipo  VARCHAR(20) PRIMARY KEY
+        CHECK (tipo IN ('REGA', 'PODA', 'COLHEITA', 'FERTILIZACAO', 'TRANSPLANTE', 'TRATAMENTO', 'OUTROS')),
+    total BIGINT      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS estatisticas_cuidados_planta (
+    planta_id BIGINT PRIMARY KEY REFERENCES plantas (id) ON DELETE CASCADE,
+    total     BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS estatisticas_cuidados_mes (
+    ano   INTEGER NOT NULL,
+    mes   INTEGER NOT NULL,
+    total BIGINT  NOT NULL,
+    PRIMARY KEY (ano, mes)
+);
+
+-- Carga inicial a partir dos dados existentes
+INSERT INTO estatisticas_plantas_tipo (tipo, total)
+SELECT tipo, COUNT(*) FROM plantas GROUP BY tipo;
+
+INSERT INTO estatisticas_cuidados_tipo (tipo, total)
+SELECT tipo, COUNT(*) FROM cuidados GROUP BY tipo;
+
+INSERT INTO estatisticas_cuidados_planta (planta_id, total)
+SELECT planta_id, COUNT(*) FROM cuidados GROUP BY planta_id;
+
+INSERT INTO estatisticas_cuidados_mes (ano, mes, total)
+SELECT CAST(EXTRACT(YEAR FROM data) AS INTEGER), CAST(EXTRACT(MONTH FROM data) AS INTEGER), COUNT(*)
+FROM cuidados
+GROUP BY CAST(EXTRACT(YEAR FROM data) AS INTEGER), CAST(EXTRACT(MONTH FROM data) AS INTEGER);
@@ -0,0 +1,14 @@
+-- Busca textual (GET /busca): tsvector gerado pelo banco e indexado por GIN.
+-- No nome da planta os termos têm peso maior que na descrição.
+
+ALTER TABLE plantas ADD COLUMN IF NOT EXISTS busca tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(nome, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(descricao, '')), 'B')
+    ) STORED;
+
+ALTER TABLE cuidados ADD COLUMN IF NOT EXISTS busca tsvector
+    GENERATED ALWAYS AS (to_tsvector('portuguese', coalesce(observacoes, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_plantas_busca ON plantas USING GIN (busca);
+CREATE INDEX IF NOT EXISTS idx_cuidados_busca ON cuidados USING GIN (busca);
@@ -0,0 +1,17 @@
+-- Notificações que esgotaram as tentativas de envio em algum canal (dead letter).
+-- Consultadas em GET /admin/notificacoes/falhas.
+
+CREATE SEQUENCE IF NOT EXISTS notificacoes_falhas_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS notificacoes_falhas (
+    id           BIGINT        PRIMARY KEY,
+    canal        VARCHAR(50)   NOT NULL,
+    destinatario VARCHAR(150)  NOT NULL,
+    assunto      VARCHAR(200)  NOT NULL,
+    mensagem     VARCHAR(4000) NOT NULL,
+    erro         VARCHAR(1000),
+    tentativas   INTEGER       NOT NULL,
+    data_criacao TIMESTAMP     NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_notificacoes_falhas_data_criacao ON notificacoes_falhas (data_criacao);
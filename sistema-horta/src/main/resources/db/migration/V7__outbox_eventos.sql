@@ -0,0 +1,18 @@
+-- Transactional outbox: eventos gravados na mesma transação das escritas de plantas e
+-- cuidados e publicados em lotes pelo OutboxRelay (SELECT ... FOR UPDATE SKIP LOCKED).
+-- Um evento só sai da tabela depois de entregue a todos os listeners.
+
+CREATE SEQUENCE IF NOT EXISTS outbox_eventos_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox_eventos (
+    id            BIGINT        PRIMARY KEY,
+    tipo          VARCHAR(40)   NOT NULL,
+    agregado_id   BIGINT        NOT NULL,
+    payload       VARCHAR(4000) NOT NULL,
+    data_criacao  TIMESTAMP     NOT NULL,
+    disponivel_em TIMESTAMP     NOT NULL,
+    tentativas    INTEGER       NOT NULL DEFAULT 0,
+    ultimo_erro   VARCHAR(1000)
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_eventos_disponivel_em ON outbox_eventos (disponivel_em, id);
@@ -0,0 +1,10 @@
+-- Bloqueios (leases) das tarefas agendadas e das partições de alertas entre as instâncias
+-- da aplicação (horta.cluster.habilitado=true). Uma instância só executa a tarefa ou avalia
+-- a partição enquanto bloqueado_ate não vencer; as linhas "no:*" são os heartbeats das instâncias.
+
+CREATE TABLE IF NOT EXISTS bloqueios_agendamento (
+    nome          VARCHAR(100) PRIMARY KEY,
+    bloqueado_ate TIMESTAMP    NOT NULL,
+    bloqueado_em  TIMESTAMP    NOT NULL,
+    bloqueado_por VARCHAR(255) NOT NULL
+);
@@ -0,0 +1,30 @@
+-- Arquivamento mensal de cuidados antigos (ArquivamentoService): as linhas são movidas de
+-- cuidados para cuidados_arquivo em lotes, cada lote em uma transação, e o progresso de
+-- cada execução fica em arquivamentos_cuidados para retomada após interrupção.
+-- As estatísticas pré-agregadas continuam contando os cuidados arquivados.
+
+CREATE TABLE IF NOT EXISTS cuidados_arquivo (
+    id                  BIGINT       PRIMARY KEY,
+    planta_id           BIGINT       NOT NULL,
+    data                DATE         NOT NULL,
+    tipo                VARCHAR(20)  NOT NULL,
+    observacoes         VARCHAR(1000),
+    data_criacao        TIMESTAMP(6) NOT NULL,
+    usuario_responsavel VARCHAR(100),
+    data_arquivamento   TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_cuidados_arquivo_planta ON cuidados_arquivo (planta_id);
+
+CREATE SEQUENCE IF NOT EXISTS arquivamentos_cuidados_seq INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS arquivamentos_cuidados (
+    id                BIGINT    PRIMARY KEY,
+    data_limite       DATE      NOT NULL,
+    lotes             INTEGER   NOT NULL DEFAULT 0,
+    arquivados        BIGINT    NOT NULL DEFAULT 0,
+    ultimo_cuidado_id BIGINT,
+    data_criacao      TIMESTAMP NOT NULL,
+    data_atualizacao  TIMESTAMP,
+    data_conclusao    TIMESTAMP
+);
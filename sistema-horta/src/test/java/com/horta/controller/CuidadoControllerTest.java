@@ -0,0 +1,57 @@
+package com.horta.controller;
+
+import com.horta.service.CuidadoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de integração para CuidadoController
+ */
+@WebMvcTest(value = CuidadoController.class, properties = "horta.exportacao.timeout-ms=7200000")
+class CuidadoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CuidadoService cuidadoService;
+
+    @Test
+    void deveExportarCuidadosComPrazoProprioDaExportacao() throws Exception {
+        // Given
+        when(cuidadoService.exportarNdjson(any())).thenAnswer(invocacao -> {
+            OutputStream saida = invocacao.getArgument(0);
+            saida.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            saida.flush();
+            return 2L;
+        });
+
+        // When
+        MvcResult resultado = mockMvc.perform(get("/cuidados/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        resultado.getAsyncResult(5000);
+
+        // Then: o prazo vale só para esta requisição
+        assertEquals(7200000L, resultado.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"cuidados.ndjson\""))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+}
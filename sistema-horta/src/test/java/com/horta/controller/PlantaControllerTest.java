@@ -1,7 +1,9 @@
 package com.horta.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.horta.dto.PaginaDTO;
 import com.horta.dto.PlantaDTO;
+import com.horta.repository.projecao.PlantaNome;
 import com.horta.service.PlantaService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -70,6 +72,38 @@ class PlantaControllerTest {
         verify(plantaService, times(1)).listarTodas();
     }
 
+    @Test
+    void deveListarPlantasPaginadas() throws Exception {
+        // Given
+        PaginaDTO<PlantaDTO> pagina = new PaginaDTO<>(Arrays.asList(plantaDTO), 1, "cursor-seguinte");
+        when(plantaService.listarPagina("cursor-atual", 1)).thenReturn(pagina);
+
+        // When & Then
+        mockMvc.perform(get("/plantas")
+                        .param("after", "cursor-atual")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.itens[0].nome").value("Tomate"))
+                .andExpect(jsonPath("$.proximoCursor").value("cursor-seguinte"));
+
+        verify(plantaService, times(1)).listarPagina("cursor-atual", 1);
+        verify(plantaService, never()).listarTodas();
+    }
+
+    @Test
+    void deveRetornarBadRequestQuandoCursorInvalido() throws Exception {
+        // Given
+        when(plantaService.listarPagina("invalido", 10))
+                .thenThrow(new IllegalArgumentException("Cursor de paginação inválido"));
+
+        // When & Then
+        mockMvc.perform(get("/plantas")
+                        .param("after", "invalido")
+                        .param("limit", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deveCadastrarPlantaComSucesso() throws Exception {
         // Given
@@ -210,6 +244,31 @@ class PlantaControllerTest {
         verify(plantaService, times(1)).buscarPorNome("Tomate");
     }
 
+    @Test
+    void deveAutocompletarNomesDePlantas() throws Exception {
+        // Given
+        when(plantaService.autocompletar("tom", null)).thenReturn(List.of(new PlantaNome(1L, "Tomate")));
+
+        // When & Then
+        mockMvc.perform(get("/plantas/autocomplete")
+                        .param("prefix", "tom"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Tomate"))
+                .andExpect(jsonPath("$[0].tipo").doesNotExist());
+    }
+
+    @Test
+    void deveRetornarBadRequestQuandoPrefixoVazio() throws Exception {
+        // Given
+        when(plantaService.autocompletar(" ", null)).thenThrow(new IllegalArgumentException("Prefixo é obrigatório"));
+
+        // When & Then
+        mockMvc.perform(get("/plantas/autocomplete")
+                        .param("prefix", " "))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deveBuscarPlantasPorTipo() throws Exception {
         // Given
@@ -0,0 +1,217 @@
+package com.horta.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testes de integração que verificam, no PostgreSQL, se os planos de execução das
+ * consultas de cuidados utilizam os índices criados pelas migrações do Flyway.
+ * Com cuidados particionada por mês (V10), o plano mostra os índices de cada partição,
+ * nomeados pelo PostgreSQL a partir da partição e das colunas (ex.: cuidados_p2024_06_data_id_idx),
+ * e as consultas por período devem ler só as partições do intervalo.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class CuidadoRepositoryIndicesTest {
+
+    // Partição lida no plano ("... on cuidados_p2024_06 ...")
+    private static final Pattern PARTICAO_LIDA = Pattern.compile("\\bon (cuidados_(?:p\\d{4}_\\d{2}|padrao))\\b");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void configurarBanco(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        // Com a tabela vazia o planejador sempre preferiria seq scan; desabilitá-lo
+        // na transação do teste mostra se existe um índice capaz de atender a consulta
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+    }
+
+    @Test
+    void deveUsarIndicePlantaTipoDataAoBuscarUltimoCuidadoPorTipo() {
+        // When
+        String plano = planoDe("SELECT * FROM cuidados WHERE planta_id = 1 AND tipo = 'REGA' " +
+                "ORDER BY data DESC LIMIT 1");
+
+        // Then
+        assertTrue(usaIndice(plano, "planta_id_tipo_data"), plano);
+    }
+
+    @Test
+    void deveUsarIndicePlantaTipoDataAoVerificarCuidadoNaData() {
+        // When
+        String plano = planoDe("SELECT 1 FROM cuidados WHERE planta_id = 1 AND tipo = 'REGA' " +
+                "AND data = DATE '2024-01-01' LIMIT 1");
+
+        // Then
+        assertTrue(usaIndice(plano, "planta_id_tipo_data"), plano);
+    }
+
+    @Test
+    void deveUsarIndicePlantaDataAoListarHistoricoDaPlanta() {
+        // When
+        String plano = planoDe("SELECT * FROM cuidados WHERE planta_id = 1 ORDER BY data DESC");
+
+        // Then
+        assertTrue(usaIndice(plano, "planta_id_data"), plano);
+    }
+
+    @Test
+    void deveUsarIndiceDataAoBuscarCuidadosNoPeriodo() {
+        // Given
+        YearMonth mes = YearMonth.now();
+
+        // When
+        String plano = planoDe("SELECT * FROM cuidados WHERE data BETWEEN DATE '" + mes.atDay(1) + "' " +
+                "AND DATE '" + mes.atEndOfMonth() + "' ORDER BY data DESC");
+
+        // Then
+        assertTrue(usaIndice(plano, "data_id"), plano);
+    }
+
+    @Test
+    void deveUsarIndiceDataAoBuscarCuidadosDeHoje() {
+        // When
+        String plano = planoDe("SELECT * FROM cuidados WHERE data = DATE '" + LocalDate.now() + "' " +
+                "ORDER BY data_criacao DESC");
+
+        // Then
+        assertTrue(usaIndice(plano, "data_id"), plano);
+    }
+
+    @Test
+    void deveLerApenasAParticaoDoMesNasConsultasPorData() {
+        // Given
+        YearMonth mes = YearMonth.now();
+        String particao = "cuidados_p%04d_%02d".formatted(mes.getYear(), mes.getMonthValue());
+
+        // When
+        String hoje = planoDe("SELECT * FROM cuidados WHERE data = DATE '" + LocalDate.now() + "'");
+        String periodo = planoDe("SELECT * FROM cuidados WHERE data >= DATE '" + mes.atDay(1) + "' " +
+                "AND data < DATE '" + mes.plusMonths(1).atDay(1) + "'");
+
+        // Then
+        assertEquals(Set.of(particao), particoesLidas(hoje), hoje);
+        assertEquals(Set.of(particao), particoesLidas(periodo), periodo);
+    }
+
+    @Test
+    void deveLerDuasParticoesQuandoOPeriodoCruzaOMes() {
+        // Given
+        YearMonth mes = YearMonth.now();
+        LocalDate inicio = mes.atEndOfMonth().minusDays(6);
+        LocalDate fim = mes.plusMonths(1).atDay(7);
+
+        // When
+        String plano = planoDe("SELECT * FROM cuidados WHERE data BETWEEN DATE '" + inicio + "' AND DATE '" + fim + "'");
+
+        // Then
+        YearMonth seguinte = mes.plusMonths(1);
+        assertEquals(Set.of("cuidados_p%04d_%02d".formatted(mes.getYear(), mes.getMonthValue()),
+                        "cuidados_p%04d_%02d".formatted(seguinte.getYear(), seguinte.getMonthValue())),
+                particoesLidas(plano), plano);
+    }
+
+    @Test
+    void deveLerApenasAParticaoDoMesNaBuscaPorIdEData() {
+        // Given
+        LocalDate hoje = LocalDate.now();
+        String particao = "cuidados_p%04d_%02d".formatted(hoje.getYear(), hoje.getMonthValue());
+
+        // When
+        String porId = planoDe("SELECT * FROM cuidados WHERE id = 1");
+        String porIdEData = planoDe("SELECT * FROM cuidados WHERE id = 1 AND data = DATE '" + hoje + "'");
+
+        // Then: só pelo ID, todas as partições são consultadas
+        assertTrue(particoesLidas(porId).size() > 1, porId);
+        assertEquals(Set.of(particao), particoesLidas(porIdEData), porIdEData);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveTerIndiceUnicoEmIdEmCadaParticao() {
+        // When: partições de cuidados e cuidados_arquivo sem índice único só em id
+        List<Object> semIndice = entityManager.createNativeQuery("SELECT c.relname::text FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent IN (to_regclass('cuidados'), to_regclass('cuidados_arquivo')) " +
+                        "AND NOT EXISTS (SELECT 1 FROM pg_index x JOIN pg_attribute a " +
+                        "ON a.attrelid = x.indrelid AND a.attnum = x.indkey[0] " +
+                        "WHERE x.indrelid = c.oid AND x.indisunique AND x.indnatts = 1 AND a.attname = 'id')")
+                .getResultList();
+
+        // Then
+        assertTrue(semIndice.isEmpty(), semIndice.toString());
+    }
+
+    @Test
+    void deveUsarIndiceDataCriacaoAoListarPorCriacao() {
+        // When
+        String plano = planoDe("SELECT * FROM cuidados ORDER BY data_criacao DESC LIMIT 50");
+
+        // Then
+        assertTrue(usaIndice(plano, "data_criacao"), plano);
+    }
+
+    @Test
+    void deveUsarIndiceGinNaBuscaTextualDasObservacoes() {
+        // When
+        String plano = planoDe("SELECT id FROM cuidados WHERE busca @@ websearch_to_tsquery('portuguese', 'pulgão')");
+
+        // Then
+        assertTrue(usaIndice(plano, "busca"), plano);
+    }
+
+    /**
+     * O plano usa o índice de alguma partição criado a partir do índice de cuidados sobre as colunas
+     */
+    private static boolean usaIndice(String plano, String colunas) {
+        return Pattern.compile("\\bcuidados_(p\\d{4}_\\d{2}|padrao)_" + colunas + "_idx\\b").matcher(plano).find();
+    }
+
+    private static Set<String> particoesLidas(String plano) {
+        Set<String> particoes = new TreeSet<>();
+        Matcher particao = PARTICAO_LIDA.matcher(plano);
+        while (particao.find()) {
+            particoes.add(particao.group(1));
+        }
+        return particoes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String planoDe(String sql) {
+        List<Object> linhas = entityManager.createNativeQuery("EXPLAIN " + sql).getResultList();
+        return linhas.stream().map(String::valueOf).collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.horta.repository.projecao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de serialização das estatísticas: linhas {@code Object[]} contra
+ * as projeções tipadas. Executar com:
+ * {@code mvn test -Dtest=EstatisticaSerializacaoBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EstatisticaSerializacaoBenchmarkTest {
+
+    private static final int GRUPOS = 200;
+    private static final int AQUECIMENTO = 5_000;
+    private static final int ITERACOES = 20_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void deveCompararSerializacaoDeLinhasEProjecoes() throws Exception {
+        // Given
+        List<Object[]> linhas = new ArrayList<>();
+        List<EstatisticaTipo> projecoes = new ArrayList<>();
+        for (int i = 0; i < GRUPOS; i++) {
+            linhas.add(new Object[]{"Tipo " + i, (long) i});
+            projecoes.add(new EstatisticaTipo("Tipo " + i, (long) i));
+        }
+
+        // When
+        double linhasPorSegundo = medir(() -> escrever(linhas));
+        double projecoesPorSegundo = medir(() -> escrever(projecoes));
+
+        // Then
+        System.out.printf("Object[]:        %,.0f serializações/s%n", linhasPorSegundo);
+        System.out.printf("EstatisticaTipo: %,.0f serializações/s%n", projecoesPorSegundo);
+        assertTrue(escrever(projecoes).startsWith("[{\"tipo\":\"Tipo 0\",\"total\":0}"));
+    }
+
+    private double medir(Supplier<String> serializacao) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            serializacao.get();
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACOES; i++) {
+            serializacao.get();
+        }
+        return ITERACOES / ((System.nanoTime() - inicio) / 1e9);
+    }
+
+    private String escrever(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.horta.service;
+
+import com.horta.repository.PlantaRepository;
+import com.horta.repository.projecao.PlantaVencimentos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para AgendaAlertas
+ */
+@ExtendWith(MockitoExtension.class)
+class AgendaAlertasTest {
+
+    private static final ZoneId ZONA = ZoneId.of("America/Sao_Paulo");
+    private static final LocalDate HOJE = LocalDate.of(2024, 6, 10);
+
+    @Mock
+    private PlantaRepository plantaRepository;
+
+    @InjectMocks
+    private AgendaAlertas agendaAlertas;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(agendaAlertas, "horario", "08:00");
+        ajustarRelogio(HOJE, 9);
+    }
+
+    @Test
+    void deveDispararApenasAlertasVencidos() {
+        // Given
+        when(plantaRepository.findAllVencimentos()).thenReturn(List.of(
+                new PlantaVencimentos(1L, "Tomate", "Sul", HOJE.minusDays(1), HOJE.plusDays(20), HOJE.plusDays(60)),
+                new PlantaVencimentos(2L, "Alface", "Sul", HOJE.plusDays(2), null, HOJE)));
+        agendaAlertas.carregar();
+
+        // When
+        List<AgendaAlertas.Vencimento> vencidos = agendaAlertas.retirarVencidos();
+
+        // Then
+        assertEquals(2, vencidos.size());
+        assertTrue(vencidos.contains(new AgendaAlertas.Vencimento(1L, "Tomate", "Sul", AgendaAlertas.TipoAlerta.REGA, HOJE.minusDays(1))));
+        assertTrue(vencidos.contains(new AgendaAlertas.Vencimento(2L, "Alface", "Sul", AgendaAlertas.TipoAlerta.COLHEITA, HOJE)));
+        assertEquals(5, agendaAlertas.getPendentes());
+    }
+
+    @Test
+    void naoDeveDispararAntesDoHorarioConfigurado() {
+        // Given
+        ajustarRelogio(HOJE, 7);
+        when(plantaRepository.findAllVencimentos()).thenReturn(List.of(
+                new PlantaVencimentos(1L, "Tomate", "Sul", HOJE, null, null)));
+        agendaAlertas.carregar();
+
+        // When & Then
+        assertTrue(agendaAlertas.retirarVencidos().isEmpty());
+        ajustarRelogio(HOJE, 8);
+        assertEquals(1, agendaAlertas.retirarVencidos().size());
+    }
+
+    @Test
+    void deveRepetirLembreteAteAPlantaSerReagendada() {
+        // Given
+        when(plantaRepository.findAllVencimentos()).thenReturn(List.of(
+                new PlantaVencimentos(1L, "Tomate", "Sul", HOJE, null, null)));
+        agendaAlertas.carregar();
+        assertEquals(1, agendaAlertas.retirarVencidos().size());
+
+        // When & Then
+        ajustarRelogio(HOJE.plusDays(1), 9);
+        assertEquals(1, agendaAlertas.retirarVencidos().size());
+
+        // Rega registrada: a próxima rega passa para daqui a 3 dias
+        when(plantaRepository.findVencimentosById(1L)).thenReturn(Optional.of(
+                new PlantaVencimentos(1L, "Tomate", "Sul", HOJE.plusDays(4), null, null)));
+        agendaAlertas.reagendar(1L);
+        ajustarRelogio(HOJE.plusDays(2), 9);
+        assertTrue(agendaAlertas.retirarVencidos().isEmpty());
+        ajustarRelogio(HOJE.plusDays(4), 9);
+        assertEquals(List.of(new AgendaAlertas.Vencimento(1L, "Tomate", "Sul", AgendaAlertas.TipoAlerta.REGA, HOJE.plusDays(4))),
+                agendaAlertas.retirarVencidos());
+    }
+
+    @Test
+    void naoDeveDispararAlertasDePlantaRemovida() {
+        // Given
+        when(plantaRepository.findAllVencimentos()).thenReturn(List.of(
+                new PlantaVencimentos(1L, "Tomate", "Sul", HOJE, HOJE, HOJE)));
+        agendaAlertas.carregar();
+
+        // When
+        agendaAlertas.remover(1L);
+
+        // Then
+        assertTrue(agendaAlertas.retirarVencidos().isEmpty());
+        assertEquals(0, agendaAlertas.getPendentes());
+    }
+
+    @Test
+    void deveConfirmarVencimentosComAsDatasDoBanco() {
+        // Given: a rega foi registrada em outra instância e a colheita continua vencida
+        when(plantaRepository.findAllVencimentos()).thenReturn(List.of(
+                new PlantaVencimentos(1L, "Tomate", "Sul", HOJE, null, HOJE)));
+        agendaAlertas.carregar();
+        List<AgendaAlertas.Vencimento> vencidos = agendaAlertas.retirarVencidos();
+        when(plantaRepository.findVencimentosByIdIn(List.of(1L))).thenReturn(List.of(
+                new PlantaVencimentos(1L, "Tomate", "Sul", HOJE.plusDays(2), null, HOJE)));
+
+        // When
+        List<AgendaAlertas.Vencimento> confirmados = agendaAlertas.confirmar(vencidos);
+
+        // Then
+        assertEquals(List.of(new AgendaAlertas.Vencimento(1L, "Tomate", "Sul", AgendaAlertas.TipoAlerta.COLHEITA, HOJE)),
+                confirmados);
+        ajustarRelogio(HOJE.plusDays(2), 9);
+        assertEquals(List.of(new AgendaAlertas.Vencimento(1L, "Tomate", "Sul", AgendaAlertas.TipoAlerta.REGA, HOJE.plusDays(2))),
+                agendaAlertas.retirarVencidos().stream()
+                        .filter(v -> v.tipo() == AgendaAlertas.TipoAlerta.REGA)
+                        .toList());
+    }
+
+    @Test
+    void deveRecuperarAlertasVencidosNaoDisparadosPeloDonoAnterior() {
+        // Given: a partição 1 ficou sem dono no horário de hoje; a 2 já foi disparada hoje
+        when(plantaRepository.findVencimentosPorParticoes(Set.of(1, 2), 4, HOJE)).thenReturn(List.of(
+                new PlantaVencimentos(1L, "Tomate", "Sul", HOJE, HOJE.plusDays(5), null),
+                new PlantaVencimentos(2L, "Alface", "Sul", HOJE.minusDays(1), null, null)));
+        Map<Integer, LocalDateTime> disparadoAte = Map.of(
+                1, HOJE.minusDays(1).atTime(8, 0),
+                2, HOJE.atTime(8, 0, 30));
+
+        // When
+        List<AgendaAlertas.Vencimento> recuperados = agendaAlertas.recuperar(Set.of(1, 2), 4, disparadoAte);
+
+        // Then: ambos viram lembretes e só o da partição 1 é disparado
+        assertEquals(List.of(new AgendaAlertas.Vencimento(1L, "Tomate", "Sul", AgendaAlertas.TipoAlerta.REGA, HOJE)),
+                recuperados);
+        assertTrue(agendaAlertas.retirarVencidos().isEmpty());
+        assertEquals(3, agendaAlertas.getPendentes());
+        ajustarRelogio(HOJE.plusDays(1), 9);
+        assertEquals(2, agendaAlertas.retirarVencidos().size());
+    }
+
+    @Test
+    void naoDeveRecuperarAntesDoHorarioConfigurado() {
+        // Given
+        ajustarRelogio(HOJE, 7);
+        when(plantaRepository.findVencimentosPorParticoes(Set.of(1), 4, HOJE)).thenReturn(List.of(
+                new PlantaVencimentos(1L, "Tomate", "Sul", HOJE, null, null)));
+
+        // When
+        List<AgendaAlertas.Vencimento> recuperados = agendaAlertas.recuperar(Set.of(1), 4, Map.of());
+
+        // Then: o alerta fica agendado para o horário de hoje
+        assertTrue(recuperados.isEmpty());
+        ajustarRelogio(HOJE, 8);
+        assertEquals(1, agendaAlertas.retirarVencidos().size());
+    }
+
+    private void ajustarRelogio(LocalDate data, int hora) {
+        ReflectionTestUtils.setField(agendaAlertas, "relogio",
+                Clock.fixed(ZonedDateTime.of(data.atTime(hora, 0), ZONA).toInstant(), ZONA));
+    }
+}
@@ -0,0 +1,164 @@
+package com.horta.service;
+
+import com.horta.model.ArquivamentoCuidados;
+import com.horta.model.Cuidado;
+import com.horta.model.Planta;
+import com.horta.repository.ArquivamentoCuidadosRepository;
+import com.horta.repository.CuidadoArquivoRepository;
+import com.horta.repository.CuidadoRepository;
+import com.horta.repository.PlantaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes do ArquivamentoService movendo cuidados em lotes no H2
+ */
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ArquivamentoServiceTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2024, 6, 10);
+
+    @Autowired
+    private PlantaRepository plantaRepository;
+
+    @Autowired
+    private CuidadoRepository cuidadoRepository;
+
+    @Autowired
+    private CuidadoArquivoRepository cuidadoArquivoRepository;
+
+    @Autowired
+    private ArquivamentoCuidadosRepository arquivamentoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final BuscaService buscaService = mock(BuscaService.class);
+
+    private ArquivamentoService arquivamentoService;
+    private Planta planta;
+
+    @BeforeEach
+    void setUp() {
+        cuidadoArquivoRepository.deleteAllInBatch();
+        arquivamentoRepository.deleteAllInBatch();
+        cuidadoRepository.deleteAllInBatch();
+        plantaRepository.deleteAllInBatch();
+        planta = plantaRepository.save(new Planta("Tomate", "Hortaliça", HOJE.minusYears(3), 90, "Sul"));
+
+        // No H2 a tabela não é particionada: o arquivamento move linhas em lotes
+        ParticoesCuidados particoesCuidados = new ParticoesCuidados();
+        ReflectionTestUtils.setField(particoesCuidados, "entityManager", entityManager);
+
+        arquivamentoService = new ArquivamentoService();
+        ReflectionTestUtils.setField(arquivamentoService, "retencaoMeses", 12);
+        ReflectionTestUtils.setField(arquivamentoService, "tamanhoLote", 2);
+        ReflectionTestUtils.setField(arquivamentoService, "pausaMs", 0L);
+        ReflectionTestUtils.setField(arquivamentoService, "cuidadoRepository", cuidadoRepository);
+        ReflectionTestUtils.setField(arquivamentoService, "cuidadoArquivoRepository", cuidadoArquivoRepository);
+        ReflectionTestUtils.setField(arquivamentoService, "arquivamentoRepository", arquivamentoRepository);
+        ReflectionTestUtils.setField(arquivamentoService, "buscaService", buscaService);
+        ReflectionTestUtils.setField(arquivamentoService, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(arquivamentoService, "particoesCuidados", particoesCuidados);
+        ReflectionTestUtils.setField(arquivamentoService, "relogio",
+                Clock.fixed(HOJE.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+    }
+
+    @Test
+    void deveMoverCuidadosAntigosEmLotes() throws InterruptedException {
+        // Given
+        List<Cuidado> antigos = cuidadoRepository.saveAll(List.of(
+                cuidado(HOJE.minusMonths(30)), cuidado(HOJE.minusMonths(20)), cuidado(HOJE.minusMonths(13)),
+                cuidado(HOJE.minusMonths(12).minusDays(1))));
+        cuidadoRepository.saveAll(List.of(cuidado(HOJE.minusMonths(12)), cuidado(HOJE.minusDays(3))));
+
+        // When
+        ArquivamentoCuidados execucao = arquivamentoService.arquivar();
+
+        // Then
+        assertEquals(4L, execucao.getArquivados());
+        assertEquals(2, execucao.getLotes());
+        assertEquals(HOJE.minusMonths(12), execucao.getDataLimite());
+        assertNotNull(execucao.getDataConclusao());
+        assertEquals(2, cuidadoRepository.count());
+        assertEquals(4, cuidadoArquivoRepository.count());
+        antigos.forEach(c -> assertTrue(cuidadoArquivoRepository.existsById(c.getId())));
+        assertEquals(planta.getId(), cuidadoArquivoRepository.findById(antigos.get(0).getId()).orElseThrow().getPlantaId());
+        verify(buscaService, times(2)).removerCuidados(anyCollection());
+    }
+
+    @Test
+    void deveRetomarExecucaoInterrompida() throws InterruptedException {
+        // Given: execução anterior interrompida após um lote, com data limite mais antiga
+        ArquivamentoCuidados interrompida = new ArquivamentoCuidados(HOJE.minusMonths(24));
+        interrompida.registrarLote(2, 99L);
+        arquivamentoRepository.save(interrompida);
+        cuidadoRepository.saveAll(List.of(cuidado(HOJE.minusMonths(30)), cuidado(HOJE.minusMonths(20))));
+
+        // When
+        ArquivamentoCuidados execucao = arquivamentoService.arquivar();
+
+        // Then
+        assertEquals(interrompida.getId(), execucao.getId());
+        assertEquals(3L, execucao.getArquivados());
+        assertEquals(2, execucao.getLotes());
+        assertEquals(1, cuidadoRepository.count());
+        assertTrue(arquivamentoRepository.findFirstByDataConclusaoIsNullOrderByIdDesc().isEmpty());
+    }
+
+    @Test
+    void deveArquivarMesesExpiradosPelaParticao() throws InterruptedException {
+        // Given: cuidados particionada; resta na partição padrão um cuidado anterior às partições
+        ParticoesCuidados particoesCuidados = mock(ParticoesCuidados.class);
+        ReflectionTestUtils.setField(arquivamentoService, "particoesCuidados", particoesCuidados);
+        when(particoesCuidados.isAtivo()).thenReturn(true);
+        when(particoesCuidados.listarExpiradas(LocalDate.of(2023, 6, 1)))
+                .thenReturn(List.of(YearMonth.of(2023, 4), YearMonth.of(2023, 5)));
+        // Os passos da partição abrem as próprias transações curtas
+        when(particoesCuidados.arquivar(YearMonth.of(2023, 4))).thenAnswer(invocacao -> {
+            assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+            return OptionalInt.of(30);
+        });
+        when(particoesCuidados.arquivar(YearMonth.of(2023, 5))).thenReturn(OptionalInt.empty());
+        cuidadoRepository.saveAll(List.of(cuidado(HOJE.minusMonths(30)),
+                cuidado(HOJE.minusMonths(12).minusDays(1)), cuidado(HOJE.minusDays(3))));
+
+        // When
+        ArquivamentoCuidados execucao = arquivamentoService.arquivar();
+
+        // Then: data limite no início do mês; o mês já arquivado por outra execução é ignorado
+        assertEquals(LocalDate.of(2023, 6, 1), execucao.getDataLimite());
+        assertEquals(31L, execucao.getArquivados());
+        assertEquals(2, execucao.getLotes());
+        assertEquals(2, cuidadoRepository.count());
+        assertEquals(1, cuidadoArquivoRepository.count());
+    }
+
+    private Cuidado cuidado(LocalDate data) {
+        return new Cuidado(planta, data, Cuidado.TipoCuidado.REGA, "Rega de " + data);
+    }
+}
@@ -0,0 +1,101 @@
+package com.horta.service;
+
+import com.horta.repository.PlantaRepository;
+import com.horta.repository.projecao.PlantaNome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para AutocompletePlantas
+ */
+@ExtendWith(MockitoExtension.class)
+class AutocompletePlantasTest {
+
+    @Mock
+    private PlantaRepository plantaRepository;
+
+    @InjectMocks
+    private AutocompletePlantas autocompletePlantas;
+
+    @BeforeEach
+    void setUp() {
+        when(plantaRepository.findAllNomes()).thenReturn(List.of(
+                new PlantaNome(1L, "Tomate Cereja"),
+                new PlantaNome(2L, "Tomate Italiano"),
+                new PlantaNome(3L, "Manjericão"),
+                new PlantaNome(4L, "Cebolinha")));
+        autocompletePlantas.carregar();
+    }
+
+    @Test
+    void deveSugerirPorPrefixoIgnorandoAcentoEMaiusculas() {
+        // When
+        List<PlantaNome> sugestoes = autocompletePlantas.sugerir("MANJERICA", 10);
+
+        // Then
+        assertEquals(List.of(new PlantaNome(3L, "Manjericão")), sugestoes);
+    }
+
+    @Test
+    void deveSugerirPorPalavraDoMeioDoNome() {
+        // When
+        List<PlantaNome> sugestoes = autocompletePlantas.sugerir("ce", 10);
+
+        // Then
+        assertEquals(List.of(new PlantaNome(4L, "Cebolinha"), new PlantaNome(1L, "Tomate Cereja")), sugestoes);
+    }
+
+    @Test
+    void deveRespeitarLimite() {
+        // When
+        List<PlantaNome> sugestoes = autocompletePlantas.sugerir("tomate", 1);
+
+        // Then
+        assertEquals(List.of(new PlantaNome(1L, "Tomate Cereja")), sugestoes);
+    }
+
+    @Test
+    void deveAtualizarIndiceAoRenomearERemover() {
+        // When
+        autocompletePlantas.registrar(1L, "Pimenta Dedo-de-moça");
+        autocompletePlantas.remover(2L);
+
+        // Then
+        assertTrue(autocompletePlantas.sugerir("tomate", 10).isEmpty());
+        assertEquals(List.of(new PlantaNome(1L, "Pimenta Dedo-de-moça")), autocompletePlantas.sugerir("dedo", 10));
+    }
+
+    @Test
+    void naoDeveSugerirParaPrefixoVazio() {
+        // When & Then
+        assertTrue(autocompletePlantas.sugerir("  ", 10).isEmpty());
+    }
+
+    @Test
+    void deveRecarregarNomesAlteradosPorOutraInstancia() {
+        // Given: "Cebolinha" foi renomeada e "Alface" criada em outra instância
+        ReflectionTestUtils.setField(autocompletePlantas, "cluster", true);
+        when(plantaRepository.findAllNomes()).thenReturn(List.of(
+                new PlantaNome(1L, "Tomate Cereja"),
+                new PlantaNome(4L, "Cebola Roxa"),
+                new PlantaNome(5L, "Alface")));
+
+        // When
+        autocompletePlantas.recarregarAgendado();
+
+        // Then
+        assertEquals(List.of(new PlantaNome(4L, "Cebola Roxa")), autocompletePlantas.sugerir("cebol", 10));
+        assertEquals(List.of(new PlantaNome(5L, "Alface")), autocompletePlantas.sugerir("alf", 10));
+        assertTrue(autocompletePlantas.sugerir("manj", 10).isEmpty());
+    }
+}
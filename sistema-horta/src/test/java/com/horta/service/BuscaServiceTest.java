@@ -0,0 +1,142 @@
+package com.horta.service;
+
+import com.horta.dto.ResultadoBuscaDTO;
+import com.horta.model.Cuidado;
+import com.horta.model.Planta;
+import com.horta.repository.CuidadoRepository;
+import com.horta.repository.PlantaRepository;
+import com.horta.repository.projecao.PlantaIdentificacao;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para BuscaService
+ */
+@ExtendWith(MockitoExtension.class)
+class BuscaServiceTest {
+
+    @Mock
+    private IndiceBusca indice;
+
+    @Mock
+    private PlantaRepository plantaRepository;
+
+    @Mock
+    private CuidadoRepository cuidadoRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private BuscaService buscaService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void devePreencherNomeAtualDaPlantaNosResultados() {
+        // Given
+        when(indice.buscar("pulgão", 20)).thenReturn(List.of(
+                new ResultadoBuscaDTO(ResultadoBuscaDTO.Origem.CUIDADO, 10L, 1L, null, "Pulgões nas folhas", 1.5),
+                new ResultadoBuscaDTO(ResultadoBuscaDTO.Origem.PLANTA, 1L, 1L, null, null, 0.8)));
+        when(plantaRepository.findIdentificacoesByIdIn(List.of(1L)))
+                .thenReturn(List.of(new PlantaIdentificacao(1L, "Tomate", "Hortaliça", "Sul")));
+
+        // When
+        List<ResultadoBuscaDTO> resultados = buscaService.buscar(" pulgão ", null);
+
+        // Then
+        assertEquals(2, resultados.size());
+        assertTrue(resultados.stream().allMatch(r -> "Tomate".equals(r.getPlantaNome())));
+    }
+
+    @Test
+    void deveLimitarQuantidadeDeResultados() {
+        // When
+        buscaService.buscar("tomate", 1000);
+
+        // Then
+        verify(indice).buscar("tomate", BuscaService.LIMITE_MAXIMO);
+        verifyNoInteractions(plantaRepository);
+    }
+
+    @Test
+    void deveRejeitarTermoVazio() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> buscaService.buscar("  ", null));
+        verify(indice, never()).buscar(anyString(), anyInt());
+    }
+
+    @Test
+    void deveIndexarSomenteAposCommit() {
+        // Given
+        when(indice.requerIndexacao()).thenReturn(true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        buscaService.indexarCuidado(10L, 1L, "Pulgões nas folhas");
+
+        // Then
+        verify(indice, never()).indexarCuidado(10L, 1L, "Pulgões nas folhas");
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(indice).indexarCuidado(10L, 1L, "Pulgões nas folhas");
+    }
+
+    @Test
+    void deveReindexarPercorrendoPlantasECuidadosComCursor() {
+        // Given
+        Planta planta = new Planta("Tomate", "Hortaliça", LocalDate.of(2024, 3, 1), 90, "Sul");
+        planta.setId(1L);
+        planta.setDescricao("Cereja");
+        Cuidado cuidado = new Cuidado(planta, LocalDate.of(2024, 3, 10), Cuidado.TipoCuidado.REGA, "Pulgões");
+        cuidado.setId(10L);
+        when(indice.requerIndexacao()).thenReturn(true);
+        when(plantaRepository.streamTodasOrdenadasPorId()).thenReturn(Stream.of(planta));
+        when(cuidadoRepository.streamTodosOrdenadosPorId()).thenReturn(Stream.of(cuidado));
+
+        // When
+        long documentos = buscaService.reindexar();
+
+        // Then
+        assertEquals(2, documentos);
+        verify(indice).limpar();
+        verify(indice).indexarPlanta(1L, "Tomate", "Cereja");
+        verify(indice).indexarCuidado(10L, 1L, "Pulgões");
+        verify(plantaRepository, never()).findAll();
+    }
+
+    @Test
+    void naoDeveAlimentarIndiceMantidoPeloBanco() {
+        // Given
+        when(indice.requerIndexacao()).thenReturn(false);
+
+        // When
+        buscaService.removerPlanta(1L);
+        long documentos = buscaService.reindexar();
+
+        // Then
+        assertEquals(0, documentos);
+        verify(indice, never()).removerPlanta(1L);
+        verify(indice, never()).limpar();
+    }
+}
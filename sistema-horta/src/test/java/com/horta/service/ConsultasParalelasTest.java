@@ -0,0 +1,170 @@
+package com.horta.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para ConsultasParalelas
+ */
+class ConsultasParalelasTest {
+
+    private ConsultasParalelas consultasParalelas;
+
+    private final List<TransactionDefinition> transacoes = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        consultasParalelas = criar(200L);
+        ReflectionTestUtils.setField(consultasParalelas, "transactionManager", transactionManager(transacoes));
+    }
+
+    @AfterEach
+    void tearDown() {
+        consultasParalelas.finalizar();
+    }
+
+    static ConsultasParalelas criar(long timeoutMs) {
+        ConsultasParalelas consultas = new ConsultasParalelas();
+        ReflectionTestUtils.setField(consultas, "timeoutMs", timeoutMs);
+        ReflectionTestUtils.setField(consultas, "threads", 4);
+        ReflectionTestUtils.setField(consultas, "threadsMax", 4);
+        ReflectionTestUtils.setField(consultas, "fila", 10);
+        ReflectionTestUtils.setField(consultas, "transactionManager", transactionManager(new CopyOnWriteArrayList<>()));
+        consultas.inicializar();
+        return consultas;
+    }
+
+    private static PlatformTransactionManager transactionManager(List<TransactionDefinition> transacoes) {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocacao -> {
+            transacoes.add(invocacao.getArgument(0));
+            return new SimpleTransactionStatus();
+        });
+        return transactionManager;
+    }
+
+    @Test
+    void deveExecutarConsultasEmParalelo() throws Exception {
+        // Given
+        CountDownLatch todasIniciadas = new CountDownLatch(3);
+        ConsultasParalelas.Composicao composicao = consultasParalelas.iniciar();
+
+        // When
+        List<CompletableFuture<Integer>> futuros = List.of(1, 2, 3).stream()
+                .map(valor -> composicao.executar(() -> {
+                    todasIniciadas.countDown();
+                    aguardar(todasIniciadas);
+                    return valor;
+                }))
+                .toList();
+
+        // Then
+        assertEquals(1, composicao.aguardar("um", futuros.get(0), 0));
+        assertEquals(2, composicao.aguardar("dois", futuros.get(1), 0));
+        assertEquals(3, composicao.aguardar("tres", futuros.get(2), 0));
+        assertFalse(composicao.isParcial());
+    }
+
+    @Test
+    void deveRetornarValorPadraoQuandoConsultaExcederTempoLimite() {
+        // Given
+        CountDownLatch liberar = new CountDownLatch(1);
+        ConsultasParalelas.Composicao composicao = consultasParalelas.iniciar();
+        CompletableFuture<String> lenta = composicao.executar(() -> {
+            aguardar(liberar);
+            return "lenta";
+        });
+        CompletableFuture<String> rapida = composicao.executar(() -> "rapida");
+
+        // When
+        String resultadoLento = composicao.aguardar("consulta lenta", lenta, "padrao");
+        String resultadoRapido = composicao.aguardar("consulta rapida", rapida, "padrao");
+        liberar.countDown();
+
+        // Then
+        assertEquals("padrao", resultadoLento);
+        assertEquals("rapida", resultadoRapido);
+        assertTrue(composicao.isParcial());
+        assertEquals(List.of("consulta lenta"), composicao.getFalhas());
+    }
+
+    @Test
+    void deveExecutarConsultaEmTransacaoSomenteLeituraComTimeoutDoPrazo() {
+        // Given
+        consultasParalelas.finalizar();
+        consultasParalelas = criar(2500L);
+        ReflectionTestUtils.setField(consultasParalelas, "transactionManager", transactionManager(transacoes));
+        ConsultasParalelas.Composicao composicao = consultasParalelas.iniciar();
+
+        // When
+        String resultado = composicao.aguardar("consulta", composicao.executar(() -> "ok"), "padrao");
+
+        // Then: o restante do prazo arredondado para cima, em segundos
+        assertEquals("ok", resultado);
+        assertEquals(1, transacoes.size());
+        assertTrue(transacoes.get(0).isReadOnly());
+        assertEquals(3, transacoes.get(0).getTimeout());
+    }
+
+    @Test
+    void deveInterromperConsultaQueExcedeuTempoLimite() throws InterruptedException {
+        // Given
+        CountDownLatch interrompida = new CountDownLatch(1);
+        ConsultasParalelas.Composicao composicao = consultasParalelas.iniciar();
+        CompletableFuture<String> lenta = composicao.executar(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrompida.countDown();
+            }
+            return "lenta";
+        });
+
+        // When
+        String resultado = composicao.aguardar("consulta lenta", lenta, "padrao");
+
+        // Then
+        assertEquals("padrao", resultado);
+        assertTrue(lenta.isCancelled());
+        assertTrue(interrompida.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void deveRetornarValorPadraoQuandoConsultaFalhar() {
+        // Given
+        ConsultasParalelas.Composicao composicao = consultasParalelas.iniciar();
+        CompletableFuture<Long> falha = composicao.executar(() -> {
+            throw new RuntimeException("Banco indisponível");
+        });
+
+        // When
+        Long resultado = composicao.aguardar("contagem", falha, 0L);
+
+        // Then
+        assertEquals(0L, resultado);
+        assertTrue(composicao.isParcial());
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
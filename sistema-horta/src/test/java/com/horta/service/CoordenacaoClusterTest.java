@@ -0,0 +1,174 @@
+package com.horta.service;
+
+import com.horta.repository.BloqueioAgendamentoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do CoordenacaoCluster com duas instâncias compartilhando a tabela de bloqueios (H2)
+ */
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CoordenacaoClusterTest {
+
+    private static final Instant INICIO = Instant.parse("2024-06-10T08:00:00Z");
+
+    @Autowired
+    private BloqueioAgendamentoRepository bloqueioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CoordenacaoCluster instanciaA;
+    private CoordenacaoCluster instanciaB;
+
+    private final List<Object> eventos = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        bloqueioRepository.deleteAllInBatch();
+        eventos.clear();
+        instanciaA = instancia("a");
+        instanciaB = instancia("b");
+    }
+
+    @Test
+    void deveDividirParticoesEntreInstancias() {
+        // Given
+        instanciaA.renovarParticoes();
+        assertEquals(Set.of(0, 1, 2, 3), instanciaA.getParticoes());
+
+        // When
+        instanciaB.renovarParticoes();
+        instanciaA.renovarParticoes();
+        instanciaB.renovarParticoes();
+
+        // Then
+        Set<Integer> todas = new HashSet<>(instanciaA.getParticoes());
+        todas.addAll(instanciaB.getParticoes());
+        assertEquals(2, instanciaA.getParticoes().size());
+        assertEquals(2, instanciaB.getParticoes().size());
+        assertEquals(Set.of(0, 1, 2, 3), todas);
+        for (long plantaId = 1; plantaId <= 8; plantaId++) {
+            assertNotEquals(instanciaA.possui(plantaId), instanciaB.possui(plantaId));
+        }
+    }
+
+    @Test
+    void deveAssumirParticoesDeInstanciaParada() {
+        // Given
+        instanciaA.renovarParticoes();
+
+        // When
+        ajustarRelogio(instanciaA, INICIO.plusSeconds(61));
+        ajustarRelogio(instanciaB, INICIO.plusSeconds(61));
+        instanciaB.renovarParticoes();
+
+        // Then
+        assertEquals(Set.of(0, 1, 2, 3), instanciaB.getParticoes());
+        assertTrue(instanciaA.getParticoes().isEmpty());
+        assertFalse(instanciaA.possui(1L));
+    }
+
+    @Test
+    void deveRecuperarParticoesAssumidasAntesDeRegistrarDisparos() {
+        // Given: A disparou os alertas da partição 1 e parou
+        instanciaA.renovarParticoes();
+        instanciaA.concluirRecuperacao(instanciaA.getParticoes());
+        ajustarRelogio(instanciaA, INICIO.plusSeconds(10));
+        instanciaA.registrarDisparo(Set.of(1));
+        eventos.clear();
+
+        // When
+        ajustarRelogio(instanciaB, INICIO.plusSeconds(61));
+        instanciaB.renovarParticoes();
+        instanciaB.registrarDisparo(Set.of(1, 2));
+
+        // Then: B anuncia as partições assumidas e não registra disparo antes de recuperá-las
+        assertEquals(List.of(new CoordenacaoCluster.ParticoesAssumidas(Set.of(0, 1, 2, 3))), eventos);
+        assertEquals(Set.of(0, 1, 2, 3), instanciaB.getParticoesARecuperar());
+        assertEquals(Map.of(1, LocalDateTime.of(2024, 6, 10, 8, 0, 10), 2, LocalDateTime.of(2024, 6, 10, 8, 0)),
+                instanciaB.getDisparadoAte(Set.of(1, 2)));
+
+        instanciaB.concluirRecuperacao(Set.of(2));
+        assertEquals(Set.of(0, 1, 3), instanciaB.getParticoesARecuperar());
+        assertEquals(LocalDateTime.of(2024, 6, 10, 8, 1, 1), instanciaB.getDisparadoAte(Set.of(2)).get(2));
+    }
+
+    @Test
+    void deveRecuperarParticaoPropriaComBloqueioVencido() {
+        // Given
+        instanciaA.renovarParticoes();
+        instanciaA.concluirRecuperacao(instanciaA.getParticoes());
+        eventos.clear();
+
+        // When: a renovação atrasou além do prazo sem que outra instância assumisse
+        ajustarRelogio(instanciaA, INICIO.plusSeconds(61));
+        instanciaA.renovarParticoes();
+
+        // Then
+        assertEquals(List.of(new CoordenacaoCluster.ParticoesAssumidas(Set.of(0, 1, 2, 3))), eventos);
+        assertEquals(Set.of(0, 1, 2, 3), instanciaA.getParticoesARecuperar());
+    }
+
+    @Test
+    void deveExecutarTarefaEmUmaInstanciaPorDisparo() {
+        // Given
+        AtomicInteger execucoes = new AtomicInteger();
+
+        // When
+        boolean executouA = instanciaA.executarUmaVez("relatorio", execucoes::incrementAndGet);
+        boolean executouB = instanciaB.executarUmaVez("relatorio", execucoes::incrementAndGet);
+        ajustarRelogio(instanciaB, INICIO.plus(Duration.ofMinutes(2)));
+        boolean executouBDepois = instanciaB.executarUmaVez("relatorio", execucoes::incrementAndGet);
+
+        // Then
+        assertTrue(executouA);
+        assertFalse(executouB);
+        assertTrue(executouBDepois);
+        assertEquals(2, execucoes.get());
+        assertEquals("b", bloqueioRepository.findById("tarefa:relatorio").orElseThrow().getBloqueadoPor());
+    }
+
+    private CoordenacaoCluster instancia(String nome) {
+        CoordenacaoCluster coordenacao = new CoordenacaoCluster();
+        ReflectionTestUtils.setField(coordenacao, "habilitado", true);
+        ReflectionTestUtils.setField(coordenacao, "totalParticoes", 4);
+        ReflectionTestUtils.setField(coordenacao, "instancia", nome);
+        ReflectionTestUtils.setField(coordenacao, "particaoMs", 60000L);
+        ReflectionTestUtils.setField(coordenacao, "tarefaMaximoMs", 3600000L);
+        ReflectionTestUtils.setField(coordenacao, "tarefaMinimoMs", 60000L);
+        ReflectionTestUtils.setField(coordenacao, "bloqueioRepository", bloqueioRepository);
+        ReflectionTestUtils.setField(coordenacao, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(coordenacao, "eventPublisher", (ApplicationEventPublisher) eventos::add);
+        ajustarRelogio(coordenacao, INICIO);
+        coordenacao.inicializar();
+        return coordenacao;
+    }
+
+    private static void ajustarRelogio(CoordenacaoCluster coordenacao, Instant instante) {
+        ReflectionTestUtils.setField(coordenacao, "relogio", Clock.fixed(instante, ZoneId.of("UTC")));
+    }
+}
@@ -1,26 +1,40 @@
 package com.horta.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.horta.dto.CuidadoDTO;
+import com.horta.dto.PaginaDTO;
+import com.horta.dto.ResultadoLoteDTO;
 import com.horta.model.Cuidado;
+import com.horta.model.EventoOutbox;
 import com.horta.model.Planta;
 import com.horta.repository.CuidadoRepository;
 import com.horta.repository.PlantaRepository;
+import com.horta.repository.projecao.CuidadoResumo;
+import com.horta.repository.projecao.PlantaIdentificacao;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -35,11 +49,34 @@ class CuidadoServiceTest {
     @Mock
     private PlantaRepository plantaRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlantaCache plantaCache;
+
+    @Mock
+    private EstatisticaService estatisticaService;
+
+    @Mock
+    private BuscaService buscaService;
+
+    @Mock
+    private AgendaAlertas agendaAlertas;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private CuidadoService cuidadoService;
 
     private Planta planta;
     private Cuidado cuidado;
+    private CuidadoResumo cuidadoResumo;
+    private PlantaIdentificacao identificacao;
     private CuidadoDTO cuidadoDTO;
 
     @BeforeEach
@@ -59,6 +96,11 @@ class CuidadoServiceTest {
         cuidado.setDataCriacao(LocalDateTime.now());
         cuidado.setUsuarioResponsavel("João");
 
+        cuidadoResumo = new CuidadoResumo(1L, 1L, "Tomate", LocalDate.now(), Cuidado.TipoCuidado.REGA,
+                "Rega normal", LocalDateTime.now(), "João");
+
+        identificacao = new PlantaIdentificacao(1L, "Tomate", "Hortaliça", "Sul");
+
         cuidadoDTO = new CuidadoDTO();
         cuidadoDTO.setPlantaId(1L);
         cuidadoDTO.setData(LocalDate.now());
@@ -70,7 +112,8 @@ class CuidadoServiceTest {
     @Test
     void deveRegistrarCuidadoComSucesso() {
         // Given
-        when(plantaRepository.findById(1L)).thenReturn(Optional.of(planta));
+        when(plantaRepository.findIdentificacaoById(1L)).thenReturn(Optional.of(identificacao));
+        when(plantaRepository.getReferenceById(1L)).thenReturn(planta);
         when(cuidadoRepository.save(any(Cuidado.class))).thenReturn(cuidado);
 
         // When
@@ -80,19 +123,63 @@ class CuidadoServiceTest {
         assertNotNull(resultado);
         assertEquals(Cuidado.TipoCuidado.REGA, resultado.getTipo());
         assertEquals("Rega normal", resultado.getObservacoes());
-        verify(plantaRepository, times(1)).findById(1L);
+        assertEquals("Tomate", resultado.getPlantaNome());
+        verify(plantaRepository, never()).findById(anyLong());
         verify(cuidadoRepository, times(1)).save(any(Cuidado.class));
+        verify(estatisticaService, times(1)).registrarCuidado(1L, Cuidado.TipoCuidado.REGA, cuidado.getData());
+        verify(buscaService, times(1)).indexarCuidado(1L, 1L, "Rega normal");
+        verify(outboxService, times(1)).registrar(EventoOutbox.TipoEvento.CUIDADO_REGISTRADO, 1L, resultado);
     }
 
     @Test
     void deveLancarExcecaoQuandoPlantaNaoExistir() {
         // Given
-        when(plantaRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(plantaRepository.findIdentificacaoById(anyLong())).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(RuntimeException.class, () -> {
             cuidadoService.registrarCuidado(cuidadoDTO);
         });
+        verify(cuidadoRepository, never()).save(any(Cuidado.class));
+    }
+
+    @Test
+    void deveBuscarUltimoCuidadoPorTipoSemCarregarPlanta() {
+        // Given
+        when(cuidadoRepository.findUltimoResumoPorTipo(1L, Cuidado.TipoCuidado.REGA)).thenReturn(Optional.of(cuidadoResumo));
+
+        // When
+        Optional<CuidadoDTO> resultado = cuidadoService.buscarUltimoCuidadoPorTipo(1L, Cuidado.TipoCuidado.REGA);
+
+        // Then
+        assertTrue(resultado.isPresent());
+        verify(plantaRepository, never()).findById(anyLong());
+        verify(plantaRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void deveLancarExcecaoAoBuscarUltimoCuidadoDePlantaInexistente() {
+        // Given
+        when(cuidadoRepository.findUltimoResumoPorTipo(99L, Cuidado.TipoCuidado.REGA)).thenReturn(Optional.empty());
+        when(plantaRepository.existsById(99L)).thenReturn(false);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> cuidadoService.buscarUltimoCuidadoPorTipo(99L, Cuidado.TipoCuidado.REGA));
+    }
+
+    @Test
+    void deveVerificarCuidadoNaDataPorIdDaPlanta() {
+        // Given
+        LocalDate hoje = LocalDate.now();
+        when(cuidadoRepository.existsByPlantaIdAndTipoAndData(1L, Cuidado.TipoCuidado.REGA, hoje)).thenReturn(false);
+        when(plantaRepository.existsById(1L)).thenReturn(true);
+
+        // When
+        boolean existe = cuidadoService.existeCuidadoNaData(1L, Cuidado.TipoCuidado.REGA, hoje);
+
+        // Then
+        assertFalse(existe);
+        verify(plantaRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -153,6 +240,19 @@ class CuidadoServiceTest {
         verify(cuidadoRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void deveBuscarCuidadoPorIdEDataQuandoADataForInformada() {
+        // Given
+        when(cuidadoRepository.findByIdAndData(1L, cuidado.getData())).thenReturn(Optional.of(cuidado));
+
+        // When
+        Optional<CuidadoDTO> resultado = cuidadoService.buscarPorId(1L, cuidado.getData());
+
+        // Then
+        assertTrue(resultado.isPresent());
+        verify(cuidadoRepository, never()).findById(anyLong());
+    }
+
     @Test
     void deveRetornarVazioQuandoCuidadoNaoExistir() {
         // Given
@@ -169,8 +269,8 @@ class CuidadoServiceTest {
     @Test
     void deveListarTodosOsCuidados() {
         // Given
-        List<Cuidado> cuidados = Arrays.asList(cuidado);
-        when(cuidadoRepository.findAll()).thenReturn(cuidados);
+        List<CuidadoResumo> cuidados = Arrays.asList(cuidadoResumo);
+        when(cuidadoRepository.findAllResumos()).thenReturn(cuidados);
 
         // When
         List<CuidadoDTO> resultado = cuidadoService.listarTodos();
@@ -179,14 +279,34 @@ class CuidadoServiceTest {
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
         assertEquals(Cuidado.TipoCuidado.REGA, resultado.get(0).getTipo());
-        verify(cuidadoRepository, times(1)).findAll();
+        verify(cuidadoRepository, times(1)).findAllResumos();
+    }
+
+    @Test
+    void deveListarPaginaDeCuidadosAposCursor() {
+        // Given
+        LocalDate dataCursor = LocalDate.now().minusDays(1);
+        String cursor = new CursorPaginacao(dataCursor, 5L).codificar();
+        CuidadoResumo proximo = new CuidadoResumo(9L, 1L, "Tomate", LocalDate.now(), Cuidado.TipoCuidado.PODA,
+                null, LocalDateTime.now(), "Maria");
+        when(cuidadoRepository.findPaginaAposResumos(eq(dataCursor), eq(5L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(cuidadoResumo, proximo));
+
+        // When
+        PaginaDTO<CuidadoDTO> pagina = cuidadoService.listarPagina(cursor, 1);
+
+        // Then
+        assertEquals(1, pagina.getItens().size());
+        assertEquals(1L, pagina.getItens().get(0).getId());
+        assertEquals(new CursorPaginacao(cuidadoResumo.data(), 1L).codificar(), pagina.getProximoCursor());
+        verify(cuidadoRepository, never()).findPrimeiraPaginaResumos(any(Pageable.class));
     }
 
     @Test
     void deveBuscarCuidadosDaPlanta() {
         // Given
-        List<Cuidado> cuidados = Arrays.asList(cuidado);
-        when(cuidadoRepository.findByPlantaIdOrderByDataDesc(1L)).thenReturn(cuidados);
+        List<CuidadoResumo> cuidados = Arrays.asList(cuidadoResumo);
+        when(cuidadoRepository.findResumosByPlantaId(1L)).thenReturn(cuidados);
 
         // When
         List<CuidadoDTO> resultado = cuidadoService.buscarCuidadosDaPlanta(1L);
@@ -195,14 +315,15 @@ class CuidadoServiceTest {
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
         assertEquals(1L, resultado.get(0).getPlantaId());
-        verify(cuidadoRepository, times(1)).findByPlantaIdOrderByDataDesc(1L);
+        assertEquals("Tomate", resultado.get(0).getPlantaNome());
+        verify(cuidadoRepository, times(1)).findResumosByPlantaId(1L);
     }
 
     @Test
     void deveBuscarCuidadosPorTipo() {
         // Given
-        List<Cuidado> cuidados = Arrays.asList(cuidado);
-        when(cuidadoRepository.findByTipo(Cuidado.TipoCuidado.REGA)).thenReturn(cuidados);
+        List<CuidadoResumo> cuidados = Arrays.asList(cuidadoResumo);
+        when(cuidadoRepository.findResumosByTipo(Cuidado.TipoCuidado.REGA)).thenReturn(cuidados);
 
         // When
         List<CuidadoDTO> resultado = cuidadoService.buscarPorTipo(Cuidado.TipoCuidado.REGA);
@@ -211,7 +332,7 @@ class CuidadoServiceTest {
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
         assertEquals(Cuidado.TipoCuidado.REGA, resultado.get(0).getTipo());
-        verify(cuidadoRepository, times(1)).findByTipo(Cuidado.TipoCuidado.REGA);
+        verify(cuidadoRepository, times(1)).findResumosByTipo(Cuidado.TipoCuidado.REGA);
     }
 
     @Test
@@ -245,20 +366,69 @@ class CuidadoServiceTest {
     @Test
     void deveRemoverCuidadoComSucesso() {
         // Given
-        when(cuidadoRepository.existsById(1L)).thenReturn(true);
+        when(cuidadoRepository.findById(1L)).thenReturn(Optional.of(cuidado));
 
         // When
         cuidadoService.removerCuidado(1L);
 
         // Then
-        verify(cuidadoRepository, times(1)).existsById(1L);
-        verify(cuidadoRepository, times(1)).deleteById(1L);
+        verify(cuidadoRepository, times(1)).findById(1L);
+        verify(cuidadoRepository, times(1)).delete(cuidado);
+        verify(estatisticaService, times(1)).removerCuidado(1L, cuidado.getTipo(), cuidado.getData());
+        verify(buscaService, times(1)).removerCuidado(1L);
+    }
+
+    @Test
+    void deveRecalcularUltimaRegaAoRemoverRegaMaisRecente() {
+        // Given
+        LocalDate regaAnterior = LocalDate.now().minusDays(5);
+        planta.definirUltimoCuidado(Cuidado.TipoCuidado.REGA, cuidado.getData());
+        when(cuidadoRepository.findById(1L)).thenReturn(Optional.of(cuidado));
+        when(cuidadoRepository.findUltimaDataPorTipo(1L, Cuidado.TipoCuidado.REGA)).thenReturn(regaAnterior);
+
+        // When
+        cuidadoService.removerCuidado(1L);
+
+        // Then
+        assertEquals(regaAnterior, planta.getUltimaRega());
+        assertEquals(regaAnterior.plusDays(planta.getDiasEntreRegas()), planta.getProximaRega());
+    }
+
+    @Test
+    void naoDeveConsultarHistoricoAoRemoverRegaAntiga() {
+        // Given
+        planta.definirUltimoCuidado(Cuidado.TipoCuidado.REGA, LocalDate.now().plusDays(1));
+        when(cuidadoRepository.findById(1L)).thenReturn(Optional.of(cuidado));
+
+        // When
+        cuidadoService.removerCuidado(1L);
+
+        // Then
+        verify(cuidadoRepository, never()).findUltimaDataPorTipo(anyLong(), any());
+    }
+
+    @Test
+    void deveAtualizarResumoDaPlantaNoBancoAoRegistrarRega() {
+        // Given
+        when(plantaRepository.findIdentificacaoById(1L)).thenReturn(Optional.of(identificacao));
+        when(plantaRepository.getReferenceById(1L)).thenReturn(planta);
+        when(cuidadoRepository.save(any(Cuidado.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        cuidadoService.registrarCuidado(cuidadoDTO);
+
+        // Then
+        verify(plantaRepository, times(1)).registrarUltimaRega(1L, cuidadoDTO.getData());
+        verify(plantaRepository, never()).registrarUltimaPoda(anyLong(), any());
+        verify(agendaAlertas, times(1)).reagendar(1L);
+        verify(plantaCache, times(1)).evictPlanta(1L, "Hortaliça", "Sul");
+        verify(cuidadoRepository, never()).findUltimaDataPorTipo(anyLong(), any());
     }
 
     @Test
     void deveLancarExcecaoAoRemoverCuidadoInexistente() {
         // Given
-        when(cuidadoRepository.existsById(anyLong())).thenReturn(false);
+        when(cuidadoRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(RuntimeException.class, () -> {
@@ -269,7 +439,8 @@ class CuidadoServiceTest {
     @Test
     void deveRegistrarRegaComSucesso() {
         // Given
-        when(plantaRepository.findById(1L)).thenReturn(Optional.of(planta));
+        when(plantaRepository.findIdentificacaoById(1L)).thenReturn(Optional.of(identificacao));
+        when(plantaRepository.getReferenceById(1L)).thenReturn(planta);
         when(cuidadoRepository.save(any(Cuidado.class))).thenReturn(cuidado);
 
         // When
@@ -285,7 +456,8 @@ class CuidadoServiceTest {
     void deveRegistrarPodaComSucesso() {
         // Given
         cuidado.setTipo(Cuidado.TipoCuidado.PODA);
-        when(plantaRepository.findById(1L)).thenReturn(Optional.of(planta));
+        when(plantaRepository.findIdentificacaoById(1L)).thenReturn(Optional.of(identificacao));
+        when(plantaRepository.getReferenceById(1L)).thenReturn(planta);
         when(cuidadoRepository.save(any(Cuidado.class))).thenReturn(cuidado);
 
         // When
@@ -301,7 +473,8 @@ class CuidadoServiceTest {
     void deveRegistrarColheitaComSucesso() {
         // Given
         cuidado.setTipo(Cuidado.TipoCuidado.COLHEITA);
-        when(plantaRepository.findById(1L)).thenReturn(Optional.of(planta));
+        when(plantaRepository.findIdentificacaoById(1L)).thenReturn(Optional.of(identificacao));
+        when(plantaRepository.getReferenceById(1L)).thenReturn(planta);
         when(cuidadoRepository.save(any(Cuidado.class))).thenReturn(cuidado);
 
         // When
@@ -316,8 +489,8 @@ class CuidadoServiceTest {
     @Test
     void deveBuscarCuidadosRecentes() {
         // Given
-        List<Cuidado> cuidados = Arrays.asList(cuidado);
-        when(cuidadoRepository.findCuidadosRecentes(any(LocalDate.class))).thenReturn(cuidados);
+        List<CuidadoResumo> cuidados = Arrays.asList(cuidadoResumo);
+        when(cuidadoRepository.findResumosRecentes(any(LocalDate.class))).thenReturn(cuidados);
 
         // When
         List<CuidadoDTO> resultado = cuidadoService.buscarCuidadosRecentes();
@@ -325,14 +498,14 @@ class CuidadoServiceTest {
         // Then
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
-        verify(cuidadoRepository, times(1)).findCuidadosRecentes(any(LocalDate.class));
+        verify(cuidadoRepository, times(1)).findResumosRecentes(any(LocalDate.class));
     }
 
     @Test
     void deveBuscarCuidadosDeHoje() {
         // Given
-        List<Cuidado> cuidados = Arrays.asList(cuidado);
-        when(cuidadoRepository.findCuidadosDeHoje(any(LocalDate.class))).thenReturn(cuidados);
+        List<CuidadoResumo> cuidados = Arrays.asList(cuidadoResumo);
+        when(cuidadoRepository.findResumosDeHoje(any(LocalDate.class))).thenReturn(cuidados);
 
         // When
         List<CuidadoDTO> resultado = cuidadoService.buscarCuidadosDeHoje();
@@ -340,7 +513,102 @@ class CuidadoServiceTest {
         // Then
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
-        verify(cuidadoRepository, times(1)).findCuidadosDeHoje(any(LocalDate.class));
+        verify(cuidadoRepository, times(1)).findResumosDeHoje(any(LocalDate.class));
     }
-}
 
+    @Test
+    void deveExportarCuidadosEmNdjson() throws Exception {
+        // Given
+        Cuidado outroCuidado = new Cuidado();
+        outroCuidado.setId(2L);
+        outroCuidado.setPlanta(planta);
+        outroCuidado.setData(LocalDate.now());
+        outroCuidado.setTipo(Cuidado.TipoCuidado.PODA);
+        when(cuidadoRepository.streamTodosOrdenadosPorId()).thenReturn(Stream.of(cuidado, outroCuidado));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // When
+        long total = cuidadoService.exportarNdjson(saida);
+
+        // Then
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, total);
+        assertEquals(2, linhas.length);
+        assertEquals(1L, objectMapper.readValue(linhas[0], CuidadoDTO.class).getId());
+        assertEquals(Cuidado.TipoCuidado.PODA, objectMapper.readValue(linhas[1], CuidadoDTO.class).getTipo());
+        verify(entityManager, times(1)).detach(cuidado);
+        verify(entityManager, times(1)).detach(outroCuidado);
+    }
+
+    @Test
+    void deveRegistrarCuidadosEmLoteComFlushPorBloco() {
+        // Given
+        List<CuidadoDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            CuidadoDTO dto = new CuidadoDTO();
+            dto.setPlantaId(1L);
+            dto.setData(LocalDate.now().minusDays(i % 10));
+            dto.setTipo(Cuidado.TipoCuidado.REGA);
+            lote.add(dto);
+        }
+        when(plantaRepository.findAllById(any())).thenReturn(List.of(planta));
+
+        // When
+        List<CuidadoDTO> resultado = cuidadoService.registrarCuidadosEmLote(lote);
+
+        // Then
+        assertEquals(120, resultado.size());
+        assertEquals(LocalDate.now(), planta.getUltimaRega());
+        verify(plantaRepository, times(1)).findAllById(any());
+        verify(entityManager, times(120)).persist(any(Cuidado.class));
+        // 1 flush do resumo + 2 blocos completos de 50 + 1 bloco final
+        verify(entityManager, times(4)).flush();
+        verify(entityManager, times(3)).clear();
+        verify(estatisticaService, times(1)).registrarCuidados(lote);
+    }
+
+    @Test
+    void deveLancarExcecaoNoLoteQuandoPlantaNaoExistir() {
+        // Given
+        when(plantaRepository.findAllById(any())).thenReturn(List.of());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> cuidadoService.registrarCuidadosEmLote(List.of(cuidadoDTO)));
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void deveRegistrarLoteRetornandoResultadoPorItem() {
+        // Given
+        CuidadoDTO semData = new CuidadoDTO();
+        semData.setPlantaId(1L);
+        semData.setTipo(Cuidado.TipoCuidado.PODA);
+
+        CuidadoDTO plantaInexistente = new CuidadoDTO();
+        plantaInexistente.setPlantaId(99L);
+        plantaInexistente.setData(LocalDate.now());
+        plantaInexistente.setTipo(Cuidado.TipoCuidado.REGA);
+
+        when(plantaRepository.findAllById(any())).thenReturn(List.of(planta));
+
+        // When
+        ResultadoLoteDTO resultado = cuidadoService.registrarLote(Arrays.asList(cuidadoDTO, semData, plantaInexistente));
+
+        // Then
+        assertEquals(3, resultado.getTotalRecebidos());
+        assertEquals(1, resultado.getTotalRegistrados());
+        assertEquals(2, resultado.getTotalRejeitados());
+        assertTrue(resultado.getItens().get(0).isRegistrado());
+        assertEquals("Data do cuidado é obrigatória", resultado.getItens().get(1).getErro());
+        assertEquals("Planta não encontrada com ID: 99", resultado.getItens().get(2).getErro());
+        verify(plantaRepository, times(1)).findAllById(any());
+        verify(entityManager, times(1)).persist(any(Cuidado.class));
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoLoteForVazio() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> cuidadoService.registrarLote(List.of()));
+        verify(plantaRepository, never()).findAllById(any());
+    }
+}
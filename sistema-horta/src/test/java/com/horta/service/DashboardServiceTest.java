@@ -0,0 +1,102 @@
+package com.horta.service;
+
+import com.horta.dto.CuidadoDTO;
+import com.horta.dto.PlantaDTO;
+import com.horta.dto.ResumoDashboardDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para DashboardService
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private PlantaService plantaService;
+
+    @Mock
+    private CuidadoService cuidadoService;
+
+    @Spy
+    private ConsultasParalelas consultasParalelas = ConsultasParalelasTest.criar(2000L);
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    @AfterEach
+    void tearDown() {
+        consultasParalelas.finalizar();
+    }
+
+    @Test
+    void deveMontarResumoComContadoresEListasLimitadas() {
+        // Given
+        PlantaDTO planta = new PlantaDTO("Tomate", "Hortaliça", LocalDate.now(), 90, "Sul");
+        CuidadoDTO cuidado = new CuidadoDTO();
+        when(plantaService.contarPlantas()).thenReturn(1200L);
+        when(plantaService.contarPlantasQueNecessitamRega()).thenReturn(40L);
+        when(plantaService.contarPlantasProntasParaColheita()).thenReturn(7L);
+        when(cuidadoService.contarCuidadosRecentes()).thenReturn(300L);
+        when(plantaService.listarMaisRecentes(DashboardService.LIMITE_LISTAS)).thenReturn(List.of(planta));
+        when(cuidadoService.listarUltimosCuidadosRecentes(DashboardService.LIMITE_LISTAS)).thenReturn(List.of(cuidado));
+
+        // When
+        ResumoDashboardDTO resumo = dashboardService.obterResumo();
+
+        // Then
+        assertEquals(1200L, resumo.getTotalPlantas());
+        assertEquals(40L, resumo.getPlantasRega());
+        assertEquals(7L, resumo.getPlantasColheita());
+        assertEquals(300L, resumo.getCuidadosRecentes());
+        assertEquals(List.of(planta), resumo.getPlantas());
+        assertEquals(List.of(cuidado), resumo.getCuidados());
+        assertFalse(resumo.isParcial());
+        verify(plantaService, never()).listarTodas();
+        verify(cuidadoService, never()).buscarCuidadosRecentes();
+    }
+
+    @Test
+    void deveMontarResumoVazio() {
+        // Given
+        when(plantaService.listarMaisRecentes(DashboardService.LIMITE_LISTAS)).thenReturn(Collections.emptyList());
+        when(cuidadoService.listarUltimosCuidadosRecentes(DashboardService.LIMITE_LISTAS)).thenReturn(Collections.emptyList());
+
+        // When
+        ResumoDashboardDTO resumo = dashboardService.obterResumo();
+
+        // Then
+        assertEquals(0L, resumo.getTotalPlantas());
+        assertTrue(resumo.getPlantas().isEmpty());
+        assertTrue(resumo.getCuidados().isEmpty());
+    }
+
+    @Test
+    void deveMarcarResumoComoParcialQuandoUmaConsultaFalhar() {
+        // Given
+        when(plantaService.contarPlantas()).thenReturn(10L);
+        when(plantaService.contarPlantasQueNecessitamRega()).thenThrow(new RuntimeException("Timeout no banco"));
+        when(plantaService.listarMaisRecentes(DashboardService.LIMITE_LISTAS)).thenReturn(Collections.emptyList());
+        when(cuidadoService.listarUltimosCuidadosRecentes(DashboardService.LIMITE_LISTAS)).thenReturn(Collections.emptyList());
+
+        // When
+        ResumoDashboardDTO resumo = dashboardService.obterResumo();
+
+        // Then
+        assertEquals(10L, resumo.getTotalPlantas());
+        assertEquals(0L, resumo.getPlantasRega());
+        assertTrue(resumo.isParcial());
+    }
+}
@@ -0,0 +1,146 @@
+package com.horta.service;
+
+import com.horta.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes do DigestAlertas
+ */
+@ExtendWith(MockitoExtension.class)
+class DigestAlertasTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2024, 3, 10);
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private NotificacaoService notificacaoService;
+
+    private DigestAlertas digestAlertas;
+
+    @BeforeEach
+    void setUp() {
+        digestAlertas = new DigestAlertas();
+        ReflectionTestUtils.setField(digestAlertas, "usuarioRepository", usuarioRepository);
+        ReflectionTestUtils.setField(digestAlertas, "notificacaoService", notificacaoService);
+        ReflectionTestUtils.setField(digestAlertas, "itensPorSecao", 2);
+        ReflectionTestUtils.setField(digestAlertas, "relogio",
+                Clock.fixed(HOJE.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+        digestAlertas.inicializar();
+    }
+
+    @Test
+    void deveEnviarUmResumoPorDestinatarioDaRegiao() {
+        // Given
+        when(usuarioRepository.findEmailsAtivosPorRegiao("Sul")).thenReturn(List.of("ana@horta.com", "bruno@horta.com"));
+        when(notificacaoService.enfileirar(any())).thenReturn(true);
+
+        // When
+        DigestAlertas.ResumoDigest resumo = digestAlertas.gerar(Stream.of(
+                vencimento(1L, "Tomate", "Sul", AgendaAlertas.TipoAlerta.REGA),
+                vencimento(2L, "Alface", "sul", AgendaAlertas.TipoAlerta.REGA),
+                vencimento(3L, "Manjericão", "Sul", AgendaAlertas.TipoAlerta.PODA)));
+
+        // Then
+        assertEquals(new DigestAlertas.ResumoDigest(3, 1, 2, 0), resumo);
+        ArgumentCaptor<Notificacao> captor = ArgumentCaptor.forClass(Notificacao.class);
+        verify(notificacaoService, times(2)).enfileirar(captor.capture());
+        Notificacao notificacao = captor.getAllValues().get(0);
+        assertEquals("ana@horta.com", notificacao.destinatario());
+        assertTrue(notificacao.assunto().contains("3 plantas"));
+        assertTrue(notificacao.mensagem().contains("- Tomate (ID: 1) - previsto para 10/03/2024"));
+        assertTrue(notificacao.mensagem().contains("✂️ Poda (1 plantas)"));
+        assertEquals(notificacao.mensagem(), captor.getAllValues().get(1).mensagem());
+        verify(usuarioRepository, times(1)).findEmailsAtivosPorRegiao(any());
+        verify(usuarioRepository, never()).findEmailsAdministradoresAtivos();
+    }
+
+    @Test
+    void deveEnviarAosAdministradoresPlantasSemDestinatario() {
+        // Given
+        when(usuarioRepository.findEmailsAtivosPorRegiao("Norte")).thenReturn(List.of());
+        when(usuarioRepository.findEmailsAdministradoresAtivos()).thenReturn(List.of("admin@horta.com"));
+        when(notificacaoService.enfileirar(any())).thenReturn(true);
+
+        // When
+        DigestAlertas.ResumoDigest resumo = digestAlertas.gerar(Stream.of(
+                vencimento(1L, "Tomate", null, AgendaAlertas.TipoAlerta.REGA),
+                vencimento(2L, "Alface", "Norte", AgendaAlertas.TipoAlerta.COLHEITA)));
+
+        // Then
+        assertEquals(new DigestAlertas.ResumoDigest(2, 1, 1, 2), resumo);
+        ArgumentCaptor<Notificacao> captor = ArgumentCaptor.forClass(Notificacao.class);
+        verify(notificacaoService).enfileirar(captor.capture());
+        assertEquals("admin@horta.com", captor.getValue().destinatario());
+        assertTrue(captor.getValue().mensagem().contains("Tomate"));
+        assertTrue(captor.getValue().mensagem().contains("Alface"));
+    }
+
+    @Test
+    void deveLimitarItensListadosPorSecao() {
+        // Given
+        when(usuarioRepository.findEmailsAtivosPorRegiao("Sul")).thenReturn(List.of("ana@horta.com"));
+
+        // When
+        digestAlertas.gerar(Stream.of(
+                vencimento(1L, "Tomate", "Sul", AgendaAlertas.TipoAlerta.REGA),
+                vencimento(2L, "Alface", "Sul", AgendaAlertas.TipoAlerta.REGA),
+                vencimento(3L, "Rúcula", "Sul", AgendaAlertas.TipoAlerta.REGA)));
+
+        // Then
+        ArgumentCaptor<Notificacao> captor = ArgumentCaptor.forClass(Notificacao.class);
+        verify(notificacaoService).enfileirar(captor.capture());
+        String mensagem = captor.getValue().mensagem();
+        assertTrue(mensagem.contains("🚰 Rega (3 plantas)"));
+        assertFalse(mensagem.contains("Rúcula"));
+        assertTrue(mensagem.contains("... e mais 1 plantas"));
+    }
+
+    @Test
+    void deveContarSemGuardarPlantasSemDestinatarioAlemDoLimite() {
+        // Given: a região Norte não tem usuários; os itens juntam-se às plantas sem região
+        when(usuarioRepository.findEmailsAtivosPorRegiao("Norte")).thenReturn(List.of());
+        when(usuarioRepository.findEmailsAdministradoresAtivos()).thenReturn(List.of("admin@horta.com"));
+
+        // When
+        DigestAlertas.ResumoDigest resumo = digestAlertas.gerar(Stream.of(
+                vencimento(1L, "Tomate", null, AgendaAlertas.TipoAlerta.REGA),
+                vencimento(2L, "Alface", " ", AgendaAlertas.TipoAlerta.REGA),
+                vencimento(3L, "Rúcula", null, AgendaAlertas.TipoAlerta.REGA),
+                vencimento(4L, "Couve", "Norte", AgendaAlertas.TipoAlerta.REGA),
+                vencimento(5L, "Salsa", "Norte", AgendaAlertas.TipoAlerta.REGA)));
+
+        // Then
+        assertEquals(5, resumo.semDestinatario());
+        ArgumentCaptor<Notificacao> captor = ArgumentCaptor.forClass(Notificacao.class);
+        verify(notificacaoService).enfileirar(captor.capture());
+        String mensagem = captor.getValue().mensagem();
+        assertTrue(captor.getValue().assunto().contains("5 plantas"));
+        assertTrue(mensagem.contains("🚰 Rega (5 plantas)"));
+        assertTrue(mensagem.contains("Tomate"));
+        assertTrue(mensagem.contains("Alface"));
+        assertFalse(mensagem.contains("Couve"));
+        assertTrue(mensagem.contains("... e mais 3 plantas"));
+    }
+
+    private static AgendaAlertas.Vencimento vencimento(Long id, String nome, String regiao, AgendaAlertas.TipoAlerta tipo) {
+        return new AgendaAlertas.Vencimento(id, nome, regiao, tipo, HOJE);
+    }
+}
@@ -0,0 +1,250 @@
+package com.horta.service;
+
+import com.horta.dto.CuidadoDTO;
+import com.horta.model.Cuidado;
+import com.horta.model.EstatisticaCuidadoMes;
+import com.horta.model.EstatisticaCuidadoPlanta;
+import com.horta.model.EstatisticaCuidadoTipo;
+import com.horta.model.EstatisticaPlantaTipo;
+import com.horta.repository.CuidadoArquivoRepository;
+import com.horta.repository.CuidadoRepository;
+import com.horta.repository.EstatisticaCuidadoMesRepository;
+import com.horta.repository.EstatisticaCuidadoPlantaRepository;
+import com.horta.repository.EstatisticaCuidadoTipoRepository;
+import com.horta.repository.EstatisticaPlantaTipoRepository;
+import com.horta.repository.PlantaRepository;
+import com.horta.repository.projecao.EstatisticaMes;
+import com.horta.repository.projecao.EstatisticaPlanta;
+import com.horta.repository.projecao.EstatisticaTipo;
+import com.horta.repository.projecao.PlantaIdentificacao;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para EstatisticaService
+ */
+@ExtendWith(MockitoExtension.class)
+class EstatisticaServiceTest {
+
+    @Mock
+    private EstatisticaPlantaTipoRepository plantasPorTipoRepository;
+
+    @Mock
+    private EstatisticaCuidadoTipoRepository cuidadosPorTipoRepository;
+
+    @Mock
+    private EstatisticaCuidadoPlantaRepository cuidadosPorPlantaRepository;
+
+    @Mock
+    private EstatisticaCuidadoMesRepository cuidadosPorMesRepository;
+
+    @Mock
+    private PlantaRepository plantaRepository;
+
+    @Mock
+    private CuidadoRepository cuidadoRepository;
+
+    @Mock
+    private CuidadoArquivoRepository cuidadoArquivoRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private EstatisticaService estatisticaService;
+
+    @Test
+    void deveSomarUmaVezPorGrupoAoRegistrarLote() {
+        // Given
+        List<CuidadoDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            CuidadoDTO dto = new CuidadoDTO();
+            dto.setPlantaId(i % 2 == 0 ? 1L : 2L);
+            dto.setTipo(Cuidado.TipoCuidado.REGA);
+            dto.setData(LocalDate.of(2024, 3, 10));
+            lote.add(dto);
+        }
+
+        // When
+        estatisticaService.registrarCuidados(lote);
+
+        // Then
+        verify(cuidadosPorTipoRepository, times(1)).criarSeAusente("REGA");
+        verify(cuidadosPorTipoRepository, times(1)).somar(Cuidado.TipoCuidado.REGA, 30L);
+        verify(cuidadosPorPlantaRepository, times(1)).somar(1L, 15L);
+        verify(cuidadosPorPlantaRepository, times(1)).somar(2L, 15L);
+        verify(cuidadosPorMesRepository, times(1)).criarSeAusente(2024, 3);
+        verify(cuidadosPorMesRepository, times(1)).somar(2024, 3, 30L);
+    }
+
+    @Test
+    void deveMoverCuidadoEntreTipoEMesAoAlterar() {
+        // When
+        estatisticaService.alterarCuidado(1L, Cuidado.TipoCuidado.REGA, LocalDate.of(2024, 3, 31),
+                Cuidado.TipoCuidado.PODA, LocalDate.of(2024, 4, 1));
+
+        // Then
+        verify(cuidadosPorTipoRepository).somar(Cuidado.TipoCuidado.REGA, -1L);
+        verify(cuidadosPorTipoRepository).somar(Cuidado.TipoCuidado.PODA, 1L);
+        verify(cuidadosPorMesRepository).somar(2024, 3, -1L);
+        verify(cuidadosPorMesRepository).somar(2024, 4, 1L);
+        // A planta não muda: o delta líquido é zero e a linha não é tocada
+        verify(cuidadosPorPlantaRepository, never()).somar(anyLong(), anyLong());
+    }
+
+    @Test
+    void deveIgnorarAlteracaoSemMudancaDeTipoNemMes() {
+        // When
+        estatisticaService.alterarCuidado(1L, Cuidado.TipoCuidado.REGA, LocalDate.of(2024, 3, 1),
+                Cuidado.TipoCuidado.REGA, LocalDate.of(2024, 3, 20));
+
+        // Then
+        verifyNoInteractions(cuidadosPorTipoRepository, cuidadosPorPlantaRepository, cuidadosPorMesRepository);
+    }
+
+    @Test
+    void deveDescontarPlantaESeusCuidadosAoRemoverPlanta() {
+        // Given
+        when(cuidadoRepository.countCuidadosPorTipoDaPlanta(1L))
+                .thenReturn(List.<Object[]>of(new Object[]{Cuidado.TipoCuidado.REGA, 4L}));
+        when(cuidadoRepository.countCuidadosPorMesDaPlanta(1L))
+                .thenReturn(List.<Object[]>of(new Object[]{2024, 3, 4L}));
+        when(cuidadoArquivoRepository.countPorTipoDaPlanta(1L))
+                .thenReturn(List.<Object[]>of(new Object[]{Cuidado.TipoCuidado.REGA, 2L}));
+        when(cuidadoArquivoRepository.countPorMesDaPlanta(1L))
+                .thenReturn(List.<Object[]>of(new Object[]{2022, 11, 2L}));
+
+        // When
+        estatisticaService.removerPlanta(1L, "Hortaliça");
+
+        // Then
+        verify(plantasPorTipoRepository).somar("Hortaliça", -1L);
+        verify(cuidadosPorTipoRepository).somar(Cuidado.TipoCuidado.REGA, -6L);
+        verify(cuidadosPorMesRepository).somar(2024, 3, -4L);
+        verify(cuidadosPorMesRepository).somar(2022, 11, -2L);
+        verify(cuidadosPorPlantaRepository).removerPorPlantaId(1L);
+    }
+
+    @Test
+    void deveCriarLinhaAntesDeSomarAoRegistrarPlanta() {
+        // When
+        estatisticaService.registrarPlanta("Erva");
+
+        // Then
+        InOrder ordem = inOrder(plantasPorTipoRepository);
+        ordem.verify(plantasPorTipoRepository).criarSeAusente("Erva");
+        ordem.verify(plantasPorTipoRepository).somar("Erva", 1L);
+    }
+
+    @Test
+    void deveReconstruirEstatisticasNaReconciliacao() {
+        // Given
+        when(plantaRepository.countPlantasPorTipo())
+                .thenReturn(List.of(new EstatisticaTipo("Hortaliça", 3L), new EstatisticaTipo("Erva", 1L)));
+        when(cuidadoRepository.countCuidadosPorTipo())
+                .thenReturn(List.of(new EstatisticaTipo(Cuidado.TipoCuidado.REGA, 5L)));
+        when(cuidadoRepository.countCuidadosPorPlantaId())
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 5L}));
+        when(cuidadoRepository.findEstatisticasCuidadosPorMes())
+                .thenReturn(List.of(new EstatisticaMes(2024, 3, 5L)));
+        when(cuidadoArquivoRepository.countPorTipo())
+                .thenReturn(List.of(new EstatisticaTipo(Cuidado.TipoCuidado.REGA, 2L)));
+        when(cuidadoArquivoRepository.countPorPlantaId())
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 2L}));
+        when(cuidadoArquivoRepository.countPorMes())
+                .thenReturn(List.of(new EstatisticaMes(2022, 11, 2L)));
+
+        // When
+        int grupos = estatisticaService.reconciliar();
+
+        // Then
+        assertEquals(6, grupos);
+        verify(plantasPorTipoRepository).deleteAllInBatch();
+        verify(cuidadosPorTipoRepository).deleteAllInBatch();
+        verify(cuidadosPorPlantaRepository).deleteAllInBatch();
+        verify(cuidadosPorMesRepository).deleteAllInBatch();
+        verify(entityManager, times(2)).persist(any(EstatisticaPlantaTipo.class));
+        verify(entityManager, times(2)).persist(any(EstatisticaCuidadoMes.class));
+        verify(entityManager).persist(argThat(e -> e instanceof EstatisticaCuidadoTipo tipo && tipo.getTotal() == 7L));
+        verify(entityManager).persist(argThat(e -> e instanceof EstatisticaCuidadoPlanta planta && planta.getTotal() == 7L));
+        verify(entityManager, times(6)).persist(any());
+    }
+
+    @Test
+    void deveResolverNomesApenasDasPlantasDoTopN() {
+        // Given
+        when(cuidadosPorPlantaRepository.findMaioresTotais(PageRequest.of(0, 2)))
+                .thenReturn(List.of(new EstatisticaCuidadoPlanta(7L, 12L), new EstatisticaCuidadoPlanta(3L, 9L)));
+        when(plantaRepository.findIdentificacoesByIdIn(List.of(7L, 3L)))
+                .thenReturn(List.of(new PlantaIdentificacao(3L, "Tomate", "Hortaliça", "Sul"),
+                        new PlantaIdentificacao(7L, "Tomate", "Hortaliça", "Norte")));
+
+        // When
+        List<EstatisticaPlanta> resultado = estatisticaService.obterCuidadosPorPlanta(2);
+
+        // Then
+        // Plantas com o mesmo nome continuam separadas e a ordem do total é mantida
+        assertEquals(List.of(new EstatisticaPlanta(7L, "Tomate", 12L), new EstatisticaPlanta(3L, "Tomate", 9L)),
+                resultado);
+    }
+
+    @Test
+    void deveBuscarNomesEmLotesQuandoSemLimite() {
+        // Given
+        List<EstatisticaCuidadoPlanta> totais = new ArrayList<>();
+        for (long id = 1; id <= 2500; id++) {
+            totais.add(new EstatisticaCuidadoPlanta(id, 1L));
+        }
+        when(cuidadosPorPlantaRepository.findMaioresTotais(Pageable.unpaged())).thenReturn(totais);
+        when(plantaRepository.findIdentificacoesByIdIn(anyCollection())).thenReturn(List.of());
+
+        // When
+        List<EstatisticaPlanta> resultado = estatisticaService.obterCuidadosPorPlanta(null);
+
+        // Then
+        assertEquals(2500, resultado.size());
+        verify(plantaRepository, times(2)).findIdentificacoesByIdIn(argThat(ids -> ids.size() == 1000));
+        verify(plantaRepository).findIdentificacoesByIdIn(argThat(ids -> ids.size() == 500));
+    }
+
+    @Test
+    void deveRejeitarTopNaoPositivo() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> estatisticaService.obterCuidadosPorPlanta(0));
+        verifyNoInteractions(cuidadosPorPlantaRepository);
+    }
+
+    @Test
+    void deveLerEstatisticasDasTabelasAgregadas() {
+        // Given
+        when(cuidadosPorTipoRepository.findTotais()).thenReturn(Collections.emptyList());
+
+        // When
+        estatisticaService.obterCuidadosPorTipo();
+
+        // Then
+        verify(cuidadosPorTipoRepository).findTotais();
+        verify(cuidadoRepository, never()).countCuidadosPorTipo();
+        verify(cuidadosPorMesRepository, never()).criarSeAusente(anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,94 @@
+package com.horta.service;
+
+import com.horta.dto.ResultadoBuscaDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para IndiceBuscaLucene
+ */
+class IndiceBuscaLuceneTest {
+
+    private IndiceBuscaLucene indice;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        indice = new IndiceBuscaLucene();
+        indice.indexarPlanta(1L, "Tomate Cereja", "Variedade de frutos pequenos");
+        indice.indexarPlanta(2L, "Alface", "Folhas crespas, sensível a pulgões");
+        indice.indexarCuidado(10L, 1L, "Encontrados pulgões nas folhas do tomate");
+        indice.indexarCuidado(11L, 2L, "Rega normal");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        indice.destroy();
+    }
+
+    @Test
+    void deveEncontrarPlantasECuidadosIgnorandoAcentoEPlural() {
+        // When
+        List<ResultadoBuscaDTO> resultados = indice.buscar("Pulgão", 10);
+
+        // Then
+        assertEquals(2, resultados.size());
+        assertTrue(resultados.stream().anyMatch(r -> r.getOrigem() == ResultadoBuscaDTO.Origem.CUIDADO
+                && r.getId() == 10L && r.getPlantaId() == 1L));
+        assertTrue(resultados.stream().anyMatch(r -> r.getOrigem() == ResultadoBuscaDTO.Origem.PLANTA
+                && r.getId() == 2L));
+    }
+
+    @Test
+    void devePriorizarTermoNoNomeDaPlanta() {
+        // When
+        List<ResultadoBuscaDTO> resultados = indice.buscar("tomate", 10);
+
+        // Then
+        assertEquals(ResultadoBuscaDTO.Origem.PLANTA, resultados.get(0).getOrigem());
+        assertEquals(1L, resultados.get(0).getId());
+        assertEquals(ResultadoBuscaDTO.Origem.CUIDADO, resultados.get(1).getOrigem());
+    }
+
+    @Test
+    void deveSubstituirDocumentoAoReindexar() {
+        // When
+        indice.indexarCuidado(11L, 2L, "Rega com adubo líquido");
+
+        // Then
+        assertTrue(indice.buscar("normal", 10).isEmpty());
+        assertEquals(11L, indice.buscar("adubo", 10).get(0).getId());
+    }
+
+    @Test
+    void deveRemoverCuidadoQuandoObservacoesFicamVazias() {
+        // When
+        indice.indexarCuidado(10L, 1L, " ");
+
+        // Then
+        assertTrue(indice.buscar("encontrados", 10).isEmpty());
+    }
+
+    @Test
+    void deveRemoverPlantaJuntoComSeusCuidados() {
+        // When
+        indice.removerPlanta(1L);
+
+        // Then
+        assertTrue(indice.buscar("tomate", 10).isEmpty());
+        assertEquals(1, indice.buscar("pulgões", 10).size());
+    }
+
+    @Test
+    void deveRespeitarLimite() {
+        // When
+        List<ResultadoBuscaDTO> resultados = indice.buscar("pulgões tomate", 1);
+
+        // Then
+        assertEquals(1, resultados.size());
+    }
+}
@@ -0,0 +1,224 @@
+package com.horta.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.horta.model.NotificacaoFalha;
+import com.horta.repository.NotificacaoFalhaRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes do NotificacaoService entregando a um webhook local (HttpServer do JDK)
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificacaoServiceTest {
+
+    @Mock
+    private NotificacaoFalhaRepository notificacaoFalhaRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Webhook local: guarda o corpo de cada requisição e responde com o status configurado
+    private HttpServer webhook;
+    private final BlockingQueue<JsonNode> recebidas = new LinkedBlockingQueue<>();
+    private final AtomicInteger falhasRestantes = new AtomicInteger();
+
+    private NotificacaoService notificacaoService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        webhook = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        webhook.createContext("/notificacoes", troca -> {
+            JsonNode corpo = objectMapper.readTree(troca.getRequestBody());
+            int status = falhasRestantes.getAndDecrement() > 0 ? 503 : 204;
+            if (status == 204) {
+                recebidas.add(corpo);
+            }
+            troca.sendResponseHeaders(status, -1);
+            troca.close();
+        });
+        webhook.start();
+
+        NotificacaoCanalWebhook canal = new NotificacaoCanalWebhook();
+        ReflectionTestUtils.setField(canal, "url", "http://localhost:" + webhook.getAddress().getPort() + "/notificacoes");
+        ReflectionTestUtils.setField(canal, "timeoutMs", 2000L);
+        ReflectionTestUtils.setField(canal, "objectMapper", objectMapper);
+
+        notificacaoService = new NotificacaoService();
+        ReflectionTestUtils.setField(notificacaoService, "capacidadeFila", 100);
+        ReflectionTestUtils.setField(notificacaoService, "loteMaximo", 50);
+        ReflectionTestUtils.setField(notificacaoService, "janelaLoteMs", 200L);
+        ReflectionTestUtils.setField(notificacaoService, "threads", 2);
+        ReflectionTestUtils.setField(notificacaoService, "tentativas", 3);
+        ReflectionTestUtils.setField(notificacaoService, "backoffInicialMs", 10L);
+        ReflectionTestUtils.setField(notificacaoService, "backoffMaximoMs", 100L);
+        ReflectionTestUtils.setField(notificacaoService, "gravacaoRecusadasMs", 50L);
+        ReflectionTestUtils.setField(notificacaoService, "encerramentoMs", 2000L);
+        ReflectionTestUtils.setField(notificacaoService, "canais", List.of(canal));
+        ReflectionTestUtils.setField(notificacaoService, "notificacaoFalhaRepository", notificacaoFalhaRepository);
+        ReflectionTestUtils.setField(notificacaoService, "meterRegistry", meterRegistry);
+        notificacaoService.inicializar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificacaoService.finalizar();
+        webhook.stop(0);
+    }
+
+    @Test
+    void deveAgruparNotificacoesPorDestinatario() throws InterruptedException {
+        // When
+        notificacaoService.enfileirar(new Notificacao("ana@horta.com", "Rega", "- Tomate"));
+        notificacaoService.enfileirar(new Notificacao("bruno@horta.com", "Rega", "- Alface"));
+        notificacaoService.enfileirar(new Notificacao("ana@horta.com", "Poda", "- Manjericão"));
+
+        // Then
+        JsonNode primeira = recebidas.poll(5, TimeUnit.SECONDS);
+        JsonNode segunda = recebidas.poll(5, TimeUnit.SECONDS);
+        assertNotNull(primeira);
+        assertNotNull(segunda);
+        JsonNode ana = "ana@horta.com".equals(primeira.get("destinatario").asText()) ? primeira : segunda;
+        assertEquals(2, ana.get("notificacoes").size());
+        assertEquals("Poda", ana.get("notificacoes").get(1).get("assunto").asText());
+        assertNull(recebidas.poll(300, TimeUnit.MILLISECONDS));
+        assertEquals(3.0, meterRegistry.counter("horta.notificacoes.enviadas", "canal", "webhook").count());
+    }
+
+    @Test
+    void deveReenviarAposFalhaTemporaria() throws InterruptedException {
+        // Given
+        falhasRestantes.set(2);
+
+        // When
+        notificacaoService.enfileirar(new Notificacao("ana@horta.com", "Rega", "- Tomate"));
+
+        // Then
+        JsonNode recebida = recebidas.poll(5, TimeUnit.SECONDS);
+        assertNotNull(recebida);
+        assertEquals("ana@horta.com", recebida.get("destinatario").asText());
+        assertEquals(2.0, meterRegistry.counter("horta.notificacoes.erros", "canal", "webhook").count());
+        verifyNoInteractions(notificacaoFalhaRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void deveRegistrarFalhaAposEsgotarTentativas() {
+        // Given
+        falhasRestantes.set(Integer.MAX_VALUE);
+
+        // When
+        notificacaoService.enfileirar(new Notificacao("ana@horta.com", "Rega", "- Tomate"));
+
+        // Then
+        ArgumentCaptor<List<NotificacaoFalha>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificacaoFalhaRepository, timeout(5000)).saveAll(captor.capture());
+        NotificacaoFalha falha = captor.getValue().get(0);
+        assertEquals("webhook", falha.getCanal());
+        assertEquals("ana@horta.com", falha.getDestinatario());
+        assertEquals(3, falha.getTentativas());
+        assertEquals(1.0, meterRegistry.counter("horta.notificacoes.descartadas", "canal", "webhook").count());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void deveGravarForaDaThreadQuemNotificaAsRecusadasComFilaCheia() throws InterruptedException {
+        // Given: agrupamento parado e fila cheia
+        Thread agrupador = (Thread) ReflectionTestUtils.getField(notificacaoService, "agrupador");
+        agrupador.interrupt();
+        agrupador.join(5000);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(notificacaoService.enfileirar(new Notificacao("ana@horta.com", "Rega", "- Tomate " + i)));
+        }
+        Thread chamador = Thread.currentThread();
+        List<Thread> gravacoes = new CopyOnWriteArrayList<>();
+        when(notificacaoFalhaRepository.saveAll(anyList())).thenAnswer(invocacao -> {
+            gravacoes.add(Thread.currentThread());
+            return invocacao.getArgument(0);
+        });
+
+        // When
+        boolean aceita = notificacaoService.enfileirar(new Notificacao("bruno@horta.com", "Poda", "- Alface"));
+
+        // Then
+        assertFalse(aceita);
+        ArgumentCaptor<List<NotificacaoFalha>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificacaoFalhaRepository, timeout(5000)).saveAll(captor.capture());
+        assertEquals("fila", captor.getValue().get(0).getCanal());
+        assertEquals("bruno@horta.com", captor.getValue().get(0).getDestinatario());
+        assertFalse(gravacoes.contains(chamador));
+        assertEquals(1.0, meterRegistry.counter("horta.notificacoes.descartadas", "canal", "fila").count());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void deveGravarComoFalhaAoEncerrarOQueNaoFoiEnviado() throws InterruptedException {
+        // Given: um lote aguardando nova tentativa daqui a um minuto
+        falhasRestantes.set(Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(notificacaoService, "backoffInicialMs", 60000L);
+        ReflectionTestUtils.setField(notificacaoService, "backoffMaximoMs", 60000L);
+        notificacaoService.enfileirar(new Notificacao("ana@horta.com", "Rega", "- Tomate"));
+        long prazo = System.currentTimeMillis() + 5000;
+        while (meterRegistry.counter("horta.notificacoes.erros", "canal", "webhook").count() < 1
+                && System.currentTimeMillis() < prazo) {
+            Thread.sleep(10);
+        }
+        // ... e uma notificação ainda na fila, com o agrupamento parado
+        Thread agrupador = (Thread) ReflectionTestUtils.getField(notificacaoService, "agrupador");
+        agrupador.interrupt();
+        agrupador.join(5000);
+        notificacaoService.enfileirar(new Notificacao("bruno@horta.com", "Poda", "- Alface"));
+        List<NotificacaoFalha> gravadas = new CopyOnWriteArrayList<>();
+        when(notificacaoFalhaRepository.saveAll(anyList())).thenAnswer(invocacao -> {
+            gravadas.addAll(invocacao.getArgument(0));
+            return invocacao.getArgument(0);
+        });
+
+        // When
+        long inicio = System.nanoTime();
+        notificacaoService.finalizar();
+
+        // Then: nada se perde e o encerramento não espera a nova tentativa
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 2000);
+        assertEquals(2, gravadas.size());
+        NotificacaoFalha naFila = gravadas.stream().filter(f -> f.getCanal().equals("fila")).findFirst().orElseThrow();
+        assertEquals("bruno@horta.com", naFila.getDestinatario());
+        assertEquals(0, naFila.getTentativas());
+        NotificacaoFalha agendada = gravadas.stream().filter(f -> f.getCanal().equals("webhook")).findFirst().orElseThrow();
+        assertEquals("ana@horta.com", agendada.getDestinatario());
+        assertEquals(1, agendada.getTentativas());
+        assertTrue(recebidas.isEmpty());
+    }
+
+    @Test
+    void deveDobrarEsperaAteOMaximo() {
+        // When & Then
+        assertEquals(10, notificacaoService.espera(1));
+        assertEquals(20, notificacaoService.espera(2));
+        assertEquals(80, notificacaoService.espera(4));
+        assertEquals(100, notificacaoService.espera(5));
+        verify(notificacaoFalhaRepository, never()).saveAll(anyList());
+    }
+}
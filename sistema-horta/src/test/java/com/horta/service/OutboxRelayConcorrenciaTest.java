@@ -0,0 +1,119 @@
+package com.horta.service;
+
+import com.horta.model.EventoOutbox;
+import com.horta.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração do OutboxRelay com duas réplicas publicando ao mesmo tempo.
+ * Rodam no PostgreSQL: o H2 bloqueia no FOR UPDATE também linhas além do LIMIT e não
+ * reproduz o SKIP LOCKED entre réplicas.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayConcorrenciaTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void configurarBanco(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        eventoOutboxRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void naoDevePublicarEventoSeguinteEnquantoOutraReplicaPublicaOAnterior() throws InterruptedException {
+        // Given: dois eventos da planta 10 e um do cuidado 20
+        EventoOutbox criada = eventoOutboxRepository.save(new EventoOutbox(EventoOutbox.TipoEvento.PLANTA_CRIADA, 10L, "{}"));
+        EventoOutbox atualizada = eventoOutboxRepository.save(new EventoOutbox(EventoOutbox.TipoEvento.PLANTA_ATUALIZADA, 10L, "{}"));
+        EventoOutbox cuidado = eventoOutboxRepository.save(new EventoOutbox(EventoOutbox.TipoEvento.CUIDADO_REGISTRADO, 20L, "{}"));
+
+        // A réplica A, com lotes de um evento, fica parada no listener do primeiro evento da
+        // planta, com ele bloqueado; a réplica B lê lotes maiores
+        CountDownLatch publicando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<Long> publicadosA = new CopyOnWriteArrayList<>();
+        OutboxRelay replicaA = relay(evento -> {
+            EventoDominio dominio = (EventoDominio) evento;
+            if (dominio.id().equals(criada.getId())) {
+                publicando.countDown();
+                aguardar(liberar);
+            }
+            publicadosA.add(dominio.id());
+        }, 1);
+        List<Long> publicadosB = new CopyOnWriteArrayList<>();
+        OutboxRelay replicaB = relay(evento -> publicadosB.add(((EventoDominio) evento).id()), 100);
+
+        Thread threadA = new Thread(replicaA::publicarPendentes, "outbox-replica-a");
+        threadA.start();
+        assertTrue(publicando.await(10, TimeUnit.SECONDS));
+
+        // When
+        replicaB.publicarPendentes();
+        liberar.countDown();
+        threadA.join(10_000);
+
+        // Then: B pula o evento bloqueado, não se adianta com o seguinte da planta e publica o
+        // cuidado; A publica a planta em ordem
+        assertEquals(List.of(cuidado.getId()), publicadosB);
+        assertEquals(List.of(criada.getId(), atualizada.getId()), publicadosA);
+        assertEquals(0, eventoOutboxRepository.count());
+    }
+
+    private OutboxRelay relay(ApplicationEventPublisher eventPublisher, int tamanhoLote) {
+        OutboxRelay relay = new OutboxRelay();
+        ReflectionTestUtils.setField(relay, "eventoOutboxRepository", eventoOutboxRepository);
+        ReflectionTestUtils.setField(relay, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(relay, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(relay, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "tamanhoLote", tamanhoLote);
+        ReflectionTestUtils.setField(relay, "backoffInicialMs", 1000L);
+        ReflectionTestUtils.setField(relay, "backoffMaximoMs", 60000L);
+        return relay;
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.horta.service;
+
+import com.horta.model.EventoOutbox;
+import com.horta.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para OutboxRelay
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxRelay, "tamanhoLote", 2);
+        ReflectionTestUtils.setField(outboxRelay, "backoffInicialMs", 1000L);
+        ReflectionTestUtils.setField(outboxRelay, "backoffMaximoMs", 60000L);
+    }
+
+    @Test
+    void devePublicarERemoverEventosEmLotes() {
+        // Given
+        EventoOutbox primeiro = evento(1L, EventoOutbox.TipoEvento.CUIDADO_REGISTRADO);
+        EventoOutbox segundo = evento(2L, EventoOutbox.TipoEvento.CUIDADO_REGISTRADO);
+        EventoOutbox terceiro = evento(3L, EventoOutbox.TipoEvento.PLANTA_REMOVIDA);
+        when(eventoOutboxRepository.bloquearDisponiveis(any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(primeiro, segundo))
+                .thenReturn(List.of(terceiro))
+                .thenReturn(List.of());
+
+        // When
+        outboxRelay.publicarPendentes();
+
+        // Then: um lote parcial não encerra a varredura, só o lote vazio
+        verify(eventoOutboxRepository, times(3)).bloquearDisponiveis(any(LocalDateTime.class), eq(2));
+        verify(eventPublisher, times(3)).publishEvent(any(EventoDominio.class));
+        verify(eventoOutboxRepository).deleteAllInBatch(List.of(primeiro, segundo));
+        verify(eventoOutboxRepository).deleteAllInBatch(List.of(terceiro));
+        assertEquals(2.0, meterRegistry.counter("horta.outbox.publicados", "tipo", "CUIDADO_REGISTRADO").count());
+    }
+
+    @Test
+    void deveAdiarEventoQuandoListenerFalha() {
+        // Given
+        EventoOutbox comFalha = evento(1L, EventoOutbox.TipoEvento.CUIDADO_REGISTRADO);
+        EventoOutbox entregue = evento(2L, EventoOutbox.TipoEvento.CUIDADO_ATUALIZADO);
+        entregue.setAgregadoId(11L);
+        when(eventoOutboxRepository.bloquearDisponiveis(any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(comFalha, entregue))
+                .thenReturn(List.of());
+        doThrow(new IllegalStateException("listener indisponível"))
+                .when(eventPublisher).publishEvent(argThat((Object e) -> e instanceof EventoDominio d && d.id() == 1L));
+
+        // When
+        LocalDateTime antes = LocalDateTime.now();
+        outboxRelay.publicarPendentes();
+
+        // Then
+        verify(eventoOutboxRepository).deleteAllInBatch(List.of(entregue));
+        assertEquals(1, comFalha.getTentativas());
+        assertEquals("listener indisponível", comFalha.getUltimoErro());
+        assertFalse(comFalha.getDisponivelEm().isBefore(antes.plusSeconds(1)));
+    }
+
+    @Test
+    void devePublicarCadaEventoEmTransacaoPropria() {
+        // Given
+        when(eventoOutboxRepository.bloquearDisponiveis(any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(evento(1L, EventoOutbox.TipoEvento.PLANTA_CRIADA)))
+                .thenReturn(List.of());
+
+        // When
+        outboxRelay.publicarPendentes();
+
+        // Then
+        verify(transactionManager).getTransaction(argThat(definicao -> definicao != null
+                && definicao.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    void deveDobrarEsperaAteOMaximo() {
+        // When & Then
+        assertEquals(1000, outboxRelay.espera(1));
+        assertEquals(4000, outboxRelay.espera(3));
+        assertEquals(60000, outboxRelay.espera(10));
+    }
+
+    private EventoOutbox evento(Long id, EventoOutbox.TipoEvento tipo) {
+        EventoOutbox evento = new EventoOutbox(tipo, 10L, "{}");
+        evento.setId(id);
+        evento.setDataCriacao(LocalDateTime.now());
+        evento.setDisponivelEm(evento.getDataCriacao());
+        return evento;
+    }
+}
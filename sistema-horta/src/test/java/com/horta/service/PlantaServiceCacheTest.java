@@ -0,0 +1,162 @@
+package com.horta.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.horta.config.CacheConfig;
+import com.horta.dto.PlantaDTO;
+import com.horta.model.Planta;
+import com.horta.repository.CuidadoArquivoRepository;
+import com.horta.repository.PlantaRepository;
+import com.horta.repository.projecao.PlantaComTotalCuidados;
+import com.horta.repository.projecao.PlantaIdentificacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes do cache de leitura de PlantaService (hits e remoções após escrita)
+ */
+@SpringJUnitConfig(PlantaServiceCacheTest.Config.class)
+class PlantaServiceCacheTest {
+
+    @Configuration
+    @Import({CacheConfig.class, PlantaService.class, PlantaCache.class})
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+            cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100).recordStats());
+            return cacheManager;
+        }
+    }
+
+    @MockBean
+    private PlantaRepository plantaRepository;
+
+    @MockBean
+    private EstatisticaService estatisticaService;
+
+    @MockBean
+    private BuscaService buscaService;
+
+    @MockBean
+    private AutocompletePlantas autocompletePlantas;
+
+    @MockBean
+    private AgendaAlertas agendaAlertas;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    @MockBean
+    private CuidadoArquivoRepository cuidadoArquivoRepository;
+
+    @Autowired
+    private PlantaService plantaService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Planta planta;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+
+        planta = new Planta("Tomate", "Hortaliça", LocalDate.now().minusDays(30), 90, "Sul");
+        planta.setId(1L);
+        PlantaComTotalCuidados plantaComTotal = new PlantaComTotalCuidados(planta, 2L);
+
+        when(plantaRepository.findByIdComTotalCuidados(1L)).thenReturn(Optional.of(plantaComTotal));
+        when(plantaRepository.findByTipoComTotalCuidados("hortaliça")).thenReturn(List.of(plantaComTotal));
+        when(plantaRepository.findByRegiaoComTotalCuidados("sul")).thenReturn(List.of(plantaComTotal));
+    }
+
+    @Test
+    void deveConsultarBancoUmaUnicaVezParaLeiturasRepetidas() {
+        // When
+        plantaService.buscarPorId(1L);
+        plantaService.buscarPorId(1L);
+        plantaService.buscarPorTipo("Hortaliça");
+        plantaService.buscarPorTipo("Hortaliça");
+        plantaService.buscarPorRegiao("Sul");
+        plantaService.sugerirPlantasParaRegiao("Sul");
+
+        // Then
+        verify(plantaRepository, times(1)).findByIdComTotalCuidados(1L);
+        verify(plantaRepository, times(1)).findByTipoComTotalCuidados("hortaliça");
+        verify(plantaRepository, times(1)).findByRegiaoComTotalCuidados("sul");
+    }
+
+    @Test
+    void deveRemoverDoCacheApenasAsEntradasDaPlantaRemovida() {
+        // Given
+        when(plantaRepository.findByTipoComTotalCuidados("fruta")).thenReturn(List.of());
+        when(plantaRepository.findIdentificacaoById(1L))
+                .thenReturn(Optional.of(new PlantaIdentificacao(1L, "Tomate", "Hortaliça", "Sul")));
+        plantaService.buscarPorId(1L);
+        plantaService.buscarPorTipo("Hortaliça");
+        plantaService.buscarPorTipo("Fruta");
+
+        // When
+        plantaService.removerPlanta(1L);
+        plantaService.buscarPorId(1L);
+        plantaService.buscarPorTipo("Hortaliça");
+        plantaService.buscarPorTipo("Fruta");
+
+        // Then
+        verify(plantaRepository, times(2)).findByIdComTotalCuidados(1L);
+        verify(plantaRepository, times(2)).findByTipoComTotalCuidados("hortaliça");
+        verify(plantaRepository, times(1)).findByTipoComTotalCuidados("fruta");
+    }
+
+    @Test
+    void deveRemoverDoCacheListasDoTipoAoSalvarNovaPlanta() {
+        // Given
+        when(plantaRepository.save(any(Planta.class))).thenReturn(planta);
+        plantaService.buscarPorTipo("Hortaliça");
+
+        PlantaDTO novaPlanta = new PlantaDTO("Alface", "Hortaliça", LocalDate.now(), 45, "Sul");
+
+        // When
+        plantaService.salvarPlanta(novaPlanta);
+        List<PlantaDTO> resultado = plantaService.buscarPorTipo("Hortaliça");
+
+        // Then
+        assertEquals(1, resultado.size());
+        verify(plantaRepository, times(2)).findByTipoComTotalCuidados("hortaliça");
+    }
+
+    @Test
+    void deveCompartilharEntradaEntreGrafiasDoMesmoTipoERemoverAposEscrita() {
+        // Given
+        when(plantaRepository.findIdentificacaoById(1L))
+                .thenReturn(Optional.of(new PlantaIdentificacao(1L, "Tomate", "Hortaliça", "Sul")));
+        plantaService.buscarPorTipo("HORTALIÇA");
+        plantaService.buscarPorTipo(" hortaliça ");
+        plantaService.buscarPorRegiao("SUL");
+
+        // When
+        plantaService.removerPlanta(1L);
+        plantaService.buscarPorTipo("HORTALIÇA");
+        plantaService.buscarPorRegiao("sul");
+
+        // Then
+        verify(plantaRepository, times(2)).findByTipoComTotalCuidados("hortaliça");
+        verify(plantaRepository, times(2)).findByRegiaoComTotalCuidados("sul");
+    }
+}
@@ -1,14 +1,21 @@
 package com.horta.service;
 
+import com.horta.dto.PaginaDTO;
 import com.horta.dto.PlantaDTO;
+import com.horta.model.EventoOutbox;
 import com.horta.model.Planta;
+import com.horta.repository.CuidadoArquivoRepository;
 import com.horta.repository.PlantaRepository;
+import com.horta.repository.projecao.PlantaComTotalCuidados;
+import com.horta.repository.projecao.PlantaIdentificacao;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -18,6 +25,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -29,10 +37,32 @@ class PlantaServiceTest {
     @Mock
     private PlantaRepository plantaRepository;
 
+    @Mock
+    private PlantaCache plantaCache;
+
+    @Mock
+    private EstatisticaService estatisticaService;
+
+    @Mock
+    private BuscaService buscaService;
+
+    @Mock
+    private AutocompletePlantas autocompletePlantas;
+
+    @Mock
+    private AgendaAlertas agendaAlertas;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private CuidadoArquivoRepository cuidadoArquivoRepository;
+
     @InjectMocks
     private PlantaService plantaService;
 
     private Planta planta;
+    private PlantaComTotalCuidados plantaComTotal;
     private PlantaDTO plantaDTO;
 
     @BeforeEach
@@ -48,6 +78,8 @@ class PlantaServiceTest {
         planta.setDiasEntreRegas(3);
         planta.setDiasEntrePodas(30);
 
+        plantaComTotal = new PlantaComTotalCuidados(planta, 2L);
+
         plantaDTO = new PlantaDTO();
         plantaDTO.setNome("Tomate");
         plantaDTO.setTipo("Hortaliça");
@@ -72,6 +104,9 @@ class PlantaServiceTest {
         assertEquals("Tomate", resultado.getNome());
         assertEquals("Hortaliça", resultado.getTipo());
         verify(plantaRepository, times(1)).save(any(Planta.class));
+        verify(estatisticaService, times(1)).registrarPlanta("Hortaliça");
+        verify(autocompletePlantas, times(1)).registrar(planta.getId(), "Tomate");
+        verify(outboxService, times(1)).registrar(EventoOutbox.TipoEvento.PLANTA_CRIADA, planta.getId(), resultado);
     }
 
     @Test
@@ -121,7 +156,7 @@ class PlantaServiceTest {
     @Test
     void deveBuscarPlantaPorIdComSucesso() {
         // Given
-        when(plantaRepository.findById(1L)).thenReturn(Optional.of(planta));
+        when(plantaRepository.findByIdComTotalCuidados(1L)).thenReturn(Optional.of(plantaComTotal));
 
         // When
         Optional<PlantaDTO> resultado = plantaService.buscarPorId(1L);
@@ -129,27 +164,28 @@ class PlantaServiceTest {
         // Then
         assertTrue(resultado.isPresent());
         assertEquals("Tomate", resultado.get().getNome());
-        verify(plantaRepository, times(1)).findById(1L);
+        assertEquals(2, resultado.get().getTotalCuidados());
+        verify(plantaRepository, times(1)).findByIdComTotalCuidados(1L);
     }
 
     @Test
     void deveRetornarVazioQuandoPlantaNaoExistir() {
         // Given
-        when(plantaRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(plantaRepository.findByIdComTotalCuidados(anyLong())).thenReturn(Optional.empty());
 
         // When
         Optional<PlantaDTO> resultado = plantaService.buscarPorId(999L);
 
         // Then
         assertFalse(resultado.isPresent());
-        verify(plantaRepository, times(1)).findById(999L);
+        verify(plantaRepository, times(1)).findByIdComTotalCuidados(999L);
     }
 
     @Test
     void deveListarTodasAsPlantas() {
         // Given
-        List<Planta> plantas = Arrays.asList(planta);
-        when(plantaRepository.findAll()).thenReturn(plantas);
+        List<PlantaComTotalCuidados> plantas = Arrays.asList(plantaComTotal);
+        when(plantaRepository.findAllComTotalCuidados()).thenReturn(plantas);
 
         // When
         List<PlantaDTO> resultado = plantaService.listarTodas();
@@ -158,14 +194,72 @@ class PlantaServiceTest {
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
         assertEquals("Tomate", resultado.get(0).getNome());
-        verify(plantaRepository, times(1)).findAll();
+        assertEquals(2, resultado.get(0).getTotalCuidados());
+        verify(plantaRepository, times(1)).findAllComTotalCuidados();
+    }
+
+    @Test
+    void deveListarPlantasMaisRecentesLimitadasNoBanco() {
+        // Given
+        when(plantaRepository.findMaisRecentesComTotalCuidados(PageRequest.of(0, 5))).thenReturn(Arrays.asList(plantaComTotal));
+
+        // When
+        List<PlantaDTO> resultado = plantaService.listarMaisRecentes(5);
+
+        // Then
+        assertEquals(1, resultado.size());
+        assertEquals(2, resultado.get(0).getTotalCuidados());
+        verify(plantaRepository, never()).findAllComTotalCuidados();
+    }
+
+    @Test
+    void deveListarPrimeiraPaginaComProximoCursor() {
+        // Given
+        Planta outraPlanta = new Planta("Alface", "Hortaliça", LocalDate.now().minusDays(10), 60, "Sul");
+        outraPlanta.setId(2L);
+        List<PlantaComTotalCuidados> plantas = Arrays.asList(plantaComTotal, new PlantaComTotalCuidados(outraPlanta, 0L));
+        when(plantaRepository.findPrimeiraPaginaComTotalCuidados(any(Pageable.class))).thenReturn(plantas);
+
+        // When
+        PaginaDTO<PlantaDTO> pagina = plantaService.listarPagina(null, 1);
+
+        // Then
+        assertEquals(1, pagina.getItens().size());
+        assertEquals("Tomate", pagina.getItens().get(0).getNome());
+        CursorPaginacao cursor = CursorPaginacao.decodificar(pagina.getProximoCursor());
+        assertEquals(planta.getDataPlantio(), cursor.data());
+        assertEquals(1L, cursor.id());
+    }
+
+    @Test
+    void deveListarPaginaAposCursorSemProximoCursorNaUltimaPagina() {
+        // Given
+        String cursor = new CursorPaginacao(LocalDate.now().minusDays(60), 7L).codificar();
+        List<PlantaComTotalCuidados> plantas = Arrays.asList(plantaComTotal);
+        when(plantaRepository.findPaginaAposComTotalCuidados(eq(LocalDate.now().minusDays(60)), eq(7L), any(Pageable.class)))
+                .thenReturn(plantas);
+
+        // When
+        PaginaDTO<PlantaDTO> pagina = plantaService.listarPagina(cursor, 10);
+
+        // Then
+        assertEquals(1, pagina.getItens().size());
+        assertNull(pagina.getProximoCursor());
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoCursorForInvalido() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> {
+            plantaService.listarPagina("nao-e-um-cursor", 10);
+        });
     }
 
     @Test
     void deveBuscarPlantasPorNome() {
         // Given
-        List<Planta> plantas = Arrays.asList(planta);
-        when(plantaRepository.findByNomeContainingIgnoreCase("Tomate")).thenReturn(plantas);
+        List<PlantaComTotalCuidados> plantas = Arrays.asList(plantaComTotal);
+        when(plantaRepository.findByNomeComTotalCuidados("Tomate")).thenReturn(plantas);
 
         // When
         List<PlantaDTO> resultado = plantaService.buscarPorNome("Tomate");
@@ -174,14 +268,14 @@ class PlantaServiceTest {
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
         assertEquals("Tomate", resultado.get(0).getNome());
-        verify(plantaRepository, times(1)).findByNomeContainingIgnoreCase("Tomate");
+        verify(plantaRepository, times(1)).findByNomeComTotalCuidados("Tomate");
     }
 
     @Test
     void deveBuscarPlantasPorTipo() {
         // Given
-        List<Planta> plantas = Arrays.asList(planta);
-        when(plantaRepository.findByTipoIgnoreCase("Hortaliça")).thenReturn(plantas);
+        List<PlantaComTotalCuidados> plantas = Arrays.asList(plantaComTotal);
+        when(plantaRepository.findByTipoComTotalCuidados("hortaliça")).thenReturn(plantas);
 
         // When
         List<PlantaDTO> resultado = plantaService.buscarPorTipo("Hortaliça");
@@ -190,14 +284,14 @@ class PlantaServiceTest {
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
         assertEquals("Hortaliça", resultado.get(0).getTipo());
-        verify(plantaRepository, times(1)).findByTipoIgnoreCase("Hortaliça");
+        verify(plantaRepository, times(1)).findByTipoComTotalCuidados("hortaliça");
     }
 
     @Test
     void deveBuscarPlantasPorRegiao() {
         // Given
-        List<Planta> plantas = Arrays.asList(planta);
-        when(plantaRepository.findByRegiaoIgnoreCase("Sul")).thenReturn(plantas);
+        List<PlantaComTotalCuidados> plantas = Arrays.asList(plantaComTotal);
+        when(plantaRepository.findByRegiaoComTotalCuidados("sul")).thenReturn(plantas);
 
         // When
         List<PlantaDTO> resultado = plantaService.buscarPorRegiao("Sul");
@@ -206,7 +300,7 @@ class PlantaServiceTest {
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
         assertEquals("Sul", resultado.get(0).getRegiao());
-        verify(plantaRepository, times(1)).findByRegiaoIgnoreCase("Sul");
+        verify(plantaRepository, times(1)).findByRegiaoComTotalCuidados("sul");
     }
 
     @Test
@@ -224,6 +318,7 @@ class PlantaServiceTest {
         assertNotNull(resultado);
         verify(plantaRepository, times(1)).findById(1L);
         verify(plantaRepository, times(1)).save(any(Planta.class));
+        verify(plantaRepository, times(1)).countCuidadosDaPlanta(1L);
     }
 
     @Test
@@ -240,20 +335,42 @@ class PlantaServiceTest {
     @Test
     void deveRemoverPlantaComSucesso() {
         // Given
-        when(plantaRepository.existsById(1L)).thenReturn(true);
+        when(plantaRepository.findIdentificacaoById(1L))
+                .thenReturn(Optional.of(new PlantaIdentificacao(1L, "Tomate", "Hortaliça", "Sul")));
 
         // When
         plantaService.removerPlanta(1L);
 
         // Then
-        verify(plantaRepository, times(1)).existsById(1L);
         verify(plantaRepository, times(1)).deleteById(1L);
+        verify(plantaCache, times(1)).evictPlanta(1L, "Hortaliça", "Sul");
+        verify(estatisticaService, times(1)).removerPlanta(1L, "Hortaliça");
+        verify(cuidadoArquivoRepository, times(1)).removerPorPlantaId(1L);
+        verify(buscaService, times(1)).removerPlanta(1L);
+        verify(autocompletePlantas, times(1)).remover(1L);
+    }
+
+    @Test
+    void deveRemoverDoCacheTipoAnteriorENovoAoAtualizarPlanta() {
+        // Given
+        planta.setTipo("Hortaliça");
+        plantaDTO.setTipo("Erva");
+        when(plantaRepository.findById(1L)).thenReturn(Optional.of(planta));
+        when(plantaRepository.save(any(Planta.class))).thenReturn(planta);
+
+        // When
+        plantaService.atualizarPlanta(1L, plantaDTO);
+
+        // Then
+        verify(plantaCache, times(1)).evictPlanta(eq(1L), eq("Hortaliça"), any());
+        verify(plantaCache, times(1)).evictPlanta(eq(1L), eq("Erva"), any());
+        verify(estatisticaService, times(1)).alterarTipoPlanta("Hortaliça", "Erva");
     }
 
     @Test
     void deveLancarExcecaoAoRemoverPlantaInexistente() {
         // Given
-        when(plantaRepository.existsById(anyLong())).thenReturn(false);
+        when(plantaRepository.findIdentificacaoById(anyLong())).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(RuntimeException.class, () -> {
@@ -264,8 +381,8 @@ class PlantaServiceTest {
     @Test
     void deveBuscarPlantasProntasParaColheita() {
         // Given
-        List<Planta> plantas = Arrays.asList(planta);
-        when(plantaRepository.findPlantasProntasParaColheita(any(LocalDate.class))).thenReturn(plantas);
+        List<PlantaComTotalCuidados> plantas = Arrays.asList(plantaComTotal);
+        when(plantaRepository.findPlantasProntasParaColheitaComTotalCuidados(any(LocalDate.class))).thenReturn(plantas);
 
         // When
         List<PlantaDTO> resultado = plantaService.buscarPlantasProntasParaColheita();
@@ -273,14 +390,14 @@ class PlantaServiceTest {
         // Then
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
-        verify(plantaRepository, times(1)).findPlantasProntasParaColheita(any(LocalDate.class));
+        verify(plantaRepository, times(1)).findPlantasProntasParaColheitaComTotalCuidados(any(LocalDate.class));
     }
 
     @Test
     void deveBuscarPlantasQueNecessitamRega() {
         // Given
-        List<Planta> plantas = Arrays.asList(planta);
-        when(plantaRepository.findPlantasQueNecessitamRega(any(LocalDate.class))).thenReturn(plantas);
+        List<PlantaComTotalCuidados> plantas = Arrays.asList(plantaComTotal);
+        when(plantaRepository.findPlantasQueNecessitamRegaComTotalCuidados(any(LocalDate.class))).thenReturn(plantas);
 
         // When
         List<PlantaDTO> resultado = plantaService.buscarPlantasQueNecessitamRega();
@@ -288,14 +405,14 @@ class PlantaServiceTest {
         // Then
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
-        verify(plantaRepository, times(1)).findPlantasQueNecessitamRega(any(LocalDate.class));
+        verify(plantaRepository, times(1)).findPlantasQueNecessitamRegaComTotalCuidados(any(LocalDate.class));
     }
 
     @Test
     void deveBuscarPlantasQueNecessitamPoda() {
         // Given
-        List<Planta> plantas = Arrays.asList(planta);
-        when(plantaRepository.findPlantasQueNecessitamPoda(any(LocalDate.class))).thenReturn(plantas);
+        List<PlantaComTotalCuidados> plantas = Arrays.asList(plantaComTotal);
+        when(plantaRepository.findPlantasQueNecessitamPodaComTotalCuidados(any(LocalDate.class))).thenReturn(plantas);
 
         // When
         List<PlantaDTO> resultado = plantaService.buscarPlantasQueNecessitamPoda();
@@ -303,7 +420,7 @@ class PlantaServiceTest {
         // Then
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
-        verify(plantaRepository, times(1)).findPlantasQueNecessitamPoda(any(LocalDate.class));
+        verify(plantaRepository, times(1)).findPlantasQueNecessitamPodaComTotalCuidados(any(LocalDate.class));
     }
 }
 